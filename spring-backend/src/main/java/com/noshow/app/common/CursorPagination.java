@@ -0,0 +1,17 @@
+package com.noshow.app.common;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+/**
+ * 커서(keyset) 방식 목록 응답의 pagination.
+ * totalItems 는 요청한 경우에만 채우며 캐시된 추정치일 수 있다.
+ */
+@Data
+@AllArgsConstructor
+public class CursorPagination {
+  private int limit;
+  private boolean hasNext;
+  private String nextCursor;
+  private Long totalItems;
+}
@@ -18,6 +18,7 @@ public class GlobalExceptionHandler {
   @ExceptionHandler(ResponseStatusException.class)
   public ResponseEntity<ApiResponse<Object>> handleStatus(ResponseStatusException ex) {
     return ResponseEntity.status(ex.getStatusCode())
+      .headers(ex.getHeaders())
       .body(ApiResponse.fail(ex.getReason() != null ? ex.getReason() : "Request failed"));
   }
 
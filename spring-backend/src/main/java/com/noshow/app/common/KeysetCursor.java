@@ -0,0 +1,34 @@
+package com.noshow.app.common;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+
+/**
+ * (정렬 시각, id) 커서. 클라이언트에는 불투명한 base64url 문자열로 내보낸다.
+ */
+public record KeysetCursor(LocalDateTime at, long id) {
+  /** 내림차순 목록의 첫 페이지용 (모든 행보다 뒤). */
+  public static final KeysetCursor FIRST_DESC = new KeysetCursor(LocalDateTime.of(9999, 12, 31, 23, 59, 59), Long.MAX_VALUE);
+
+  public String encode() {
+    String raw = at + "|" + id;
+    return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+  }
+
+  public static KeysetCursor decodeOr(String value, KeysetCursor fallback) {
+    if (value == null || value.isBlank()) {
+      return fallback;
+    }
+    try {
+      String raw = new String(Base64.getUrlDecoder().decode(value), StandardCharsets.UTF_8);
+      int sep = raw.indexOf('|');
+      return new KeysetCursor(LocalDateTime.parse(raw.substring(0, sep)), Long.parseLong(raw.substring(sep + 1)));
+    } catch (RuntimeException e) {
+      throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "잘못된 cursor 입니다.");
+    }
+  }
+}
@@ -0,0 +1,26 @@
+package com.noshow.app.common;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+/** 429 + Retry-After (초). GlobalExceptionHandler 가 헤더를 응답에 그대로 싣는다. */
+public class TooManyRequestsException extends ResponseStatusException {
+  private final long retryAfterSeconds;
+
+  public TooManyRequestsException(String reason, long retryAfterSeconds) {
+    super(HttpStatus.TOO_MANY_REQUESTS, reason);
+    this.retryAfterSeconds = Math.max(1, retryAfterSeconds);
+  }
+
+  public long getRetryAfterSeconds() {
+    return retryAfterSeconds;
+  }
+
+  @Override
+  public HttpHeaders getHeaders() {
+    HttpHeaders headers = new HttpHeaders();
+    headers.set(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds));
+    return headers;
+  }
+}
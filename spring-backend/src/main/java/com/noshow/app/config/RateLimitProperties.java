@@ -0,0 +1,44 @@
+package com.noshow.app.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/** app.rate-limit.* (application.yml). */
+@Data
+@Component
+@ConfigurationProperties(prefix = "app.rate-limit")
+public class RateLimitProperties {
+  private boolean enabled = true;
+  /**
+   * 앞단 프록시/로드밸런서 수. 0 이면 X-Forwarded-For 를 무시하고 연결 주소를 쓴다.
+   * 로드밸런서 뒤에서 0 으로 두면 모든 사용자가 LB 주소 하나의 버킷을 나눠 쓰게 되므로 반드시 맞춰 둔다.
+   * n 이면 X-Forwarded-For 의 오른쪽에서 n 번째 주소(신뢰하는 프록시가 붙인 값)를 쓴다. 왼쪽 값은 클라이언트가 꾸밀 수 있다.
+   */
+  private int trustedProxyHops = 0;
+  /** 이 시간 동안 요청이 없어 가득 찬 버킷은 지운다. */
+  private long idleEvictSeconds = 600;
+  /** 규칙 하나당 버킷 수 상한. 넘으면 바로 유휴 버킷 정리를 한다. */
+  private int maxBucketsPerRule = 100_000;
+  private List<Rule> rules = new ArrayList<>();
+
+  @Data
+  public static class Rule {
+    private String name;
+    private String method = "POST";
+    /** 컨트롤러 매핑 패턴 (예: /api/reservations/{id}). account 규칙은 비워 둔다. */
+    private String path;
+    /**
+     * ip | user | account. user 는 유효한 토큰이 없으면 ip 로 센다.
+     * account 는 경로에 걸지 않고 서비스가 이름으로 직접 확인한다 (로그인 식별자 또는 식별자+IP 별 제한).
+     */
+    private String key = "ip";
+    /** 한 번에 몰아 쓸 수 있는 요청 수. */
+    private int capacity = 10;
+    /** 분당 채워지는 요청 수. */
+    private double refillPerMinute = 10;
+  }
+}
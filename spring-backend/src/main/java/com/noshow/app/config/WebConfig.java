@@ -1,19 +1,27 @@
 package com.noshow.app.config;
 
+import com.noshow.app.security.RateLimitInterceptor;
+import lombok.RequiredArgsConstructor;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
-import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.web.servlet.config.annotation.AsyncSupportConfigurer;
 import org.springframework.web.servlet.config.annotation.CorsRegistry;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
 import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
 
 @Configuration
+@RequiredArgsConstructor
 public class WebConfig {
+  private final RateLimitInterceptor rateLimitInterceptor;
 
   @Value("${app.frontend-url:http://localhost:3000}")
   private String frontendUrl;
 
+  // 스트리밍 내보내기 등 비동기 응답의 최대 시간 (기본 컨테이너 값 30초는 큰 업장 내보내기에 짧다)
+  @Value("${app.async-request-timeout-ms:600000}")
+  private long asyncRequestTimeoutMs;
+
   @Bean
   public WebMvcConfigurer corsConfigurer() {
     return new WebMvcConfigurer() {
@@ -24,11 +32,16 @@ public class WebConfig {
           .allowedMethods("GET", "POST", "PUT", "DELETE", "OPTIONS")
           .allowCredentials(true);
       }
-    };
-  }
 
-  @Bean
-  public PasswordEncoder passwordEncoder() {
-    return new BCryptPasswordEncoder();
+      @Override
+      public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(rateLimitInterceptor);
+      }
+
+      @Override
+      public void configureAsyncSupport(AsyncSupportConfigurer configurer) {
+        configurer.setDefaultTimeout(asyncRequestTimeoutMs);
+      }
+    };
   }
 }
@@ -5,6 +5,7 @@ import com.noshow.app.dto.AuthResponse;
 import com.noshow.app.dto.LoginRequest;
 import com.noshow.app.dto.SignupRequest;
 import com.noshow.app.service.AuthService;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpSession;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
@@ -31,8 +32,14 @@ public class AuthController {
   }
 
   @PostMapping("/login")
-  public ApiResponse<AuthResponse> login(@Valid @RequestBody LoginRequest request) {
-    return ApiResponse.ok(authService.login(request));
+  public ApiResponse<AuthResponse> login(@Valid @RequestBody LoginRequest request, HttpServletRequest servletRequest) {
+    return ApiResponse.ok(authService.login(request, servletRequest));
+  }
+
+  @PostMapping("/logout")
+  public ApiResponse<Object> logout(HttpServletRequest request) {
+    authService.logout(request);
+    return ApiResponse.ok(null);
   }
 
   @GetMapping("/naver")
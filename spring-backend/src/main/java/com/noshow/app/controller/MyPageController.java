@@ -6,13 +6,17 @@ import com.noshow.app.domain.entity.User;
 import com.noshow.app.domain.entity.UserGrade;
 import com.noshow.app.domain.repository.ReservationRepository;
 import com.noshow.app.domain.repository.UserGradeRepository;
+import com.noshow.app.domain.repository.UserRepository;
 import com.noshow.app.dto.MyPageResponse;
+import com.noshow.app.security.AuthPrincipal;
 import com.noshow.app.service.AuthService;
 import jakarta.servlet.http.HttpServletRequest;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ResponseStatusException;
 
 @RestController
 @RequestMapping("/api/mypage")
@@ -21,14 +25,21 @@ public class MyPageController {
   private final AuthService authService;
   private final ReservationRepository reservationRepository;
   private final UserGradeRepository userGradeRepository;
+  private final UserRepository userRepository;
 
   @GetMapping
   public ApiResponse<MyPageResponse> me(HttpServletRequest request) {
-    User user = authService.requireUser(request);
+    AuthPrincipal principal = authService.requireUser(request);
+    // 연락처/실명은 캐시하지 않는다
+    User user = userRepository.findById(principal.getUserId())
+      .orElseThrow(() -> new ResponseStatusException(HttpStatus.UNAUTHORIZED, "User not found"));
 
-    UserGrade grade = user.getGrade();
-    if (grade == null) {
-      grade = userGradeRepository.findFirstByIsDefaultTrueOrderByPriorityAsc().orElse(null);
+    String gradeName = principal.getGradeName();
+    Double gradeDiscount = principal.getDepositDiscountPercent();
+    if (principal.getGradeId() == null) {
+      UserGrade grade = userGradeRepository.findFirstByIsDefaultTrueOrderByPriorityAsc().orElse(null);
+      gradeName = grade != null ? grade.getGradeName() : null;
+      gradeDiscount = grade != null ? grade.getDepositDiscountPercent() : null;
     }
 
     long total = reservationRepository.countByCustomer_UserId(user.getUserId());
@@ -42,8 +53,8 @@ public class MyPageController {
       .realName(user.getRealName())
       .email(user.getEmail())
       .phone(user.getPhone())
-      .gradeName(grade != null ? grade.getGradeName() : null)
-      .gradeDiscountPercent(grade != null ? grade.getDepositDiscountPercent() : null)
+      .gradeName(gradeName)
+      .gradeDiscountPercent(gradeDiscount)
       .totalReservations(total)
       .completedReservations(completed)
       .noShowReservations(noShow)
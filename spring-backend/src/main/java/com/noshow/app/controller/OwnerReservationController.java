@@ -1,17 +1,26 @@
 package com.noshow.app.controller;
 
 import com.noshow.app.common.ApiResponse;
-import com.noshow.app.common.Pagination;
-import com.noshow.app.domain.entity.User;
 import com.noshow.app.dto.ReservationDto;
 import com.noshow.app.dto.UpdateReservationStatusRequest;
+import com.noshow.app.security.AuthPrincipal;
 import com.noshow.app.service.AuthService;
+import com.noshow.app.service.ReservationExportService;
 import com.noshow.app.service.ReservationService;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
 import java.util.List;
 
 @RestController
@@ -20,22 +29,56 @@ import java.util.List;
 public class OwnerReservationController {
   private final ReservationService reservationService;
   private final AuthService authService;
+  private final ReservationExportService reservationExportService;
 
+  /** 기본은 offset 페이지 (page, 기본 1). cursor 파라미터가 있으면 (첫 페이지는 빈 값) cursor 기반 페이지. */
   @GetMapping("/{venueId}")
   public ApiResponse<List<ReservationDto>> listReservations(@PathVariable Long venueId,
                                                             @RequestParam(defaultValue = "1") int page,
+                                                            @RequestParam(required = false) String cursor,
                                                             @RequestParam(defaultValue = "20") int limit,
+                                                            @RequestParam(defaultValue = "false") boolean includeTotal,
                                                             HttpServletRequest servletRequest) {
-    User owner = authService.requireUser(servletRequest);
-    var result = reservationService.listOwnerReservations(owner, venueId, page, limit);
+    AuthPrincipal owner = authService.requireUser(servletRequest);
+    if (cursor == null) {
+      var result = reservationService.listOwnerReservations(owner, venueId, page, limit);
+      return ApiResponse.ok(result.data(), result.pagination());
+    }
+    var result = reservationService.listOwnerReservationsAfter(owner, venueId, cursor, limit, includeTotal);
     return ApiResponse.ok(result.data(), result.pagination());
   }
 
+  /** 정산용 전체 내보내기. from/to 는 예약 시작일 기준 (yyyy-MM-dd, 생략 시 제한 없음). */
+  @GetMapping("/{venueId}/export")
+  public ResponseEntity<StreamingResponseBody> export(@PathVariable Long venueId,
+                                                      @RequestParam(required = false) String from,
+                                                      @RequestParam(required = false) String to,
+                                                      @RequestParam(defaultValue = "csv") String format,
+                                                      HttpServletRequest servletRequest) {
+    AuthPrincipal owner = authService.requireUser(servletRequest);
+    ReservationExportService.Format fmt = ReservationExportService.Format.parse(format);
+    LocalDate fromDate;
+    LocalDate toDate;
+    try {
+      fromDate = from == null || from.isBlank() ? null : LocalDate.parse(from);
+      toDate = to == null || to.isBlank() ? null : LocalDate.parse(to);
+    } catch (DateTimeParseException e) {
+      throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "잘못된 날짜 형식입니다.");
+    }
+    StreamingResponseBody body = reservationExportService.export(owner, venueId, fromDate, toDate, fmt);
+    String filename = "reservations-" + venueId
+      + (fromDate != null ? "-" + fromDate : "") + (toDate != null ? "-" + toDate : "") + "." + fmt.extension;
+    return ResponseEntity.ok()
+      .contentType(MediaType.parseMediaType(fmt.contentType))
+      .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment().filename(filename).build().toString())
+      .body(body);
+  }
+
   @PostMapping("/{reservationId}/status")
   public ApiResponse<ReservationDto> updateStatus(@PathVariable Long reservationId,
                                                   @Valid @RequestBody UpdateReservationStatusRequest request,
                                                   HttpServletRequest servletRequest) {
-    User owner = authService.requireUser(servletRequest);
+    AuthPrincipal owner = authService.requireUser(servletRequest);
     ReservationDto dto = reservationService.ownerUpdateStatus(reservationId, request.getAction(), request.getReason(), owner);
     return ApiResponse.ok(dto);
   }
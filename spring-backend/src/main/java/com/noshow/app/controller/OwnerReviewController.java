@@ -1,9 +1,9 @@
 package com.noshow.app.controller;
 
 import com.noshow.app.common.ApiResponse;
-import com.noshow.app.domain.entity.User;
 import com.noshow.app.dto.OwnerReplyRequest;
 import com.noshow.app.dto.ReviewDto;
+import com.noshow.app.security.AuthPrincipal;
 import com.noshow.app.service.AuthService;
 import com.noshow.app.service.ReviewService;
 import jakarta.servlet.http.HttpServletRequest;
@@ -26,7 +26,7 @@ public class OwnerReviewController {
   public ApiResponse<ReviewDto> reply(@PathVariable Long reviewId,
                                       @Valid @RequestBody OwnerReplyRequest request,
                                       HttpServletRequest servletRequest) {
-    User owner = authService.requireUser(servletRequest);
+    AuthPrincipal owner = authService.requireUser(servletRequest);
     return ApiResponse.ok(reviewService.ownerReply(reviewId, request.getReply(), owner));
   }
 }
@@ -1,8 +1,8 @@
 package com.noshow.app.controller;
 
 import com.noshow.app.common.ApiResponse;
-import com.noshow.app.domain.entity.User;
 import com.noshow.app.dto.VenueImageDto;
+import com.noshow.app.security.AuthPrincipal;
 import com.noshow.app.service.AuthService;
 import com.noshow.app.service.VenueImageService;
 import jakarta.servlet.http.HttpServletRequest;
@@ -22,7 +22,7 @@ public class OwnerVenueImageController {
 
   @GetMapping("/{venueId}/images")
   public ApiResponse<List<VenueImageDto>> list(@PathVariable Long venueId, HttpServletRequest request) {
-    User owner = authService.requireUser(request);
+    AuthPrincipal owner = authService.requireUser(request);
     // 소유자 검증은 서비스에서 수행
     return ApiResponse.ok(venueImageService.listByVenue(venueId));
   }
@@ -31,7 +31,7 @@ public class OwnerVenueImageController {
   public ApiResponse<VenueImageDto> upload(@PathVariable Long venueId,
                                            @RequestPart("image") MultipartFile file,
                                            HttpServletRequest request) throws Exception {
-    User owner = authService.requireUser(request);
+    AuthPrincipal owner = authService.requireUser(request);
     byte[] bytes = file != null ? file.getBytes() : null;
     String mime = file != null ? file.getContentType() : null;
     return ApiResponse.ok(venueImageService.upload(venueId, bytes, mime, owner));
@@ -39,7 +39,7 @@ public class OwnerVenueImageController {
 
   @DeleteMapping("/images/{imageId}")
   public ApiResponse<Void> delete(@PathVariable Long imageId, HttpServletRequest request) {
-    User owner = authService.requireUser(request);
+    AuthPrincipal owner = authService.requireUser(request);
     venueImageService.delete(imageId, owner);
     return ApiResponse.ok(null);
   }
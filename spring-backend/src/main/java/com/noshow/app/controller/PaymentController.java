@@ -1,18 +1,22 @@
 package com.noshow.app.controller;
 
 import com.noshow.app.common.ApiResponse;
-import com.noshow.app.domain.entity.User;
 import com.noshow.app.dto.DepositPaymentRequest;
 import com.noshow.app.dto.PaymentDto;
+import com.noshow.app.security.AuthPrincipal;
 import com.noshow.app.service.AuthService;
+import com.noshow.app.service.IdempotencyService;
 import com.noshow.app.service.ReservationService;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ResponseStatusException;
 
 @RestController
 @RequestMapping("/api/payments")
@@ -20,14 +24,22 @@ import org.springframework.web.bind.annotation.RestController;
 public class PaymentController {
   private final ReservationService reservationService;
   private final AuthService authService;
+  private final IdempotencyService idempotencyService;
 
   @PostMapping("/deposit")
   public ApiResponse<PaymentDto> payDeposit(
     @Valid @RequestBody DepositPaymentRequest request,
+    @RequestHeader(value = IdempotencyService.HEADER, required = false) String idempotencyKey,
     HttpServletRequest servletRequest
   ) {
-    User user = authService.requireUser(servletRequest);
-    PaymentDto dto = reservationService.payDeposit(request.getReservationId(), request.getPaymentMethod(), user);
+    AuthPrincipal user = authService.requireUser(servletRequest);
+    if ((request.getReservationId() == null) == (request.getHoldId() == null)) {
+      throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "reservation_id 또는 hold_id 중 하나가 필요합니다.");
+    }
+    PaymentDto dto = idempotencyService.execute("deposit", user.getUserId(), idempotencyKey, request, PaymentDto.class,
+      () -> request.getHoldId() != null
+        ? reservationService.payHold(request.getHoldId(), request.getPaymentMethod(), user)
+        : reservationService.payDeposit(request.getReservationId(), request.getPaymentMethod(), user));
     return ApiResponse.ok(dto);
   }
 }
@@ -1,22 +1,26 @@
 package com.noshow.app.controller;
 
 import com.noshow.app.common.ApiResponse;
-import com.noshow.app.common.Pagination;
-import com.noshow.app.domain.entity.User;
 import com.noshow.app.dto.CancelReservationRequest;
 import com.noshow.app.dto.CreateReservationRequest;
 import com.noshow.app.dto.ReservationDto;
+import com.noshow.app.dto.SlotHoldDto;
+import com.noshow.app.security.AuthPrincipal;
 import com.noshow.app.service.AuthService;
+import com.noshow.app.service.IdempotencyService;
 import com.noshow.app.service.ReservationService;
 import com.noshow.app.service.ReservationService.ReservationsPage;
+import com.noshow.app.service.ReservationService.ReservationsSlice;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
@@ -29,25 +33,55 @@ import java.util.List;
 public class ReservationController {
   private final ReservationService reservationService;
   private final AuthService authService;
+  private final IdempotencyService idempotencyService;
 
   @PostMapping
   public ApiResponse<ReservationDto> createReservation(
     @Valid @RequestBody CreateReservationRequest request,
+    @RequestHeader(value = IdempotencyService.HEADER, required = false) String idempotencyKey,
     HttpServletRequest servletRequest
   ) {
-    User user = authService.requireUser(servletRequest);
-    return ApiResponse.ok(reservationService.createReservation(request, user));
+    AuthPrincipal user = authService.requireUser(servletRequest);
+    return ApiResponse.ok(idempotencyService.execute("reservation", user.getUserId(), idempotencyKey, request,
+      ReservationDto.class, () -> reservationService.createReservation(request, user)));
   }
 
+  /** 결제 화면 진입 시 슬롯 임시 확보. 예약은 hold_id 로 보증금을 결제할 때 만들어진다. */
+  @PostMapping("/holds")
+  public ApiResponse<SlotHoldDto> holdSlot(
+    @Valid @RequestBody CreateReservationRequest request,
+    HttpServletRequest servletRequest
+  ) {
+    AuthPrincipal user = authService.requireUser(servletRequest);
+    return ApiResponse.ok(reservationService.holdSlot(request, user));
+  }
+
+  @DeleteMapping("/holds/{holdId}")
+  public ApiResponse<Object> releaseHold(@PathVariable String holdId, HttpServletRequest servletRequest) {
+    AuthPrincipal user = authService.requireUser(servletRequest);
+    reservationService.releaseHold(holdId, user);
+    return ApiResponse.ok(null);
+  }
+
+  /**
+   * 기본은 기존 offset 페이지 (page, 기본 1). cursor 파라미터가 있으면 cursor 기반 페이지로 답한다.
+   * 첫 페이지는 빈 cursor (cursor=) 로 요청하고, 이후에는 pagination.next_cursor 를 cursor 로 넘긴다.
+   */
   @GetMapping("/my-reservations")
   public ApiResponse<List<ReservationDto>> myReservations(
     @RequestParam(defaultValue = "1") int page,
+    @RequestParam(required = false) String cursor,
     @RequestParam(defaultValue = "10") int limit,
     @RequestParam(required = false) String status,
+    @RequestParam(defaultValue = "false") boolean includeTotal,
     HttpServletRequest servletRequest
   ) {
-    User user = authService.requireUser(servletRequest);
-    ReservationsPage result = reservationService.listMyReservations(user, page, limit, status);
+    AuthPrincipal user = authService.requireUser(servletRequest);
+    if (cursor == null) {
+      ReservationsPage result = reservationService.listMyReservations(user, page, limit, status);
+      return ApiResponse.ok(result.data(), result.pagination());
+    }
+    ReservationsSlice result = reservationService.listMyReservationsAfter(user, cursor, limit, status, includeTotal);
     return ApiResponse.ok(result.data(), result.pagination());
   }
 
@@ -57,7 +91,7 @@ public class ReservationController {
     @Valid @RequestBody CancelReservationRequest request,
     HttpServletRequest servletRequest
   ) {
-    User user = authService.requireUser(servletRequest);
+    AuthPrincipal user = authService.requireUser(servletRequest);
     return ApiResponse.ok(reservationService.cancelReservation(id, request, user));
   }
 }
@@ -1,9 +1,9 @@
 package com.noshow.app.controller;
 
 import com.noshow.app.common.ApiResponse;
-import com.noshow.app.domain.entity.User;
 import com.noshow.app.dto.CreateReviewRequest;
 import com.noshow.app.dto.ReviewDto;
+import com.noshow.app.security.AuthPrincipal;
 import com.noshow.app.service.AuthService;
 import com.noshow.app.service.ReviewService;
 import jakarta.servlet.http.HttpServletRequest;
@@ -37,7 +37,7 @@ public class ReviewController {
     @Valid @RequestBody CreateReviewRequest request,
     HttpServletRequest servletRequest
   ) {
-    User user = authService.requireUser(servletRequest);
+    AuthPrincipal user = authService.requireUser(servletRequest);
     return ApiResponse.ok(reviewService.createReview(request, user, null, null));
   }
 
@@ -47,7 +47,7 @@ public class ReviewController {
     @Valid CreateReviewRequest request,
     MultipartFile image
   ) throws Exception {
-    User user = authService.requireUser(servletRequest);
+    AuthPrincipal user = authService.requireUser(servletRequest);
     byte[] bytes = null;
     String mime = null;
     if (image != null && !image.isEmpty()) {
@@ -59,7 +59,7 @@ public class ReviewController {
 
   @GetMapping("/my")
   public ApiResponse<List<ReviewDto>> myReviews(HttpServletRequest servletRequest) {
-    User user = authService.requireUser(servletRequest);
+    AuthPrincipal user = authService.requireUser(servletRequest);
     return ApiResponse.ok(reviewService.reviewsByUser(user.getUserId()));
   }
 }
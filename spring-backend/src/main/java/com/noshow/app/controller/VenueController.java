@@ -1,16 +1,19 @@
 package com.noshow.app.controller;
 
 import com.noshow.app.common.ApiResponse;
-import com.noshow.app.common.Pagination;
-import com.noshow.app.domain.entity.User;
+import com.noshow.app.common.PageResult;
 import com.noshow.app.dto.CreateVenueRequest;
+import com.noshow.app.dto.FreeTableDto;
+import com.noshow.app.dto.ServiceAvailabilityDto;
 import com.noshow.app.dto.VenueDto;
+import com.noshow.app.security.AuthPrincipal;
 import com.noshow.app.service.AuthService;
+import com.noshow.app.service.AvailabilityService;
+import com.noshow.app.service.FreeTableSearchService;
 import com.noshow.app.service.VenueAppService;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
-import org.springframework.data.domain.Page;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
@@ -21,6 +24,9 @@ import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.format.DateTimeParseException;
 import java.util.List;
 
 @RestController
@@ -29,25 +35,37 @@ import java.util.List;
 public class VenueController {
   private final VenueAppService venueAppService;
   private final AuthService authService;
+  private final AvailabilityService availabilityService;
+  private final FreeTableSearchService freeTableSearchService;
 
   @GetMapping
-  @Transactional(readOnly = true)
   public ApiResponse<List<VenueDto>> listVenues(
     @RequestParam(defaultValue = "1") int page,
     @RequestParam(defaultValue = "9") int limit,
     @RequestParam(required = false) String search
   ) {
-    Page<com.noshow.app.domain.entity.Venue> result = venueAppService.listVenues(page, limit, search);
-    List<VenueDto> data = venueAppService.toVenueDtos(result, true);
-    Pagination pagination = venueAppService.toPagination(result);
-    return ApiResponse.ok(data, pagination);
+    PageResult<VenueDto> result = venueAppService.listVenues(page, limit, search);
+    return ApiResponse.ok(result.getData(), result.getPagination());
+  }
+
+  @GetMapping("/free-tables")
+  public ApiResponse<List<FreeTableDto>> freeTables(
+    @RequestParam String date,
+    @RequestParam String time,
+    @RequestParam(defaultValue = "1") int partySize,
+    @RequestParam(required = false) Integer limit
+  ) {
+    try {
+      return ApiResponse.ok(freeTableSearchService.search(LocalDate.parse(date), LocalTime.parse(time), partySize, limit));
+    } catch (DateTimeParseException e) {
+      throw new org.springframework.web.server.ResponseStatusException(org.springframework.http.HttpStatus.BAD_REQUEST, "잘못된 날짜/시간 형식입니다.");
+    }
   }
 
   @PostMapping
   public ApiResponse<VenueDto> createVenue(@Valid @RequestBody CreateVenueRequest request, HttpServletRequest servletRequest) {
-    User owner = authService.requireUser(servletRequest);
-    boolean isOwner = owner.getUserRoles().stream().anyMatch(ur -> "owner".equalsIgnoreCase(ur.getRole().getRoleName()));
-    if (!isOwner) {
+    AuthPrincipal owner = authService.requireUser(servletRequest);
+    if (!owner.hasRole("owner")) {
       throw new org.springframework.web.server.ResponseStatusException(org.springframework.http.HttpStatus.FORBIDDEN, "Only owners can create venues");
     }
     var venue = venueAppService.createVenue(request, owner);
@@ -61,9 +79,24 @@ public class VenueController {
     return ApiResponse.ok(VenueDto.fromEntity(venue, true));
   }
 
+  @GetMapping("/{id}/availability")
+  public ApiResponse<List<ServiceAvailabilityDto>> availability(
+    @PathVariable Long id,
+    @RequestParam String from,
+    @RequestParam(required = false) String to
+  ) {
+    try {
+      LocalDate fromDate = LocalDate.parse(from);
+      LocalDate toDate = to != null && !to.isBlank() ? LocalDate.parse(to) : fromDate;
+      return ApiResponse.ok(availabilityService.availability(id, fromDate, toDate));
+    } catch (DateTimeParseException e) {
+      throw new org.springframework.web.server.ResponseStatusException(org.springframework.http.HttpStatus.BAD_REQUEST, "잘못된 날짜 형식입니다.");
+    }
+  }
+
   @DeleteMapping("/{id}")
   public ApiResponse<Object> deleteVenue(@PathVariable Long id, HttpServletRequest servletRequest) {
-    User owner = authService.requireUser(servletRequest);
+    AuthPrincipal owner = authService.requireUser(servletRequest);
     venueAppService.deleteVenue(id, owner);
     return ApiResponse.ok(null);
   }
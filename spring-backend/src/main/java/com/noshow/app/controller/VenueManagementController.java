@@ -1,20 +1,36 @@
 package com.noshow.app.controller;
 
 import com.noshow.app.common.ApiResponse;
-import com.noshow.app.domain.entity.User;
 import com.noshow.app.domain.entity.VenueService;
 import com.noshow.app.domain.entity.BusinessHour;
 import com.noshow.app.domain.entity.AvailabilityBlock;
 import com.noshow.app.dto.CreateAvailabilityBlockRequest;
 import com.noshow.app.dto.CreateBusinessHourRequest;
 import com.noshow.app.dto.CreateVenueServiceRequest;
+import com.noshow.app.dto.OverbookingPolicyDto;
+import com.noshow.app.dto.OverbookingPolicyRequest;
+import com.noshow.app.dto.OwnerCalendarDto;
 import com.noshow.app.dto.VenueServiceDto;
+import com.noshow.app.security.AuthPrincipal;
 import com.noshow.app.service.AuthService;
+import com.noshow.app.service.OverbookingService;
+import com.noshow.app.service.OwnerCalendarService;
+import com.noshow.app.service.ReservationEventHub;
 import com.noshow.app.service.VenueAppService;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
 
 @RestController
 @RequestMapping("/api/owner")
@@ -22,11 +38,14 @@ import org.springframework.web.bind.annotation.*;
 public class VenueManagementController {
   private final VenueAppService venueAppService;
   private final AuthService authService;
+  private final OwnerCalendarService ownerCalendarService;
+  private final ReservationEventHub reservationEventHub;
+  private final OverbookingService overbookingService;
 
   @PostMapping("/services")
   public ApiResponse<VenueServiceDto> createService(@Valid @RequestBody CreateVenueServiceRequest request,
                                                     HttpServletRequest servletRequest) {
-    User owner = authService.requireUser(servletRequest);
+    AuthPrincipal owner = authService.requireUser(servletRequest);
     VenueService service = venueAppService.createService(request, owner);
     return ApiResponse.ok(VenueServiceDto.fromEntity(service));
   }
@@ -35,23 +54,73 @@ public class VenueManagementController {
   public ApiResponse<VenueServiceDto> updateService(@PathVariable Long serviceId,
                                                     @Valid @RequestBody CreateVenueServiceRequest request,
                                                     HttpServletRequest servletRequest) {
-    User owner = authService.requireUser(servletRequest);
+    AuthPrincipal owner = authService.requireUser(servletRequest);
     VenueService service = venueAppService.updateService(serviceId, request, owner);
     return ApiResponse.ok(VenueServiceDto.fromEntity(service));
   }
 
   @DeleteMapping("/services/{serviceId}")
   public ApiResponse<Object> deleteService(@PathVariable Long serviceId, HttpServletRequest servletRequest) {
-    User owner = authService.requireUser(servletRequest);
+    AuthPrincipal owner = authService.requireUser(servletRequest);
     venueAppService.deleteService(serviceId, owner);
     return ApiResponse.ok(null);
   }
 
+  @GetMapping("/services/{serviceId}/overbooking")
+  public ApiResponse<OverbookingPolicyDto> overbookingPolicy(@PathVariable Long serviceId, HttpServletRequest servletRequest) {
+    AuthPrincipal owner = authService.requireUser(servletRequest);
+    return ApiResponse.ok(overbookingService.getPolicy(serviceId, owner));
+  }
+
+  /** 오버부킹 사용 여부/한도. 저장하면 허용치를 바로 다시 계산한다. */
+  @PutMapping("/services/{serviceId}/overbooking")
+  public ApiResponse<OverbookingPolicyDto> updateOverbookingPolicy(@PathVariable Long serviceId,
+                                                                   @Valid @RequestBody OverbookingPolicyRequest request,
+                                                                   HttpServletRequest servletRequest) {
+    AuthPrincipal owner = authService.requireUser(servletRequest);
+    return ApiResponse.ok(overbookingService.updatePolicy(serviceId, request, owner));
+  }
+
+  /** 프런트 캘린더. from/to 생략 시 오늘 하루. If-None-Match 가 같으면 304. */
+  @GetMapping("/venues/{venueId}/calendar")
+  public ResponseEntity<ApiResponse<OwnerCalendarDto>> calendar(@PathVariable Long venueId,
+                                                                @RequestParam(required = false) String from,
+                                                                @RequestParam(required = false) String to,
+                                                                WebRequest webRequest,
+                                                                HttpServletRequest servletRequest) {
+    AuthPrincipal owner = authService.requireUser(servletRequest);
+    LocalDate fromDate;
+    LocalDate toDate;
+    try {
+      fromDate = from == null || from.isBlank() ? LocalDate.now() : LocalDate.parse(from);
+      toDate = to == null || to.isBlank() ? fromDate : LocalDate.parse(to);
+    } catch (DateTimeParseException e) {
+      throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "잘못된 날짜 형식입니다.");
+    }
+    OwnerCalendarService.CalendarView view = ownerCalendarService.calendar(owner, venueId, fromDate, toDate);
+    if (webRequest.checkNotModified(view.etag())) {
+      return null;
+    }
+    return ResponseEntity.ok()
+      .eTag(view.etag())
+      .cacheControl(CacheControl.noCache().cachePrivate())
+      .body(ApiResponse.ok(view.calendar()));
+  }
+
+  /** 예약 실시간 피드 (SSE). 재접속 시 브라우저가 보내는 Last-Event-ID 부터 이어서 받는다. */
+  @GetMapping(value = "/venues/{venueId}/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+  public SseEmitter events(@PathVariable Long venueId,
+                           @RequestHeader(value = "Last-Event-ID", required = false) String lastEventId,
+                           HttpServletRequest servletRequest) {
+    AuthPrincipal owner = authService.requireUser(servletRequest);
+    return reservationEventHub.subscribe(owner, venueId, lastEventId);
+  }
+
   @PostMapping("/venues/{venueId}/business-hours")
   public ApiResponse<BusinessHour> addBusinessHour(@PathVariable Long venueId,
                                                    @Valid @RequestBody CreateBusinessHourRequest request,
                                                    HttpServletRequest servletRequest) {
-    User owner = authService.requireUser(servletRequest);
+    AuthPrincipal owner = authService.requireUser(servletRequest);
     return ApiResponse.ok(venueAppService.addBusinessHour(venueId, request, owner));
   }
 
@@ -59,20 +128,20 @@ public class VenueManagementController {
   public ApiResponse<AvailabilityBlock> addAvailabilityBlock(@PathVariable Long venueId,
                                                              @Valid @RequestBody CreateAvailabilityBlockRequest request,
                                                              HttpServletRequest servletRequest) {
-    User owner = authService.requireUser(servletRequest);
+    AuthPrincipal owner = authService.requireUser(servletRequest);
     return ApiResponse.ok(venueAppService.addAvailabilityBlock(venueId, request, owner));
   }
 
   @DeleteMapping("/business-hours/{id}")
   public ApiResponse<Object> deleteBusinessHour(@PathVariable Long id, HttpServletRequest servletRequest) {
-    User owner = authService.requireUser(servletRequest);
+    AuthPrincipal owner = authService.requireUser(servletRequest);
     venueAppService.deleteBusinessHour(id, owner);
     return ApiResponse.ok(null);
   }
 
   @DeleteMapping("/blocks/{id}")
   public ApiResponse<Object> deleteBlock(@PathVariable Long id, HttpServletRequest servletRequest) {
-    User owner = authService.requireUser(servletRequest);
+    AuthPrincipal owner = authService.requireUser(servletRequest);
     venueAppService.deleteBlock(id, owner);
     return ApiResponse.ok(null);
   }
@@ -0,0 +1,48 @@
+package com.noshow.app.controller;
+
+import com.noshow.app.common.ApiResponse;
+import com.noshow.app.dto.JoinWaitlistRequest;
+import com.noshow.app.dto.WaitlistEntryDto;
+import com.noshow.app.security.AuthPrincipal;
+import com.noshow.app.service.AuthService;
+import com.noshow.app.service.WaitlistService;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/waitlist")
+@RequiredArgsConstructor
+public class WaitlistController {
+  private final WaitlistService waitlistService;
+  private final AuthService authService;
+
+  @PostMapping
+  public ApiResponse<WaitlistEntryDto> join(@Valid @RequestBody JoinWaitlistRequest request,
+                                            HttpServletRequest servletRequest) {
+    AuthPrincipal user = authService.requireUser(servletRequest);
+    return ApiResponse.ok(waitlistService.join(request, user));
+  }
+
+  @GetMapping("/my")
+  public ApiResponse<List<WaitlistEntryDto>> myEntries(HttpServletRequest servletRequest) {
+    AuthPrincipal user = authService.requireUser(servletRequest);
+    return ApiResponse.ok(waitlistService.listMine(user));
+  }
+
+  @DeleteMapping("/{entryId}")
+  public ApiResponse<Object> leave(@PathVariable Long entryId, HttpServletRequest servletRequest) {
+    AuthPrincipal user = authService.requireUser(servletRequest);
+    waitlistService.leave(entryId, user);
+    return ApiResponse.ok(null);
+  }
+}
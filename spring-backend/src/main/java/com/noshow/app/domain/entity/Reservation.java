@@ -76,6 +76,10 @@ public class Reservation {
   @Column(name = "booked_at", insertable = false, updatable = false)
   private LocalDateTime bookedAt;
 
+  /** 보증금 결제 기한. NULL 이면 booked_at + 기본 제한 시간 (대기열 승격 홀드만 따로 정한다). */
+  @Column(name = "deposit_due_at")
+  private LocalDateTime depositDueAt;
+
   @Column(name = "canceled_at")
   private LocalDateTime canceledAt;
 
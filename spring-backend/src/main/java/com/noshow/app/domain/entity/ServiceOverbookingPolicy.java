@@ -0,0 +1,40 @@
+package com.noshow.app.domain.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.UpdateTimestamp;
+
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "service_overbooking_policies")
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ServiceOverbookingPolicy {
+  @Id
+  @Column(name = "service_id")
+  private Long serviceId;
+
+  @Column(name = "enabled", nullable = false)
+  private Boolean enabled;
+
+  /** 슬롯당 slot_capacity 를 넘어 더 받을 수 있는 최대 예약 수. */
+  @Column(name = "max_extra", nullable = false)
+  private Integer maxExtra;
+
+  /** 방문 인원이 slot_capacity 를 넘을 확률의 상한. */
+  @Column(name = "target_risk", nullable = false)
+  private Double targetRisk;
+
+  @UpdateTimestamp
+  @Column(name = "updated_at", insertable = false)
+  private LocalDateTime updatedAt;
+}
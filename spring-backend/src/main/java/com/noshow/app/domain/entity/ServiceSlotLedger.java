@@ -0,0 +1,34 @@
+package com.noshow.app.domain.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.EmbeddedId;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.UpdateTimestamp;
+
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "service_slot_ledger")
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ServiceSlotLedger {
+  @EmbeddedId
+  private ServiceSlotLedgerId id;
+
+  @Column(name = "booked", nullable = false)
+  private Integer booked;
+
+  @Column(name = "capacity", nullable = false)
+  private Integer capacity;
+
+  @UpdateTimestamp
+  @Column(name = "updated_at", insertable = false)
+  private LocalDateTime updatedAt;
+}
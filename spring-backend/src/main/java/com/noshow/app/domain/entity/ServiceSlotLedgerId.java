@@ -0,0 +1,22 @@
+package com.noshow.app.domain.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Embeddable;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+import java.time.LocalDateTime;
+
+@Embeddable
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ServiceSlotLedgerId implements Serializable {
+  @Column(name = "service_id")
+  private Long serviceId;
+
+  @Column(name = "slot_start")
+  private LocalDateTime slotStart;
+}
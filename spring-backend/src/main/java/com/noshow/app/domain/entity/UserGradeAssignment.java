@@ -0,0 +1,39 @@
+package com.noshow.app.domain.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "user_grade_assignments")
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class UserGradeAssignment {
+  @Id
+  @GeneratedValue(strategy = GenerationType.IDENTITY)
+  @Column(name = "assignment_id")
+  private Long assignmentId;
+
+  @Column(name = "user_id", nullable = false, length = 30)
+  private String userId;
+
+  @Column(name = "assigned_at", nullable = false)
+  private LocalDateTime assignedAt;
+
+  @Column(name = "grade_id", nullable = false)
+  private Short gradeId;
+
+  @Column(name = "assigned_by", length = 30)
+  private String assignedBy; // null = 자동 산정
+}
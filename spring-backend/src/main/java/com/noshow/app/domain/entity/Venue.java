@@ -65,6 +65,11 @@ public class Venue {
   @Column(name = "address_line2", length = 200)
   private String addressLine2;
 
+  // 예약 종료 후 이 시간이 지나도록 BOOKED 이면 자동 노쇼 판정 대상
+  @Builder.Default
+  @Column(name = "no_show_grace_minutes", nullable = false)
+  private Integer noShowGraceMinutes = 30;
+
   @Column(name = "is_active", nullable = false)
   private Boolean isActive;
 
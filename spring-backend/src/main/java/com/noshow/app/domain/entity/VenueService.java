@@ -56,6 +56,11 @@ public class VenueService {
   @Column(name = "capacity", nullable = false)
   private Integer maxPartySize;
 
+  // 같은 30분 슬롯에 동시에 받을 수 있는 예약 수 (예: 같은 종류 테이블 6개)
+  @Builder.Default
+  @Column(name = "slot_capacity", nullable = false)
+  private Integer slotCapacity = 1;
+
   @Column(name = "deposit_rate_percent")
   private Double depositRatePercent;
 
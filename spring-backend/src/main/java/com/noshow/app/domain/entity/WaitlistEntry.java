@@ -0,0 +1,64 @@
+package com.noshow.app.domain.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "waitlist_entries")
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class WaitlistEntry {
+  public enum Status { WAITING, PROMOTED, CANCELED, EXPIRED }
+
+  @Id
+  @GeneratedValue(strategy = GenerationType.IDENTITY)
+  @Column(name = "entry_id")
+  private Long entryId;
+
+  @Column(name = "service_id", nullable = false)
+  private Long serviceId;
+
+  @Column(name = "slot_start", nullable = false)
+  private LocalDateTime slotStart;
+
+  @Column(name = "slot_end", nullable = false)
+  private LocalDateTime slotEnd;
+
+  @Column(name = "customer_user_id", nullable = false, length = 30)
+  private String customerUserId;
+
+  @Column(name = "party_size", nullable = false)
+  private Integer partySize;
+
+  /** 등록 시점 등급의 priority (작을수록 먼저). */
+  @Column(name = "grade_priority", nullable = false)
+  private Integer gradePriority;
+
+  @Enumerated(EnumType.STRING)
+  @Column(name = "status", nullable = false)
+  @Builder.Default
+  private Status status = Status.WAITING;
+
+  @Column(name = "reservation_id")
+  private Long reservationId;
+
+  @Column(name = "created_at", nullable = false)
+  private LocalDateTime createdAt;
+
+  @Column(name = "closed_at")
+  private LocalDateTime closedAt;
+}
@@ -8,4 +8,6 @@ import java.util.List;
 public interface AvailabilityBlockRepository extends JpaRepository<AvailabilityBlock, Long> {
   List<AvailabilityBlock> findByVenue_VenueId(Long venueId);
   List<AvailabilityBlock> findByVenue_VenueIdAndBlockDate(Long venueId, java.time.LocalDate blockDate);
+  List<AvailabilityBlock> findByBlockDate(java.time.LocalDate blockDate);
+  List<AvailabilityBlock> findByVenue_VenueIdAndBlockDateBetween(Long venueId, java.time.LocalDate from, java.time.LocalDate to);
 }
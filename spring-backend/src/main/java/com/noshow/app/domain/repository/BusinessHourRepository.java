@@ -8,4 +8,5 @@ import java.util.List;
 public interface BusinessHourRepository extends JpaRepository<BusinessHour, Long> {
   List<BusinessHour> findByVenue_VenueId(Long venueId);
   List<BusinessHour> findByVenue_VenueIdAndDayOfWeek(Long venueId, Integer dayOfWeek);
+  List<BusinessHour> findByDayOfWeek(Integer dayOfWeek);
 }
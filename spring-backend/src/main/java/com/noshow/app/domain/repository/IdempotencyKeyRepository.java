@@ -0,0 +1,40 @@
+package com.noshow.app.domain.repository;
+
+import com.noshow.app.domain.entity.IdempotencyKey;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+public interface IdempotencyKeyRepository extends JpaRepository<IdempotencyKey, String> {
+  /**
+   * 처리 중 행을 선점한다. 다른 트랜잭션이 같은 키를 잡고 있으면 그 트랜잭션이 끝날 때까지 기다리고,
+   * 상대가 커밋했으면 0, 롤백했으면 1 을 돌려준다.
+   */
+  @Modifying
+  @Query(value = """
+    INSERT IGNORE INTO idempotency_keys (key_id, user_id, request_hash, expires_at)
+    VALUES (:keyId, :userId, :requestHash, :expiresAt)
+    """, nativeQuery = true)
+  int claim(@Param("keyId") String keyId,
+            @Param("userId") String userId,
+            @Param("requestHash") String requestHash,
+            @Param("expiresAt") LocalDateTime expiresAt);
+
+  @Lock(LockModeType.PESSIMISTIC_WRITE)
+  @Query("select k from IdempotencyKey k where k.keyId = :keyId")
+  Optional<IdempotencyKey> findByIdForUpdate(@Param("keyId") String keyId);
+
+  @Modifying
+  @Query("update IdempotencyKey k set k.responseBody = :responseBody where k.keyId = :keyId")
+  int storeResponse(@Param("keyId") String keyId, @Param("responseBody") String responseBody);
+
+  @Modifying
+  @Query("delete from IdempotencyKey k where k.expiresAt < :now")
+  int deleteExpired(@Param("now") LocalDateTime now);
+}
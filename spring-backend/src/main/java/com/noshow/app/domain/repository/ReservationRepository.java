@@ -2,25 +2,186 @@ package com.noshow.app.domain.repository;
 
 import com.noshow.app.domain.entity.Reservation;
 import com.noshow.app.domain.entity.Reservation.Status;
+import jakarta.persistence.LockModeType;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import java.util.Collection;
 import java.util.List;
 
 public interface ReservationRepository extends JpaRepository<Reservation, Long> {
+  interface SlotUsage {
+    Long getServiceId();
+    java.time.LocalDateTime getScheduledStart();
+    java.time.LocalDateTime getScheduledEnd();
+  }
+
+  interface PendingDeposit {
+    Long getReservationId();
+    java.time.LocalDateTime getBookedAt();
+    java.time.LocalDateTime getDepositDueAt();
+  }
+
+  interface SweepCandidate {
+    Long getReservationId();
+    java.time.LocalDateTime getScheduledEnd();
+    Integer getGraceMinutes();
+  }
+
+  interface CalendarRow {
+    Long getReservationId();
+    Status getStatus();
+    java.time.LocalDateTime getScheduledStart();
+    java.time.LocalDateTime getScheduledEnd();
+    Integer getPartySize();
+    Long getServiceId();
+    String getServiceName();
+    String getCustomerName();
+  }
+
+  @Lock(LockModeType.PESSIMISTIC_WRITE)
+  @Query("select r from Reservation r where r.reservationId = :reservationId")
+  java.util.Optional<Reservation> findByIdForUpdate(@Param("reservationId") Long reservationId);
+
+  @EntityGraph(attributePaths = {"venue", "service"})
   Page<Reservation> findByCustomer_UserId(String userId, Pageable pageable);
+  @EntityGraph(attributePaths = {"venue", "service"})
   Page<Reservation> findByCustomer_UserIdAndStatus(String userId, Status status, Pageable pageable);
   long countByCustomer_UserId(String userId);
   long countByCustomer_UserIdAndStatus(String userId, Status status);
-  boolean existsByServiceAndStatusInAndScheduledStartLessThanAndScheduledEndGreaterThan(
-    com.noshow.app.domain.entity.VenueService service,
+  List<Reservation> findByService_ServiceIdAndStatusInAndScheduledStartLessThanAndScheduledEndGreaterThan(
+    Long serviceId,
     Collection<Status> statuses,
     java.time.LocalDateTime end,
     java.time.LocalDateTime start);
+  List<Reservation> findByVenue_VenueIdAndStatusInAndScheduledStartGreaterThanEqualAndScheduledStartLessThan(
+    Long venueId,
+    Collection<Status> statuses,
+    java.time.LocalDateTime from,
+    java.time.LocalDateTime to);
+  @Query("""
+    select r.service.serviceId as serviceId, r.scheduledStart as scheduledStart, r.scheduledEnd as scheduledEnd
+    from Reservation r
+    where r.status in :statuses and r.scheduledStart >= :from and r.scheduledStart < :to
+    """)
+  List<SlotUsage> findSlotUsageStartingBetween(@Param("statuses") Collection<Status> statuses,
+                                                @Param("from") java.time.LocalDateTime from,
+                                                @Param("to") java.time.LocalDateTime to);
   List<Reservation> findByVenue_VenueId(Long venueId);
+  @EntityGraph(attributePaths = {"venue", "service"})
   Page<Reservation> findByVenue_VenueId(Long venueId, Pageable pageable);
+  /** 이미 영속 상태인 예약들의 payments 컬렉션을 한 번에 초기화한다. */
+  @Query("select distinct r from Reservation r left join fetch r.payments where r in :reservations")
+  List<Reservation> fetchPayments(@Param("reservations") Collection<Reservation> reservations);
   List<Reservation> findByStatusAndBookedAtBefore(Status status, java.time.LocalDateTime before);
   List<Reservation> findByStatus(Status status);
+  @Query("""
+    select r.reservationId as reservationId, r.bookedAt as bookedAt, r.depositDueAt as depositDueAt
+      from Reservation r where r.status = :status
+    """)
+  List<PendingDeposit> findPendingDeposits(@Param("status") Status status);
+  /** 결제 기한이 지난 건. deposit_due_at 이 없으면 booked_at 이 before 이전인지로 본다. */
+  @Query("""
+    select r.reservationId from Reservation r
+     where r.status = :status
+       and ((r.depositDueAt is null and r.bookedAt < :before) or r.depositDueAt < :now)
+    """)
+  List<Long> findDepositOverdueIds(@Param("status") Status status,
+                                   @Param("before") java.time.LocalDateTime before,
+                                   @Param("now") java.time.LocalDateTime now);
+  @Lock(LockModeType.PESSIMISTIC_WRITE)
+  @Query("""
+    select r from Reservation r
+     where r.reservationId in :ids and r.status = :status
+       and ((r.depositDueAt is null and r.bookedAt < :before) or r.depositDueAt < :now)
+    """)
+  List<Reservation> lockDepositOverdue(@Param("ids") Collection<Long> ids,
+                                       @Param("status") Status status,
+                                       @Param("before") java.time.LocalDateTime before,
+                                       @Param("now") java.time.LocalDateTime now);
+  @Modifying(clearAutomatically = true)
+  @Query("""
+    update Reservation r set r.status = :to, r.canceledAt = :now, r.cancelReason = :reason
+     where r.reservationId in :ids and r.status = :from
+    """)
+  int bulkTransition(@Param("ids") Collection<Long> ids,
+                     @Param("from") Status from,
+                     @Param("to") Status to,
+                     @Param("now") java.time.LocalDateTime now,
+                     @Param("reason") String reason);
+  /**
+   * ix_resv_status_end 를 따라 (scheduled_end, reservation_id) 커서 이후에서 종료 + 유예 시간까지 지난 예약만 읽는다.
+   * 유예 중인 예약은 돌려주지 않으므로 청크가 아직 처리할 수 없는 행으로 채워지지 않는다.
+   */
+  @Query("""
+    select r.reservationId as reservationId, r.scheduledEnd as scheduledEnd, v.noShowGraceMinutes as graceMinutes
+      from Reservation r left join r.venue v
+     where r.status = :status and r.scheduledEnd <= :now
+       and timestampadd(minute, coalesce(v.noShowGraceMinutes, :defaultGrace), r.scheduledEnd) <= :now
+       and (r.scheduledEnd > :afterEnd or (r.scheduledEnd = :afterEnd and r.reservationId > :afterId))
+     order by r.scheduledEnd, r.reservationId
+    """)
+  List<SweepCandidate> findSweepCandidates(@Param("status") Status status,
+                                           @Param("now") java.time.LocalDateTime now,
+                                           @Param("defaultGrace") int defaultGraceMinutes,
+                                           @Param("afterEnd") java.time.LocalDateTime afterEnd,
+                                           @Param("afterId") Long afterId,
+                                           Pageable pageable);
+  @Lock(LockModeType.PESSIMISTIC_WRITE)
+  List<Reservation> findByReservationIdInAndStatus(Collection<Long> ids, Status status);
+  @Modifying(clearAutomatically = true)
+  @Query("""
+    update Reservation r set r.status = :to, r.noShowMarkedAt = :markedAt
+     where r.reservationId in :ids and r.status = :from
+    """)
+  int bulkClose(@Param("ids") Collection<Long> ids,
+                @Param("from") Status from,
+                @Param("to") Status to,
+                @Param("markedAt") java.time.LocalDateTime markedAt);
+  /** 내 예약 keyset 페이지 (booked_at, reservation_id 내림차순, ix_resv_customer). */
+  @EntityGraph(attributePaths = {"venue", "service"})
+  @Query("""
+    select r from Reservation r
+     where r.customer.userId = :userId
+       and (:status is null or r.status = :status)
+       and (r.bookedAt < :bookedAt or (r.bookedAt = :bookedAt and r.reservationId < :reservationId))
+     order by r.bookedAt desc, r.reservationId desc
+    """)
+  List<Reservation> findCustomerPageBefore(@Param("userId") String userId,
+                                           @Param("status") Status status,
+                                           @Param("bookedAt") java.time.LocalDateTime bookedAt,
+                                           @Param("reservationId") Long reservationId,
+                                           Pageable pageable);
+  /** 업장 예약 keyset 페이지 (booked_at, reservation_id 내림차순, ix_resv_venue_booked). */
+  @EntityGraph(attributePaths = {"venue", "service"})
+  @Query("""
+    select r from Reservation r
+     where r.venue.venueId = :venueId
+       and (r.bookedAt < :bookedAt or (r.bookedAt = :bookedAt and r.reservationId < :reservationId))
+     order by r.bookedAt desc, r.reservationId desc
+    """)
+  List<Reservation> findVenuePageBefore(@Param("venueId") Long venueId,
+                                        @Param("bookedAt") java.time.LocalDateTime bookedAt,
+                                        @Param("reservationId") Long reservationId,
+                                        Pageable pageable);
+  long countByVenue_VenueId(Long venueId);
+
+  /** 업장 캘린더: ix_resv_venue_time (venue_id, scheduled_start) 범위 스캔 한 번. */
+  @Query("""
+    select r.reservationId as reservationId, r.status as status, r.scheduledStart as scheduledStart,
+           r.scheduledEnd as scheduledEnd, r.partySize as partySize,
+           s.serviceId as serviceId, s.serviceName as serviceName, c.realName as customerName
+    from Reservation r join r.customer c left join r.service s
+    where r.venue.venueId = :venueId and r.scheduledStart >= :from and r.scheduledStart < :to
+    order by r.scheduledStart, r.reservationId
+    """)
+  List<CalendarRow> findCalendarRows(@Param("venueId") Long venueId,
+                                     @Param("from") java.time.LocalDateTime from,
+                                     @Param("to") java.time.LocalDateTime to);
 }
@@ -2,13 +2,56 @@ package com.noshow.app.domain.repository;
 
 import com.noshow.app.domain.entity.Review;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 public interface ReviewRepository extends JpaRepository<Review, Long> {
+  /** 목록 화면용 읽기 모델. image_data 는 읽지 않고 NULL 여부만 본다. */
+  interface ReviewSummary extends UserRepository.UserSummary {
+    Long getReviewId();
+    Integer getRating();
+    String getContent();
+    String getOwnerReply();
+    Boolean getHasImage();
+    Long getVenueId();
+    String getVenueName();
+    LocalDateTime getCreatedAt();
+  }
+
   List<Review> findByVenue_VenueIdOrderByCreatedAtDesc(Long venueId);
   Optional<Review> findByReservation_ReservationId(Long reservationId);
   boolean existsByReservation_ReservationId(Long reservationId);
+  @Query("select rv.reservation.reservationId from Review rv where rv.reservation.reservationId in :reservationIds")
+  Set<Long> findReviewedReservationIds(@Param("reservationIds") Collection<Long> reservationIds);
   List<Review> findByUser_UserIdOrderByCreatedAtDesc(String userId);
+
+  @Query("""
+    select rv.reviewId as reviewId, rv.rating as rating, rv.content as content, rv.ownerReply as ownerReply,
+           case when rv.imageData is not null then true else false end as hasImage,
+           v.venueId as venueId, v.venueName as venueName, rv.createdAt as createdAt,
+           u.userId as userId, u.username as username, u.realName as realName, u.email as email, u.phone as phone,
+           g.gradeId as gradeId, g.gradeName as gradeName, u.loginType as loginType, u.profileImage as profileImage
+    from Review rv join rv.venue v join rv.user u left join u.grade g
+    where v.venueId = :venueId
+    order by rv.createdAt desc
+    """)
+  List<ReviewSummary> findSummariesByVenueId(@Param("venueId") Long venueId);
+
+  @Query("""
+    select rv.reviewId as reviewId, rv.rating as rating, rv.content as content, rv.ownerReply as ownerReply,
+           case when rv.imageData is not null then true else false end as hasImage,
+           v.venueId as venueId, v.venueName as venueName, rv.createdAt as createdAt,
+           u.userId as userId, u.username as username, u.realName as realName, u.email as email, u.phone as phone,
+           g.gradeId as gradeId, g.gradeName as gradeName, u.loginType as loginType, u.profileImage as profileImage
+    from Review rv join rv.venue v join rv.user u left join u.grade g
+    where u.userId = :userId
+    order by rv.createdAt desc
+    """)
+  List<ReviewSummary> findSummariesByUserId(@Param("userId") String userId);
 }
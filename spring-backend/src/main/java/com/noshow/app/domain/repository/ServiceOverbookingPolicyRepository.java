@@ -0,0 +1,10 @@
+package com.noshow.app.domain.repository;
+
+import com.noshow.app.domain.entity.ServiceOverbookingPolicy;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import java.util.List;
+
+public interface ServiceOverbookingPolicyRepository extends JpaRepository<ServiceOverbookingPolicy, Long> {
+  List<ServiceOverbookingPolicy> findByEnabledTrue();
+}
@@ -0,0 +1,79 @@
+package com.noshow.app.domain.repository;
+
+import com.noshow.app.domain.entity.ServiceSlotLedger;
+import com.noshow.app.domain.entity.ServiceSlotLedgerId;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface ServiceSlotLedgerRepository extends JpaRepository<ServiceSlotLedger, ServiceSlotLedgerId> {
+
+  @Query("select l.id.slotStart from ServiceSlotLedger l where l.id.serviceId = :serviceId and l.id.slotStart >= :from and l.id.slotStart < :to")
+  List<LocalDateTime> findSlotStarts(@Param("serviceId") Long serviceId,
+                                     @Param("from") LocalDateTime from,
+                                     @Param("to") LocalDateTime to);
+
+  /** 원장 행이 없는 슬롯을 현재 활성 예약 수로 채운다 (원장 도입 이전 예약 포함). */
+  @Modifying
+  @Query(value = """
+    INSERT IGNORE INTO service_slot_ledger (service_id, slot_start, booked, capacity)
+    SELECT :serviceId, :slotStart, COUNT(*), :capacity
+      FROM reservations r
+     WHERE r.service_id = :serviceId
+       AND r.status IN ('DEPOSIT_PENDING','BOOKED')
+       AND r.scheduled_start < :slotEnd
+       AND r.scheduled_end > :slotStart
+    """, nativeQuery = true)
+  int seed(@Param("serviceId") Long serviceId,
+           @Param("slotStart") LocalDateTime slotStart,
+           @Param("slotEnd") LocalDateTime slotEnd,
+           @Param("capacity") int capacity);
+
+  /**
+   * 여유가 있는 슬롯만 1 증가. 반환값이 슬롯 수보다 작으면 어딘가 가득 찬 것.
+   * held 는 아직 예약 행이 없는 체크아웃 홀드 수로 그만큼 여유에서 빼고,
+   * extra 는 오버부킹 정책이 허용한 초과 수로 그만큼 capacity 위로 받는다.
+   */
+  @Modifying
+  @Query("""
+    update ServiceSlotLedger l set l.booked = l.booked + 1, l.capacity = :capacity
+     where l.id.serviceId = :serviceId and l.id.slotStart >= :from and l.id.slotStart < :to
+       and l.booked + :held < :capacity + :extra
+    """)
+  int incrementIfFree(@Param("serviceId") Long serviceId,
+                      @Param("from") LocalDateTime from,
+                      @Param("to") LocalDateTime to,
+                      @Param("capacity") int capacity,
+                      @Param("held") int held,
+                      @Param("extra") int extra);
+
+  @Query("""
+    select count(l) from ServiceSlotLedger l
+     where l.id.serviceId = :serviceId and l.id.slotStart >= :from and l.id.slotStart < :to
+       and l.booked + :held < :capacity + :extra
+    """)
+  long countFree(@Param("serviceId") Long serviceId,
+                 @Param("from") LocalDateTime from,
+                 @Param("to") LocalDateTime to,
+                 @Param("capacity") int capacity,
+                 @Param("held") int held,
+                 @Param("extra") int extra);
+
+  @Modifying
+  @Query("""
+    update ServiceSlotLedger l set l.booked = l.booked - 1
+     where l.id.serviceId = :serviceId and l.id.slotStart >= :from and l.id.slotStart < :to
+       and l.booked > 0
+    """)
+  int decrement(@Param("serviceId") Long serviceId,
+                @Param("from") LocalDateTime from,
+                @Param("to") LocalDateTime to);
+
+  @Modifying
+  @Query("delete from ServiceSlotLedger l where l.id.slotStart < :before")
+  int deleteSlotsBefore(@Param("before") LocalDateTime before);
+}
@@ -1,7 +1,16 @@
 package com.noshow.app.domain.repository;
 
 import com.noshow.app.domain.entity.SystemSetting;
+import jakarta.persistence.LockModeType;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Optional;
 
 public interface SystemSettingRepository extends JpaRepository<SystemSetting, String> {
+  @Lock(LockModeType.PESSIMISTIC_WRITE)
+  @Query("select s from SystemSetting s where s.policyKey = :policyKey")
+  Optional<SystemSetting> findByIdForUpdate(@Param("policyKey") String policyKey);
 }
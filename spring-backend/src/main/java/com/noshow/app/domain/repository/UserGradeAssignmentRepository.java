@@ -0,0 +1,7 @@
+package com.noshow.app.domain.repository;
+
+import com.noshow.app.domain.entity.UserGradeAssignment;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+public interface UserGradeAssignmentRepository extends JpaRepository<UserGradeAssignment, Long> {
+}
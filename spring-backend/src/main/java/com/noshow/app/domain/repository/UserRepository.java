@@ -4,19 +4,135 @@ import com.noshow.app.domain.entity.User;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
+import java.util.List;
 import java.util.Optional;
 
 public interface UserRepository extends JpaRepository<User, String> {
+  /** 목록 화면용 읽기 모델 (UserDto 에 필요한 컬럼만, 역할은 따로 모아 붙인다). */
+  interface UserSummary {
+    String getUserId();
+    String getUsername();
+    String getRealName();
+    String getEmail();
+    String getPhone();
+    Short getGradeId();
+    String getGradeName();
+    User.LoginType getLoginType();
+    String getProfileImage();
+  }
+
+  /** 인증 스냅샷(AuthPrincipal) 적재용. 역할은 UserRoleRepository.findRoleNames 로 따로 읽는다. */
+  interface PrincipalRow {
+    String getUserId();
+    String getUsername();
+    Boolean getIsActive();
+    Short getGradeId();
+    String getGradeName();
+    Integer getGradePriority();
+    Double getDepositDiscountPercent();
+  }
+
+  /** 가입 시 중복 확인용 (어느 식별자가 겹치는지만 본다). */
+  interface IdentifierRow {
+    String getEmail();
+    String getUsername();
+    String getPhone();
+  }
+
+  interface GradeStats {
+    Integer getSuccessCount();
+    Integer getNoShowCount();
+    Short getGradeId();
+  }
+
   Optional<User> findByEmail(String email);
   Optional<User> findByUsername(String username);
   Optional<User> findByNaverId(String naverId);
   Optional<User> findByPhone(String phone);
 
+  /** 세 unique 인덱스를 한 번에 본다 (MySQL index merge union). 어느 컬럼이 맞았는지는 호출 측이 가린다. */
+  @Query("select u from User u where u.email = :email or u.username = :username or u.phone = :phone")
+  List<User> findByAnyIdentifier(@Param("email") String email,
+                                 @Param("username") String username,
+                                 @Param("phone") String phone);
+
+  @Query("select u.email as email, u.username as username, u.phone as phone from User u where u.email = :email or u.username = :username or u.phone = :phone")
+  List<IdentifierRow> findIdentifierClashes(@Param("email") String email,
+                                            @Param("username") String username,
+                                            @Param("phone") String phone);
+
+  @Query("select u.username from User u where u.username like concat(:prefix, '%')")
+  List<String> findUsernamesStartingWith(@Param("prefix") String prefix);
+
   @Query("select u from User u join u.userRoles ur join ur.role r where lower(r.roleName) = lower(:roleName)")
   Page<User> findByRoleName(@Param("roleName") String roleName, Pageable pageable);
 
   Page<User> findByGrade_GradeNameIgnoreCase(String gradeName, Pageable pageable);
+
+  @Query(value = """
+    select u.userId as userId, u.username as username, u.realName as realName, u.email as email, u.phone as phone,
+           g.gradeId as gradeId, g.gradeName as gradeName, u.loginType as loginType, u.profileImage as profileImage
+    from User u left join u.grade g
+    order by u.createdAt desc
+    """,
+    countQuery = "select count(u) from User u")
+  Page<UserSummary> findSummaries(Pageable pageable);
+
+  @Query(value = """
+    select u.userId as userId, u.username as username, u.realName as realName, u.email as email, u.phone as phone,
+           g.gradeId as gradeId, g.gradeName as gradeName, u.loginType as loginType, u.profileImage as profileImage
+    from User u join u.userRoles ur join ur.role r left join u.grade g
+    where lower(r.roleName) = lower(:roleName)
+    order by u.createdAt desc
+    """,
+    countQuery = "select count(u) from User u join u.userRoles ur join ur.role r where lower(r.roleName) = lower(:roleName)")
+  Page<UserSummary> findSummariesByRoleName(@Param("roleName") String roleName, Pageable pageable);
+
+  @Query(value = """
+    select u.userId as userId, u.username as username, u.realName as realName, u.email as email, u.phone as phone,
+           g.gradeId as gradeId, g.gradeName as gradeName, u.loginType as loginType, u.profileImage as profileImage
+    from User u join u.grade g
+    where lower(g.gradeName) = lower(:gradeName)
+    order by u.createdAt desc
+    """,
+    countQuery = "select count(u) from User u join u.grade g where lower(g.gradeName) = lower(:gradeName)")
+  Page<UserSummary> findSummariesByGradeName(@Param("gradeName") String gradeName, Pageable pageable);
+
+  /** 완료/노쇼 카운터를 증감한다 (0 미만으로 내려가지 않음). 행 락은 트랜잭션 끝까지 유지된다. */
+  @Modifying
+  @Query("""
+    update User u
+       set u.successCount = case when u.successCount + :successDelta < 0 then 0 else u.successCount + :successDelta end,
+           u.noShowCount = case when u.noShowCount + :noShowDelta < 0 then 0 else u.noShowCount + :noShowDelta end
+     where u.userId = :userId
+    """)
+  int applyOutcomeDelta(@Param("userId") String userId,
+                        @Param("successDelta") int successDelta,
+                        @Param("noShowDelta") int noShowDelta);
+
+  @Query("""
+    select u.userId as userId, u.username as username, u.isActive as isActive, g.gradeId as gradeId,
+           g.gradeName as gradeName, g.priority as gradePriority, g.depositDiscountPercent as depositDiscountPercent
+    from User u left join u.grade g
+    where u.userId = :userId
+    """)
+  Optional<PrincipalRow> findPrincipal(@Param("userId") String userId);
+
+  @Query("select u.successCount as successCount, u.noShowCount as noShowCount, g.gradeId as gradeId from User u left join u.grade g where u.userId = :userId")
+  Optional<GradeStats> findGradeStats(@Param("userId") String userId);
+
+  /** 로그인 시 재해싱. 읽은 뒤 비밀번호가 바뀌었으면 0. */
+  @Modifying
+  @Query("update User u set u.passwordHash = :newHash where u.userId = :userId and u.passwordHash = :currentHash")
+  int updatePasswordHash(@Param("userId") String userId,
+                         @Param("currentHash") String currentHash,
+                         @Param("newHash") String newHash);
+
+  @Modifying
+  @Query("update User u set u.grade = :grade where u.userId = :userId")
+  int updateGrade(@Param("userId") String userId, @Param("grade") com.noshow.app.domain.entity.UserGrade grade);
 }
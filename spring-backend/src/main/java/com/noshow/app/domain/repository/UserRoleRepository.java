@@ -3,11 +3,34 @@ package com.noshow.app.domain.repository;
 import com.noshow.app.domain.entity.UserRole;
 import com.noshow.app.domain.entity.UserRoleId;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
 
 public interface UserRoleRepository extends JpaRepository<UserRole, UserRoleId> {
+  interface UserRoleName {
+    String getUserId();
+    String getRoleName();
+  }
+
   List<UserRole> findByUser_UserId(String userId);
 
   void deleteByUser_UserId(String userId);
+
+  @Query("select ur.user.userId as userId, r.roleName as roleName from UserRole ur join ur.role r where ur.user.userId in :userIds")
+  List<UserRoleName> findRoleNames(@Param("userIds") Collection<String> userIds);
+
+  /** 목록 화면용: 사용자별 역할 이름을 IN 쿼리 한 번으로 모은다. */
+  default Map<String, List<String>> roleNamesByUser(Collection<String> userIds) {
+    if (userIds.isEmpty()) {
+      return Map.of();
+    }
+    return findRoleNames(userIds).stream()
+      .collect(Collectors.groupingBy(UserRoleName::getUserId,
+        Collectors.mapping(UserRoleName::getRoleName, Collectors.toList())));
+  }
 }
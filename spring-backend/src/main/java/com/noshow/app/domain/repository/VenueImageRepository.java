@@ -2,9 +2,28 @@ package com.noshow.app.domain.repository;
 
 import com.noshow.app.domain.entity.VenueImage;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 public interface VenueImageRepository extends JpaRepository<VenueImage, Long> {
+  /** 목록 화면용 읽기 모델 (image_data 제외). */
+  interface ImageSummary {
+    Long getImageId();
+    Long getVenueId();
+    String getMimeType();
+    LocalDateTime getCreatedAt();
+  }
+
   List<VenueImage> findByVenue_VenueIdOrderByCreatedAtDesc(Long venueId);
+
+  @Query("""
+    select i.imageId as imageId, i.venue.venueId as venueId, i.mimeType as mimeType, i.createdAt as createdAt
+    from VenueImage i
+    where i.venue.venueId = :venueId
+    order by i.createdAt desc
+    """)
+  List<ImageSummary> findSummariesByVenueId(@Param("venueId") Long venueId);
 }
@@ -4,9 +4,47 @@ import com.noshow.app.domain.entity.Venue;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.math.BigDecimal;
 
 public interface VenueRepository extends JpaRepository<Venue, Long> {
+  /** 목록 화면용 읽기 모델 (VenueDto 에 필요한 컬럼만). */
+  interface VenueSummary {
+    Long getVenueId();
+    String getVenueName();
+    String getDescription();
+    BigDecimal getBasePrice();
+    Double getDefaultDepositRatePercent();
+    String getAddressLine1();
+    String getAddressLine2();
+    Boolean getIsActive();
+    String getOwnerUserId();
+  }
+
   Page<Venue> findByVenueNameContainingIgnoreCase(String keyword, Pageable pageable);
   Page<Venue> findByVenueNameContainingIgnoreCaseAndIsActiveTrue(String keyword, Pageable pageable);
   Page<Venue> findByIsActiveTrue(Pageable pageable);
-}
\ No newline at end of file
+
+  /** keyword 가 null 이면 이름 조건 없이 활성 업장 전체. */
+  @Query(value = """
+    select v.venueId as venueId, v.venueName as venueName, v.description as description,
+           v.basePrice as basePrice, v.defaultDepositRatePercent as defaultDepositRatePercent,
+           v.addressLine1 as addressLine1, v.addressLine2 as addressLine2,
+           v.isActive as isActive, v.owner.userId as ownerUserId
+    from Venue v
+    where v.isActive = true
+      and (:keyword is null or lower(v.venueName) like lower(concat('%', :keyword, '%')))
+    order by v.createdAt desc
+    """,
+    countQuery = """
+    select count(v) from Venue v
+    where v.isActive = true
+      and (:keyword is null or lower(v.venueName) like lower(concat('%', :keyword, '%')))
+    """)
+  Page<VenueSummary> findActiveSummaries(@Param("keyword") String keyword, Pageable pageable);
+
+  @Query("select max(v.noShowGraceMinutes) from Venue v")
+  Integer findMaxGraceMinutes();
+}
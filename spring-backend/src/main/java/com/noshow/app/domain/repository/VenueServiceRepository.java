@@ -1,10 +1,49 @@
 package com.noshow.app.domain.repository;
 
 import com.noshow.app.domain.entity.VenueService;
+import jakarta.persistence.LockModeType;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.math.BigDecimal;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 public interface VenueServiceRepository extends JpaRepository<VenueService, Long> {
+  /** 업장 목록에 붙는 서비스 읽기 모델. */
+  interface ServiceSummary {
+    Long getVenueId();
+    Long getServiceId();
+    String getServiceName();
+    String getDescription();
+    BigDecimal getPrice();
+    Integer getDurationMinutes();
+    Integer getMinPartySize();
+    Integer getMaxPartySize();
+    Integer getSlotCapacity();
+    Double getDepositRatePercent();
+    Boolean getIsActive();
+  }
+
   List<VenueService> findByVenue_VenueId(Long venueId);
+
+  @Lock(LockModeType.PESSIMISTIC_WRITE)
+  @Query("select s from VenueService s where s.serviceId = :serviceId")
+  Optional<VenueService> findByIdForUpdate(@Param("serviceId") Long serviceId);
+
+  @Query("select s from VenueService s join fetch s.venue v where s.isActive = true and v.isActive = true")
+  List<VenueService> findAllActiveWithVenue();
+
+  @Query("""
+    select s.venue.venueId as venueId, s.serviceId as serviceId, s.serviceName as serviceName,
+           s.description as description, s.price as price, s.durationMinutes as durationMinutes,
+           s.minPartySize as minPartySize, s.maxPartySize as maxPartySize, s.slotCapacity as slotCapacity,
+           s.depositRatePercent as depositRatePercent, s.isActive as isActive
+    from VenueService s
+    where s.venue.venueId in :venueIds
+    """)
+  List<ServiceSummary> findSummariesByVenueIds(@Param("venueIds") Collection<Long> venueIds);
 }
@@ -0,0 +1,38 @@
+package com.noshow.app.domain.repository;
+
+import com.noshow.app.domain.entity.WaitlistEntry;
+import com.noshow.app.domain.entity.WaitlistEntry.Status;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+public interface WaitlistEntryRepository extends JpaRepository<WaitlistEntry, Long> {
+  List<WaitlistEntry> findByStatusAndSlotStartAfter(Status status, LocalDateTime after);
+
+  List<WaitlistEntry> findByCustomerUserIdOrderByCreatedAtDesc(String customerUserId);
+
+  boolean existsByServiceIdAndSlotStartAndCustomerUserIdAndStatus(Long serviceId, LocalDateTime slotStart,
+                                                                  String customerUserId, Status status);
+
+  @Query("""
+    select w from WaitlistEntry w
+     where w.serviceId = :serviceId and w.status = :status and w.slotStart > :from and w.slotStart < :to
+    """)
+  List<WaitlistEntry> findWaitingInRange(@Param("serviceId") Long serviceId, @Param("status") Status status,
+                                         @Param("from") LocalDateTime from, @Param("to") LocalDateTime to);
+
+  @Lock(LockModeType.PESSIMISTIC_WRITE)
+  @Query("select w from WaitlistEntry w where w.entryId = :entryId")
+  Optional<WaitlistEntry> findByIdForUpdate(@Param("entryId") Long entryId);
+
+  @Modifying
+  @Query("update WaitlistEntry w set w.status = :to, w.closedAt = :now where w.status = :from and w.slotStart <= :now")
+  int closePast(@Param("from") Status from, @Param("to") Status to, @Param("now") LocalDateTime now);
+}
@@ -22,6 +22,10 @@ public class CreateVenueRequest {
   @Max(100)
   private Double defaultDepositRatePercent;
 
+  @Min(0)
+  @Max(1440)
+  private Integer noShowGraceMinutes; // nullable -> 30
+
   private String address;
   private String addressDetail;
 }
@@ -33,6 +33,9 @@ public class CreateVenueServiceRequest {
   @Min(1)
   private Integer maxPartySize;
 
+  @Min(1)
+  private Integer slotCapacity; // nullable -> 1
+
   @Min(0)
   @Max(100)
   private Double depositRatePercent; // nullable -> venue default when null
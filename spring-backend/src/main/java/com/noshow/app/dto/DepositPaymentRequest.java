@@ -1,12 +1,13 @@
 package com.noshow.app.dto;
 
-import jakarta.validation.constraints.NotNull;
 import lombok.Data;
 
+/** reservation_id (결제 대기 예약) 또는 hold_id (체크아웃 홀드) 중 하나. */
 @Data
 public class DepositPaymentRequest {
-  @NotNull
   private Long reservationId;
 
+  private String holdId;
+
   private String paymentMethod = "card";
 }
@@ -0,0 +1,26 @@
+package com.noshow.app.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+@Data
+@Builder
+public class FreeTableDto {
+  private Long venueId;
+  private String venueName;
+  private String address;
+  private List<FreeService> services;
+
+  @Data
+  @AllArgsConstructor
+  public static class FreeService {
+    private Long serviceId;
+    private String serviceName;
+    private BigDecimal price;
+    private Integer durationMinutes;
+  }
+}
@@ -0,0 +1,23 @@
+package com.noshow.app.dto;
+
+import lombok.Builder;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+
+@Data
+@Builder
+public class GradeRebuildStatusDto {
+  private String state; // IDLE, RUNNING, DONE, FAILED
+  private Long totalUsers;
+  private Long processedUsers;
+  private Long updatedUsers;
+  private Long gradeChanges;
+  private Long skippedUsers; // 재집계 중 실시간 반영과 겹쳐 건너뛴 회원
+  private Double usersPerSecond;
+  private Long etaSeconds;
+  private LocalDateTime startedAt;
+  private LocalDateTime finishedAt;
+  private String startedBy;
+  private String error;
+}
@@ -0,0 +1,17 @@
+package com.noshow.app.dto;
+
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+import lombok.Data;
+
+@Data
+public class JoinWaitlistRequest {
+  @NotNull
+  private Long serviceId;
+
+  @NotNull
+  private String scheduledStart; // ISO string
+
+  @Min(1)
+  private Integer partySize = 1;
+}
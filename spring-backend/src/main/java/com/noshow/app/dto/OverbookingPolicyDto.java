@@ -0,0 +1,15 @@
+package com.noshow.app.dto;
+
+import lombok.Builder;
+import lombok.Data;
+
+@Data
+@Builder
+public class OverbookingPolicyDto {
+  private Long serviceId;
+  private Boolean enabled;
+  private Integer maxExtra;
+  private Double targetRisk;
+  /** 현재 초과 예약을 허용하는 요일x30분 슬롯 수. */
+  private Integer overbookableSlots;
+}
@@ -0,0 +1,25 @@
+package com.noshow.app.dto;
+
+import jakarta.validation.constraints.DecimalMax;
+import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+import lombok.Data;
+
+@Data
+public class OverbookingPolicyRequest {
+  @NotNull
+  private Boolean enabled;
+
+  /** 생략하면 기본값을 쓰고, 명시적인 null 은 400 으로 거절한다 (NOT NULL 컬럼). */
+  @NotNull
+  @Min(1)
+  @Max(10)
+  private Integer maxExtra = 1;
+
+  @NotNull
+  @DecimalMin("0.001")
+  @DecimalMax("0.5")
+  private Double targetRisk = 0.05;
+}
@@ -0,0 +1,46 @@
+package com.noshow.app.dto;
+
+import com.noshow.app.domain.entity.Reservation;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Data
+@Builder
+public class OwnerCalendarDto {
+  private Long venueId;
+  private LocalDate from;
+  private LocalDate to;
+  private List<Day> days;
+
+  @Data
+  @AllArgsConstructor
+  public static class Day {
+    private LocalDate date;
+    private List<ServiceColumn> services;
+  }
+
+  @Data
+  @AllArgsConstructor
+  public static class ServiceColumn {
+    private Long serviceId;
+    private String serviceName;
+    private List<Entry> reservations;
+  }
+
+  /** 캘린더 한 칸. 업장/결제 정보 없이 그리는 데 필요한 값만. */
+  @Data
+  @AllArgsConstructor
+  public static class Entry {
+    private Long reservationId;
+    private Reservation.Status status;
+    private LocalDateTime start;
+    private LocalDateTime end;
+    private Integer partySize;
+    private String customerName;
+  }
+}
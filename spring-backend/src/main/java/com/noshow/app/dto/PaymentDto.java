@@ -3,14 +3,17 @@ package com.noshow.app.dto;
 import com.noshow.app.domain.entity.Payment;
 import lombok.Builder;
 import lombok.Data;
+import lombok.extern.jackson.Jacksonized;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
 
 @Data
 @Builder
+@Jacksonized
 public class PaymentDto {
   private Long paymentId;
+  private Long reservationId;
   private Payment.PaymentType paymentType;
   private String method;
   private BigDecimal amount;
@@ -21,6 +24,7 @@ public class PaymentDto {
   public static PaymentDto fromEntity(Payment payment) {
     return PaymentDto.builder()
       .paymentId(payment.getPaymentId())
+      .reservationId(payment.getReservation() != null ? payment.getReservation().getReservationId() : null)
       .paymentType(payment.getPaymentType())
       .method(payment.getMethod())
       .amount(payment.getAmount())
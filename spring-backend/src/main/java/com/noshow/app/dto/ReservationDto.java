@@ -3,6 +3,7 @@ package com.noshow.app.dto;
 import com.noshow.app.domain.entity.Reservation;
 import lombok.Builder;
 import lombok.Data;
+import lombok.extern.jackson.Jacksonized;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
@@ -11,6 +12,7 @@ import java.util.stream.Collectors;
 
 @Data
 @Builder
+@Jacksonized
 public class ReservationDto {
   private Long reservationId;
   private Reservation.Status status;
@@ -0,0 +1,21 @@
+package com.noshow.app.dto;
+
+import com.noshow.app.domain.entity.Reservation;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+
+/** 업장 실시간 피드(SSE) 한 건. 목록 DTO 대신 바뀐 내용만 담는다. */
+@Data
+@AllArgsConstructor
+public class ReservationFeedDto {
+  private String type;
+  private Long reservationId;
+  private Long serviceId;
+  private Reservation.Status previousStatus;
+  private Reservation.Status status;
+  private LocalDateTime scheduledStart;
+  private LocalDateTime scheduledEnd;
+  private Integer partySize;
+}
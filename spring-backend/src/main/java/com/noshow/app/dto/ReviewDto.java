@@ -1,10 +1,12 @@
 package com.noshow.app.dto;
 
 import com.noshow.app.domain.entity.Review;
+import com.noshow.app.domain.repository.ReviewRepository;
 import lombok.Builder;
 import lombok.Data;
 
 import java.time.LocalDateTime;
+import java.util.List;
 
 @Data
 @Builder
@@ -32,4 +34,18 @@ public class ReviewDto {
       .user(review.getUser() != null ? UserDto.fromEntity(review.getUser()) : null)
       .build();
   }
+
+  public static ReviewDto fromSummary(ReviewRepository.ReviewSummary review, List<String> writerRoles) {
+    return ReviewDto.builder()
+      .reviewId(review.getReviewId())
+      .rating(review.getRating())
+      .content(review.getContent())
+      .ownerReply(review.getOwnerReply())
+      .hasImage(Boolean.TRUE.equals(review.getHasImage()))
+      .venueId(review.getVenueId())
+      .venueName(review.getVenueName())
+      .createdAt(review.getCreatedAt())
+      .user(UserDto.fromSummary(review, writerRoles))
+      .build();
+  }
 }
@@ -0,0 +1,27 @@
+package com.noshow.app.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.List;
+
+@Data
+@Builder
+public class ServiceAvailabilityDto {
+  private Long serviceId;
+  private String serviceName;
+  private Integer durationMinutes;
+  private Integer minPartySize;
+  private Integer maxPartySize;
+  private List<DaySlots> days;
+
+  @Data
+  @AllArgsConstructor
+  public static class DaySlots {
+    private LocalDate date;
+    private List<LocalTime> startTimes;
+  }
+}
@@ -0,0 +1,37 @@
+package com.noshow.app.dto;
+
+import com.noshow.app.service.SlotHoldService;
+import lombok.Builder;
+import lombok.Data;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+@Data
+@Builder
+public class SlotHoldDto {
+  private String holdId;
+  private Long serviceId;
+  private LocalDateTime scheduledStart;
+  private LocalDateTime scheduledEnd;
+  private Integer partySize;
+  private BigDecimal totalPrice;
+  private BigDecimal depositAmount;
+  private String currency;
+  /** 이 시각까지 보증금을 결제하지 않으면 홀드가 풀린다. */
+  private LocalDateTime expiresAt;
+
+  public static SlotHoldDto fromHold(SlotHoldService.Hold hold) {
+    return SlotHoldDto.builder()
+      .holdId(hold.holdId())
+      .serviceId(hold.serviceId())
+      .scheduledStart(hold.start())
+      .scheduledEnd(hold.end())
+      .partySize(hold.partySize())
+      .totalPrice(hold.totalPrice())
+      .depositAmount(hold.depositAmount())
+      .currency(hold.currency())
+      .expiresAt(hold.expiresAt())
+      .build();
+  }
+}
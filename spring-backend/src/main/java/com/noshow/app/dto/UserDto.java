@@ -1,6 +1,7 @@
 package com.noshow.app.dto;
 
 import com.noshow.app.domain.entity.User;
+import com.noshow.app.domain.repository.UserRepository;
 import lombok.Builder;
 import lombok.Data;
 
@@ -39,4 +40,19 @@ public class UserDto {
         : List.of())
       .build();
   }
+
+  public static UserDto fromSummary(UserRepository.UserSummary user, List<String> roles) {
+    return UserDto.builder()
+      .userId(user.getUserId())
+      .username(user.getUsername())
+      .realName(user.getRealName())
+      .email(user.getEmail())
+      .phone(user.getPhone())
+      .gradeId(user.getGradeId())
+      .gradeName(user.getGradeName())
+      .loginType(user.getLoginType() != null ? user.getLoginType().name().toLowerCase() : "local")
+      .profileImage(user.getProfileImage())
+      .roles(roles != null ? roles : List.of())
+      .build();
+  }
 }
@@ -1,8 +1,10 @@
 package com.noshow.app.dto;
 
 import com.noshow.app.domain.entity.Venue;
+import com.noshow.app.domain.repository.VenueRepository;
 import lombok.Builder;
 import lombok.Data;
+import lombok.extern.jackson.Jacksonized;
 
 import java.math.BigDecimal;
 import java.util.List;
@@ -10,6 +12,7 @@ import java.util.stream.Collectors;
 
 @Data
 @Builder
+@Jacksonized
 public class VenueDto {
   private Long venueId;
   private String venueName;
@@ -22,14 +25,6 @@ public class VenueDto {
   private List<VenueServiceDto> services;
 
   public static VenueDto fromEntity(Venue venue, boolean includeServices) {
-    String address = "";
-    if (venue.getAddressLine1() != null) {
-      address = venue.getAddressLine1();
-    }
-    if (venue.getAddressLine2() != null && !venue.getAddressLine2().isBlank()) {
-      address = address.isBlank() ? venue.getAddressLine2() : address + " " + venue.getAddressLine2();
-    }
-
     List<VenueServiceDto> serviceDtos = null;
     if (includeServices && venue.getServices() != null) {
       serviceDtos = venue.getServices()
@@ -44,10 +39,32 @@ public class VenueDto {
       .description(venue.getDescription())
       .basePrice(venue.getBasePrice())
       .defaultDepositRatePercent(venue.getDefaultDepositRatePercent())
-      .address(address.isBlank() ? null : address)
+      .address(joinAddress(venue.getAddressLine1(), venue.getAddressLine2()))
       .isActive(venue.getIsActive())
       .ownerUserId(venue.getOwner() != null ? venue.getOwner().getUserId() : null)
       .services(serviceDtos)
       .build();
   }
+
+  public static VenueDto fromSummary(VenueRepository.VenueSummary venue, List<VenueServiceDto> services) {
+    return VenueDto.builder()
+      .venueId(venue.getVenueId())
+      .venueName(venue.getVenueName())
+      .description(venue.getDescription())
+      .basePrice(venue.getBasePrice())
+      .defaultDepositRatePercent(venue.getDefaultDepositRatePercent())
+      .address(joinAddress(venue.getAddressLine1(), venue.getAddressLine2()))
+      .isActive(venue.getIsActive())
+      .ownerUserId(venue.getOwnerUserId())
+      .services(services)
+      .build();
+  }
+
+  private static String joinAddress(String line1, String line2) {
+    String address = line1 != null ? line1 : "";
+    if (line2 != null && !line2.isBlank()) {
+      address = address.isBlank() ? line2 : address + " " + line2;
+    }
+    return address.isBlank() ? null : address;
+  }
 }
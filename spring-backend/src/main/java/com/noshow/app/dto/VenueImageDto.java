@@ -1,6 +1,7 @@
 package com.noshow.app.dto;
 
 import com.noshow.app.domain.entity.VenueImage;
+import com.noshow.app.domain.repository.VenueImageRepository;
 import lombok.Builder;
 import lombok.Data;
 
@@ -22,4 +23,13 @@ public class VenueImageDto {
       .createdAt(image.getCreatedAt())
       .build();
   }
+
+  public static VenueImageDto fromSummary(VenueImageRepository.ImageSummary image) {
+    return VenueImageDto.builder()
+      .imageId(image.getImageId())
+      .venueId(image.getVenueId())
+      .mimeType(image.getMimeType())
+      .createdAt(image.getCreatedAt())
+      .build();
+  }
 }
@@ -1,13 +1,16 @@
 package com.noshow.app.dto;
 
 import com.noshow.app.domain.entity.VenueService;
+import com.noshow.app.domain.repository.VenueServiceRepository;
 import lombok.Builder;
 import lombok.Data;
+import lombok.extern.jackson.Jacksonized;
 
 import java.math.BigDecimal;
 
 @Data
 @Builder
+@Jacksonized
 public class VenueServiceDto {
   private Long serviceId;
   private String serviceName;
@@ -16,6 +19,7 @@ public class VenueServiceDto {
   private Integer durationMinutes;
   private Integer minPartySize;
   private Integer maxPartySize;
+  private Integer slotCapacity;
   private Double depositRatePercent;
   private Boolean isActive;
 
@@ -28,6 +32,22 @@ public class VenueServiceDto {
       .durationMinutes(service.getDurationMinutes())
       .minPartySize(service.getMinPartySize())
       .maxPartySize(service.getMaxPartySize())
+      .slotCapacity(service.getSlotCapacity())
+      .depositRatePercent(service.getDepositRatePercent())
+      .isActive(service.getIsActive())
+      .build();
+  }
+
+  public static VenueServiceDto fromSummary(VenueServiceRepository.ServiceSummary service) {
+    return VenueServiceDto.builder()
+      .serviceId(service.getServiceId())
+      .serviceName(service.getServiceName())
+      .description(service.getDescription())
+      .price(service.getPrice())
+      .durationMinutes(service.getDurationMinutes())
+      .minPartySize(service.getMinPartySize())
+      .maxPartySize(service.getMaxPartySize())
+      .slotCapacity(service.getSlotCapacity())
       .depositRatePercent(service.getDepositRatePercent())
       .isActive(service.getIsActive())
       .build();
@@ -0,0 +1,36 @@
+package com.noshow.app.dto;
+
+import com.noshow.app.domain.entity.WaitlistEntry;
+import lombok.Builder;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+
+@Data
+@Builder
+public class WaitlistEntryDto {
+  private Long entryId;
+  private Long serviceId;
+  private LocalDateTime scheduledStart;
+  private LocalDateTime scheduledEnd;
+  private Integer partySize;
+  private WaitlistEntry.Status status;
+  /** WAITING 일 때 앞에 선 사람 수 + 1. */
+  private Integer position;
+  private Long reservationId;
+  private LocalDateTime createdAt;
+
+  public static WaitlistEntryDto fromEntity(WaitlistEntry entry, Integer position) {
+    return WaitlistEntryDto.builder()
+      .entryId(entry.getEntryId())
+      .serviceId(entry.getServiceId())
+      .scheduledStart(entry.getSlotStart())
+      .scheduledEnd(entry.getSlotEnd())
+      .partySize(entry.getPartySize())
+      .status(entry.getStatus())
+      .position(position)
+      .reservationId(entry.getReservationId())
+      .createdAt(entry.getCreatedAt())
+      .build();
+  }
+}
@@ -0,0 +1,55 @@
+package com.noshow.app.security;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.noshow.app.common.ApiResponse;
+import com.noshow.app.service.AuthService;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.io.IOException;
+
+/**
+ * /actuator 는 health 만 공개하고 나머지(metrics 등)는 관리자만 본다.
+ * actuator 엔드포인트는 MVC 인터셉터를 거치지 않아서 서블릿 필터로 막는다.
+ */
+@Component
+@RequiredArgsConstructor
+public class ActuatorAccessFilter extends OncePerRequestFilter {
+  private final AuthService authService;
+  private final ObjectMapper objectMapper;
+
+  @Override
+  protected boolean shouldNotFilter(HttpServletRequest request) {
+    String path = request.getRequestURI().substring(request.getContextPath().length());
+    return !path.startsWith("/actuator") || path.equals("/actuator/health") || path.startsWith("/actuator/health/");
+  }
+
+  @Override
+  protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+    throws ServletException, IOException {
+    HttpStatus denied;
+    String message;
+    try {
+      if (authService.requireUser(request).hasRole("admin")) {
+        chain.doFilter(request, response);
+        return;
+      }
+      denied = HttpStatus.FORBIDDEN;
+      message = "Admin only";
+    } catch (ResponseStatusException e) {
+      denied = HttpStatus.valueOf(e.getStatusCode().value());
+      message = e.getReason();
+    }
+    response.setStatus(denied.value());
+    response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+    objectMapper.writeValue(response.getOutputStream(), ApiResponse.fail(message));
+  }
+}
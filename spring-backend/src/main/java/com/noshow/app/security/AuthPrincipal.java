@@ -0,0 +1,27 @@
+package com.noshow.app.security;
+
+import lombok.Value;
+
+import java.util.Set;
+
+/**
+ * 인증된 사용자의 불변 스냅샷 (AuthService.requireUser 가 돌려준다).
+ * 요청마다 User 엔티티/역할/등급을 다시 읽지 않도록 PrincipalCache 에 들고 있는다.
+ * 엔티티 연관이 필요하면 UserRepository.getReferenceById(userId) 로 프록시만 만든다.
+ */
+@Value
+public class AuthPrincipal {
+  String userId;
+  String username;
+  /** 소문자 역할 이름 */
+  Set<String> roles;
+  Short gradeId;
+  String gradeName;
+  Integer gradePriority;
+  Double depositDiscountPercent;
+  boolean active;
+
+  public boolean hasRole(String roleName) {
+    return roles.contains(roleName.toLowerCase());
+  }
+}
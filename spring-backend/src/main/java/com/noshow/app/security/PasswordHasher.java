@@ -0,0 +1,161 @@
+package com.noshow.app.security;
+
+import com.noshow.app.common.TooManyRequestsException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.Arrays;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * BCrypt 를 요청 스레드가 아닌 전용 스레드 풀에서 돌린다.
+ * 로그인 폭주 때 해싱이 모든 코어를 차지해서 예약 API 가 밀리지 않도록 스레드 수와 대기열을 제한하고,
+ * 대기열이 차면 바로 429 로 돌려보낸다.
+ * cost 는 기동 시 목표 시간(app.password-hash.target-ms)에 맞춰 정하고, 그보다 낮은 cost 의 해시는
+ * 로그인 성공 시 AuthService 가 다시 해싱한다 (upgradeEncoding).
+ */
+@Component
+@Slf4j
+public class PasswordHasher implements PasswordEncoder {
+  private static final int MAX_COST = 14;
+
+  private final ThreadPoolExecutor executor;
+  private final BCryptPasswordEncoder encoder;
+  private final int cost;
+  private final long waitMillis;
+
+  private final Timer encodeTimer;
+  private final Timer verifyTimer;
+  private final Counter rejected;
+
+  public PasswordHasher(MeterRegistry registry,
+                        @Value("${app.password-hash.threads:0}") int threads,
+                        @Value("${app.password-hash.queue:64}") int queueSize,
+                        @Value("${app.password-hash.wait-ms:5000}") long waitMillis,
+                        @Value("${app.password-hash.target-ms:250}") long targetMillis,
+                        @Value("${app.password-hash.min-cost:10}") int minCost,
+                        @Value("${app.password-hash.cost:0}") int fixedCost) {
+    int poolSize = threads > 0 ? threads : Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+    AtomicInteger seq = new AtomicInteger();
+    this.executor = new ThreadPoolExecutor(poolSize, poolSize, 0, TimeUnit.MILLISECONDS,
+      new ArrayBlockingQueue<>(queueSize), r -> {
+        Thread t = new Thread(r, "password-hash-" + seq.incrementAndGet());
+        t.setDaemon(true);
+        return t;
+      }, new ThreadPoolExecutor.AbortPolicy());
+    this.waitMillis = waitMillis;
+    this.cost = fixedCost > 0 ? fixedCost : calibrate(minCost, targetMillis);
+    this.encoder = new BCryptPasswordEncoder(cost);
+
+    this.encodeTimer = hashTimer(registry, "encode");
+    this.verifyTimer = hashTimer(registry, "verify");
+    this.rejected = Counter.builder("auth.password.rejected")
+      .description("Password hash requests rejected because the queue was full")
+      .register(registry);
+    Gauge.builder("auth.password.queue.depth", executor, e -> e.getQueue().size())
+      .description("Password hash requests waiting for a worker")
+      .register(registry);
+    Gauge.builder("auth.password.active", executor, ThreadPoolExecutor::getActiveCount)
+      .description("Password hash workers currently busy")
+      .register(registry);
+    log.info("Password hashing: bcrypt cost={}, threads={}, queue={}", cost, poolSize, queueSize);
+  }
+
+  @Override
+  public String encode(CharSequence rawPassword) {
+    return submit(() -> encodeTimer.record(() -> encoder.encode(rawPassword)));
+  }
+
+  @Override
+  public boolean matches(CharSequence rawPassword, String encodedPassword) {
+    if (encodedPassword == null || encodedPassword.isEmpty()) {
+      return false;
+    }
+    return submit(() -> verifyTimer.record(() -> encoder.matches(rawPassword, encodedPassword)));
+  }
+
+  /** 저장된 해시의 cost 가 현재 cost 보다 낮으면 true. */
+  @Override
+  public boolean upgradeEncoding(String encodedPassword) {
+    return encodedPassword != null && !encodedPassword.isEmpty() && encoder.upgradeEncoding(encodedPassword);
+  }
+
+  public int getCost() {
+    return cost;
+  }
+
+  @PreDestroy
+  public void shutdown() {
+    executor.shutdownNow();
+  }
+
+  private <T> T submit(Callable<T> task) {
+    Future<T> future;
+    try {
+      future = executor.submit(task);
+    } catch (RejectedExecutionException e) {
+      rejected.increment();
+      throw new TooManyRequestsException("로그인 요청이 많습니다. 잠시 후 다시 시도해 주세요.", 1);
+    }
+    try {
+      return future.get(waitMillis, TimeUnit.MILLISECONDS);
+    } catch (TimeoutException e) {
+      future.cancel(true);
+      rejected.increment();
+      throw new TooManyRequestsException("로그인 요청이 많습니다. 잠시 후 다시 시도해 주세요.", 1);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, "요청이 중단되었습니다.");
+    } catch (ExecutionException e) {
+      if (e.getCause() instanceof RuntimeException re) {
+        throw re;
+      }
+      throw new IllegalStateException("Password hashing failed", e.getCause());
+    }
+  }
+
+  /** minCost 에서 잰 시간을 cost 1 당 두 배로 늘려 가며 목표 시간을 넘지 않는 가장 큰 cost 를 고른다. */
+  private static int calibrate(int minCost, long targetMillis) {
+    BCryptPasswordEncoder probe = new BCryptPasswordEncoder(minCost);
+    long[] samples = new long[3];
+    for (int i = 0; i < samples.length; i++) {
+      long started = System.nanoTime();
+      probe.encode("calibration-" + i);
+      samples[i] = System.nanoTime() - started;
+    }
+    Arrays.sort(samples);
+    double millis = samples[1] / 1_000_000.0;
+    int cost = minCost;
+    while (cost < MAX_COST && millis * 2 <= targetMillis) {
+      millis *= 2;
+      cost++;
+    }
+    return cost;
+  }
+
+  private static Timer hashTimer(MeterRegistry registry, String op) {
+    return Timer.builder("auth.password.hash")
+      .description("BCrypt work time")
+      .tag("op", op)
+      .publishPercentiles(0.5, 0.95, 0.99)
+      .register(registry);
+  }
+}
@@ -0,0 +1,168 @@
+package com.noshow.app.security;
+
+import com.noshow.app.domain.repository.UserRepository;
+import com.noshow.app.domain.repository.UserRoleRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Collectors;
+
+/**
+ * userId -> AuthPrincipal 캐시. 크기 제한 + TTL, 노드 로컬. 조회는 ConcurrentHashMap 읽기 한 번이라 전역 락이 없다.
+ * 역할/등급/프로필을 바꾸는 쪽에서 invalidate 를 호출한다. 트랜잭션 안이면 커밋 뒤에 한 번 더 지워서
+ * 커밋 전에 다른 요청이 옛 값을 다시 올려놓는 경우를 막는다. 다른 노드에서 바뀐 값은 TTL 이 지나야 반영된다.
+ * 무효화는 사용자별 묘비(시각)를 남겨서, 그보다 먼저 시작한 그 사용자의 적재만 캐시에 넣지 않는다.
+ */
+@Component
+public class PrincipalCache {
+  // 적재가 이보다 오래 걸리지는 않는다고 보고 묘비를 지운다
+  private static final long TOMBSTONE_NANOS = 60_000_000_000L;
+
+  private final UserRepository userRepository;
+  private final UserRoleRepository userRoleRepository;
+  private final long ttlMillis;
+  private final int maxSize;
+
+  private record Entry(AuthPrincipal principal, long expiresAt) {}
+
+  private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+  // userId -> 마지막 무효화 시각(nanoTime). entries 의 같은 키 compute 안에서만 쓴다.
+  private final Map<String, Long> tombstones = new ConcurrentHashMap<>();
+  private final AtomicBoolean trimming = new AtomicBoolean();
+
+  private final Counter hits;
+  private final Counter misses;
+  private final Timer loadTimer;
+
+  public PrincipalCache(UserRepository userRepository,
+                        UserRoleRepository userRoleRepository,
+                        MeterRegistry registry,
+                        @Value("${app.principal-cache.max-size:10000}") int maxSize,
+                        @Value("${app.principal-cache.ttl-seconds:300}") long ttlSeconds) {
+    this.userRepository = userRepository;
+    this.userRoleRepository = userRoleRepository;
+    this.ttlMillis = ttlSeconds * 1000;
+    this.maxSize = maxSize;
+    this.hits = lookup(registry, "hit");
+    this.misses = lookup(registry, "miss");
+    this.loadTimer = Timer.builder("auth.principal.load")
+      .description("Time to load an authenticated principal from the database")
+      .register(registry);
+    Gauge.builder("auth.principal.cache.size", entries, Map::size)
+      .description("Principals currently cached")
+      .register(registry);
+    Gauge.builder("auth.principal.cache.hit.ratio", this, PrincipalCache::hitRatio)
+      .description("Principal cache hits / lookups since start")
+      .register(registry);
+  }
+
+  /** 없는 사용자면 empty. */
+  public Optional<AuthPrincipal> get(String userId) {
+    long now = System.currentTimeMillis();
+    Entry e = entries.get(userId);
+    if (e != null) {
+      if (e.expiresAt() > now) {
+        hits.increment();
+        return Optional.of(e.principal());
+      }
+      entries.remove(userId, e);
+    }
+    misses.increment();
+    long loadStarted = System.nanoTime();
+    Optional<AuthPrincipal> loaded = loadTimer.record(() -> load(userId));
+    loaded.ifPresent(p -> {
+      entries.compute(userId, (k, v) -> {
+        Long invalidatedAt = tombstones.get(k);
+        // 적재 도중 이 사용자가 무효화됐으면 읽은 값은 옛 값일 수 있다
+        return invalidatedAt != null && invalidatedAt - loadStarted >= 0 ? v : new Entry(p, now + ttlMillis);
+      });
+      if (entries.size() > maxSize) {
+        trim();
+      }
+    });
+    return loaded;
+  }
+
+  public void invalidate(String userId) {
+    evict(userId);
+    if (TransactionSynchronizationManager.isSynchronizationActive()) {
+      TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+        @Override
+        public void afterCommit() {
+          evict(userId);
+        }
+      });
+    }
+  }
+
+  /** 만료된 항목과 진행 중인 적재가 더는 없을 오래된 묘비를 지운다. */
+  @Scheduled(fixedDelayString = "${app.principal-cache.sweep-ms:60000}")
+  public void sweep() {
+    long now = System.currentTimeMillis();
+    long nanos = System.nanoTime();
+    entries.values().removeIf(e -> e.expiresAt() <= now);
+    tombstones.values().removeIf(t -> nanos - t > TOMBSTONE_NANOS);
+  }
+
+  private void evict(String userId) {
+    entries.compute(userId, (k, v) -> {
+      tombstones.put(k, System.nanoTime());
+      return null;
+    });
+  }
+
+  /** 상한을 넘으면 만료된 것부터, 그래도 넘치면 아무 항목이나 지워 90% 로 줄인다 (한 스레드만). */
+  private void trim() {
+    if (!trimming.compareAndSet(false, true)) {
+      return;
+    }
+    try {
+      long now = System.currentTimeMillis();
+      entries.values().removeIf(e -> e.expiresAt() <= now);
+      Iterator<String> it = entries.keySet().iterator();
+      int target = maxSize - maxSize / 10;
+      while (entries.size() > target && it.hasNext()) {
+        it.next();
+        it.remove();
+      }
+    } finally {
+      trimming.set(false);
+    }
+  }
+
+  private Optional<AuthPrincipal> load(String userId) {
+    return userRepository.findPrincipal(userId).map(row -> {
+      Set<String> roles = userRoleRepository.findRoleNames(List.of(userId)).stream()
+        .map(r -> r.getRoleName().toLowerCase())
+        .collect(Collectors.toUnmodifiableSet());
+      return new AuthPrincipal(row.getUserId(), row.getUsername(), roles, row.getGradeId(), row.getGradeName(),
+        row.getGradePriority(), row.getDepositDiscountPercent(), !Boolean.FALSE.equals(row.getIsActive()));
+    });
+  }
+
+  private double hitRatio() {
+    double total = hits.count() + misses.count();
+    return total > 0 ? hits.count() / total : 0.0;
+  }
+
+  private static Counter lookup(MeterRegistry registry, String result) {
+    return Counter.builder("auth.principal.cache")
+      .description("Principal cache lookups")
+      .tag("result", result)
+      .register(registry);
+  }
+}
@@ -0,0 +1,57 @@
+package com.noshow.app.security;
+
+import com.noshow.app.config.RateLimitProperties;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.util.List;
+
+/**
+ * 로그인/가입/예약 등 비싼 경로의 요청 수 제한. 컨트롤러보다 먼저 돌고 DB 를 읽지 않는다.
+ * 규칙은 원본 URI 가 아니라 핸들러 매핑이 고른 패턴으로 찾는다 (;matrix, 끝 슬래시 등으로 우회하지 못하게).
+ * user 키 규칙은 토큰 서명만 확인해서 userId 를 얻고, 토큰이 없으면 IP 로 센다.
+ */
+@Component
+@RequiredArgsConstructor
+public class RateLimitInterceptor implements HandlerInterceptor {
+  private final RateLimiter rateLimiter;
+  private final RateLimitProperties properties;
+  private final TokenService tokenService;
+
+  @Override
+  public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+    if (!properties.isEnabled()) {
+      return true;
+    }
+    Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+    if (pattern == null) {
+      return true;
+    }
+    List<RateLimiter.Limit> limits = rateLimiter.limitsFor(request.getMethod(), pattern.toString());
+    if (limits.isEmpty()) {
+      return true;
+    }
+    String ip = rateLimiter.clientIp(request);
+    String userKey = null;
+    for (RateLimiter.Limit limit : limits) {
+      String key;
+      if (limit.keyedByUser()) {
+        if (userKey == null) {
+          userKey = tokenService.extractBearerToken(request)
+            .flatMap(tokenService::resolveUserId)
+            .map(id -> "u:" + id)
+            .orElse("ip:" + ip);
+        }
+        key = userKey;
+      } else {
+        key = ip;
+      }
+      rateLimiter.enforce(limit, key);
+    }
+    return true;
+  }
+}
@@ -0,0 +1,204 @@
+package com.noshow.app.security;
+
+import com.noshow.app.common.TooManyRequestsException;
+import com.noshow.app.config.RateLimitProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.http.HttpServletRequest;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 경로별 토큰 버킷 (노드 로컬). 버킷 하나는 AtomicLong 하나로, 다음 토큰이 생기는 이론 시각(GCRA)만 들고 있다.
+ * 충전은 요청이 올 때 CAS 한 번으로 계산하고(락 없음), 버킷 맵은 규칙별 ConcurrentHashMap 이다.
+ * 가득 찬 채로 오래 쓰이지 않은 버킷은 새 버킷과 같으므로 주기적으로 지운다.
+ */
+@Component
+@Slf4j
+public class RateLimiter {
+  public static final String USER_KEY = "user";
+  public static final String ACCOUNT_KEY = "account";
+
+  private final RateLimitProperties properties;
+  // method -> 매핑 패턴 -> 규칙들 (요청마다 문자열을 만들지 않도록 두 단계로 찾는다)
+  private final Map<String, Map<String, List<Limit>>> routes = new HashMap<>();
+  private final Map<String, Limit> byName = new HashMap<>();
+  private final List<Limit> limits = new ArrayList<>();
+  private final AtomicBoolean warnedUntrustedProxy = new AtomicBoolean();
+
+  public static final class Limit {
+    private final RateLimitProperties.Rule rule;
+    private final long intervalNanos;
+    private final long toleranceNanos;
+    private final ConcurrentHashMap<String, AtomicLong> buckets = new ConcurrentHashMap<>();
+    private final Counter rejected;
+    private final AtomicBoolean sweeping = new AtomicBoolean();
+
+    private Limit(RateLimitProperties.Rule rule, MeterRegistry registry) {
+      this.rule = rule;
+      this.intervalNanos = (long) (60_000_000_000L / rule.getRefillPerMinute());
+      this.toleranceNanos = intervalNanos * (Math.max(1, rule.getCapacity()) - 1);
+      this.rejected = Counter.builder("http.rate_limited")
+        .description("Requests rejected by the rate limiter")
+        .tag("rule", rule.getName())
+        .register(registry);
+    }
+
+    public boolean keyedByUser() {
+      return USER_KEY.equalsIgnoreCase(rule.getKey());
+    }
+  }
+
+  public RateLimiter(RateLimitProperties properties, MeterRegistry registry) {
+    this.properties = properties;
+    for (RateLimitProperties.Rule rule : properties.getRules()) {
+      boolean byAccount = ACCOUNT_KEY.equalsIgnoreCase(rule.getKey());
+      if (rule.getName() == null || (rule.getPath() == null && !byAccount) || rule.getRefillPerMinute() <= 0) {
+        log.warn("Ignoring invalid rate limit rule {}", rule.getName());
+        continue;
+      }
+      Limit limit = new Limit(rule, registry);
+      limits.add(limit);
+      byName.put(rule.getName(), limit);
+      if (byAccount) {
+        continue;
+      }
+      routes.computeIfAbsent(rule.getMethod().toUpperCase(Locale.ROOT), m -> new HashMap<>())
+        .computeIfAbsent(rule.getPath(), p -> new ArrayList<>())
+        .add(limit);
+    }
+  }
+
+  /** 해당 요청에 걸린 규칙. 없으면 빈 리스트. */
+  public List<Limit> limitsFor(String method, String path) {
+    Map<String, List<Limit>> byPath = routes.get(method);
+    if (byPath == null) {
+      return List.of();
+    }
+    List<Limit> found = byPath.get(path);
+    return found != null ? found : List.of();
+  }
+
+  /** 토큰을 쓰지 않고, 지금 쓴다면 거절될지만 본다 (실패할 때만 charge 하는 규칙용). 거절될 상황이면 429. */
+  public void check(String ruleName, String key) {
+    Limit limit = byName.get(ruleName);
+    if (limit == null || !properties.isEnabled()) {
+      return;
+    }
+    AtomicLong bucket = limit.buckets.get(key);
+    if (bucket == null) {
+      return;
+    }
+    long now = System.nanoTime();
+    long wait = waitNanos(limit, bucket.get(), now);
+    if (wait > 0) {
+      limit.rejected.increment();
+      throw new TooManyRequestsException("요청이 너무 많습니다. 잠시 후 다시 시도해 주세요.",
+        (wait + 999_999_999L) / 1_000_000_000L);
+    }
+  }
+
+  /** 토큰 하나를 쓰되 거절돼도 예외를 던지지 않는다. */
+  public void charge(String ruleName, String key) {
+    Limit limit = byName.get(ruleName);
+    if (limit != null && properties.isEnabled()) {
+      tryAcquire(limit, key);
+    }
+  }
+
+  /** 이름으로 찾은 규칙의 토큰 하나를 쓰고, 없으면 429. 규칙이 없거나 꺼져 있으면 통과. */
+  public void enforce(String ruleName, String key) {
+    Limit limit = byName.get(ruleName);
+    if (limit == null || !properties.isEnabled()) {
+      return;
+    }
+    enforce(limit, key);
+  }
+
+  void enforce(Limit limit, String key) {
+    long waitNanos = tryAcquire(limit, key);
+    if (waitNanos > 0) {
+      throw new TooManyRequestsException("요청이 너무 많습니다. 잠시 후 다시 시도해 주세요.",
+        (waitNanos + 999_999_999L) / 1_000_000_000L);
+    }
+  }
+
+  /** 토큰 하나를 쓴다. 허용이면 0, 아니면 다음 토큰까지 남은 나노초. */
+  public long tryAcquire(Limit limit, String key) {
+    AtomicLong bucket = limit.buckets.get(key);
+    if (bucket == null) {
+      if (limit.buckets.size() >= properties.getMaxBucketsPerRule() && limit.sweeping.compareAndSet(false, true)) {
+        // 상한에 닿으면 다 채워진 버킷부터 지운다 (새 버킷과 같아서 잃는 것이 없다)
+        try {
+          evictIdle(limit, System.nanoTime(), 0);
+        } finally {
+          limit.sweeping.set(false);
+        }
+      }
+      bucket = limit.buckets.computeIfAbsent(key, k -> new AtomicLong(Long.MIN_VALUE));
+    }
+    long now = System.nanoTime();
+    while (true) {
+      long tat = bucket.get();
+      long base = tat == Long.MIN_VALUE || tat - now < 0 ? now : tat;
+      long wait = waitNanos(limit, tat, now);
+      if (wait > 0) {
+        limit.rejected.increment();
+        return wait;
+      }
+      if (bucket.compareAndSet(tat, base + limit.intervalNanos)) {
+        return 0;
+      }
+    }
+  }
+
+  private static long waitNanos(Limit limit, long tat, long now) {
+    long base = tat == Long.MIN_VALUE || tat - now < 0 ? now : tat;
+    return base - now - limit.toleranceNanos;
+  }
+
+  /** 신뢰하는 프록시가 붙인 X-Forwarded-For 항목 (오른쪽에서 trustedProxyHops 번째). */
+  public String clientIp(HttpServletRequest request) {
+    String forwarded = request.getHeader("X-Forwarded-For");
+    int hops = properties.getTrustedProxyHops();
+    if (forwarded == null || forwarded.isBlank()) {
+      return request.getRemoteAddr();
+    }
+    if (hops <= 0) {
+      if (warnedUntrustedProxy.compareAndSet(false, true)) {
+        log.warn("X-Forwarded-For present but app.rate-limit.trusted-proxy-hops=0: rate limits are keyed by the proxy "
+          + "address {}, so all clients behind it share one bucket. Set trusted-proxy-hops to the number of proxies.",
+          request.getRemoteAddr());
+      }
+      return request.getRemoteAddr();
+    }
+    String[] entries = forwarded.split(",");
+    return entries[Math.max(0, entries.length - hops)].trim();
+  }
+
+  @Scheduled(fixedDelayString = "${app.rate-limit.sweep-ms:60000}")
+  public void evictIdle() {
+    long now = System.nanoTime();
+    long idleNanos = properties.getIdleEvictSeconds() * 1_000_000_000L;
+    for (Limit limit : limits) {
+      evictIdle(limit, now, idleNanos);
+    }
+  }
+
+  private static void evictIdle(Limit limit, long now, long idleNanos) {
+    limit.buckets.values().removeIf(b -> {
+      long tat = b.get();
+      return tat == Long.MIN_VALUE || now - tat > idleNanos;
+    });
+  }
+}
@@ -1,25 +1,148 @@
 package com.noshow.app.security;
 
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.noshow.app.domain.entity.User;
 import jakarta.servlet.http.HttpServletRequest;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
+import org.springframework.web.server.ResponseStatusException;
 
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
 import java.util.concurrent.ConcurrentHashMap;
 
+/**
+ * HMAC-SHA256 으로 서명한 자체 포함 토큰 (JWT HS256 형식: header.payload.signature).
+ * userId, 역할, 등급, 만료 시각을 담고 있어서 서버에 발급 목록을 두지 않고 어느 노드에서든 서명만 확인한다.
+ * 로그아웃한 토큰(jti)은 revoked_tokens 테이블에 만료 시각까지 남기고, 각 노드는 그 테이블을 몇 초마다 따라 읽어
+ * 메모리 목록으로 확인한다 (요청마다 DB 를 읽지 않는다). 다른 노드의 로그아웃은 동기화 주기 안에 반영된다.
+ * 목록이 상한에 닿으면 예전 폐기를 버리지 않고 새 폐기를 거절한다.
+ */
 @Component
+@Slf4j
 public class TokenService {
-  private final Map<String, String> tokenToUserId = new ConcurrentHashMap<>();
+  private static final String HEADER = base64(("{\"alg\":\"HS256\",\"typ\":\"JWT\"}").getBytes(StandardCharsets.UTF_8));
+  private static final String ALGORITHM = "HmacSHA256";
+  private static final int MIN_SECRET_BYTES = 32;
+  // 예전 application.yml 기본값. 공개된 값이라 서명 키로 쓰면 누구나 토큰을 만들 수 있다.
+  private static final String DEMO_SECRET = "very-secret-demo-key";
+  // 늦게 커밋된 폐기를 놓치지 않도록 마지막으로 본 revoked_at 보다 이만큼 앞에서부터 다시 읽는다
+  private static final int SYNC_OVERLAP_SECONDS = 30;
+  private static final String SYNC_SQL = """
+    SELECT jti, expires_at, revoked_at FROM revoked_tokens
+    WHERE revoked_at >= TIMESTAMPADD(SECOND, ?, ?) AND expires_at > ?
+    """;
 
-  public String createToken(String userId) {
-    String token = UUID.randomUUID().toString();
-    tokenToUserId.put(token, userId);
-    return token;
+  // 전역 ObjectMapper 는 SNAKE_CASE 라서 클레임 이름을 직접 다루는 별도 인스턴스를 쓴다
+  private final ObjectMapper mapper = new ObjectMapper();
+  private final SecretKeySpec key;
+  private final long ttlSeconds;
+  private final int maxRevoked;
+  private final JdbcTemplate jdbcTemplate;
+
+  // revoked_tokens 의 메모리 사본. jti -> 토큰 만료 시각(epoch seconds). 만료된 항목은 주기적으로 지운다.
+  private final Map<String, Long> revoked = new ConcurrentHashMap<>();
+  // 지금까지 읽은 가장 늦은 revoked_at (DB 시각)
+  private volatile LocalDateTime syncedUpTo = LocalDateTime.of(1970, 1, 1, 0, 0);
+
+  public record TokenClaims(String userId, List<String> roles, Short gradeId, long expiresAt, String tokenId) {}
+
+  public TokenService(@Value("${app.token-secret:}") String secret,
+                      @Value("${app.token-ttl-hours:12}") long ttlHours,
+                      @Value("${app.token-revocation-max:100000}") int maxRevoked,
+                      JdbcTemplate jdbcTemplate) {
+    byte[] secretBytes = secret.getBytes(StandardCharsets.UTF_8);
+    if (secret.isBlank() || DEMO_SECRET.equals(secret) || secretBytes.length < MIN_SECRET_BYTES) {
+      throw new IllegalStateException("app.token-secret (TOKEN_SECRET) must be set to a random value of at least "
+        + MIN_SECRET_BYTES + " bytes");
+    }
+    this.key = new SecretKeySpec(secretBytes, ALGORITHM);
+    this.ttlSeconds = ttlHours * 3600;
+    this.maxRevoked = maxRevoked;
+    this.jdbcTemplate = jdbcTemplate;
+  }
+
+  public String createToken(User user) {
+    long now = System.currentTimeMillis() / 1000;
+    ObjectNode payload = mapper.createObjectNode();
+    payload.put("sub", user.getUserId());
+    payload.putArray("roles").addAll(roleNames(user).stream().map(payload::textNode).toList());
+    if (user.getGrade() != null) {
+      payload.put("grade", user.getGrade().getGradeId());
+    }
+    payload.put("iat", now);
+    payload.put("exp", now + ttlSeconds);
+    payload.put("jti", UUID.randomUUID().toString());
+    String body = HEADER + "." + base64(payload.toString().getBytes(StandardCharsets.UTF_8));
+    return body + "." + base64(sign(body));
+  }
+
+  /** 서명/만료/폐기 여부를 확인한 클레임. */
+  public Optional<TokenClaims> verify(String token) {
+    if (token == null) {
+      return Optional.empty();
+    }
+    int first = token.indexOf('.');
+    int last = token.lastIndexOf('.');
+    if (first < 0 || first == last) {
+      return Optional.empty();
+    }
+    try {
+      byte[] expected = sign(token.substring(0, last));
+      byte[] actual = Base64.getUrlDecoder().decode(token.substring(last + 1));
+      if (!MessageDigest.isEqual(expected, actual)) {
+        return Optional.empty();
+      }
+      JsonNode payload = mapper.readTree(Base64.getUrlDecoder().decode(token.substring(first + 1, last)));
+      long exp = payload.path("exp").asLong(0);
+      String jti = payload.path("jti").asText(null);
+      if (exp <= System.currentTimeMillis() / 1000 || (jti != null && revoked.containsKey(jti))) {
+        return Optional.empty();
+      }
+      List<String> roles = new ArrayList<>();
+      payload.path("roles").forEach(r -> roles.add(r.asText()));
+      Short gradeId = payload.hasNonNull("grade") ? (short) payload.get("grade").asInt() : null;
+      return Optional.of(new TokenClaims(payload.path("sub").asText(null), roles, gradeId, exp, jti));
+    } catch (IllegalArgumentException | IOException e) {
+      return Optional.empty();
+    }
   }
 
   public Optional<String> resolveUserId(String token) {
-    return Optional.ofNullable(tokenToUserId.get(token));
+    return verify(token).map(TokenClaims::userId);
+  }
+
+  /** 로그아웃. 유효한 토큰이면 만료 시각까지 폐기 테이블에 둔다. 목록이 가득 차 있으면 503. */
+  public void revoke(String token) {
+    verify(token).ifPresent(claims -> {
+      if (claims.tokenId() == null) {
+        return;
+      }
+      if (revoked.size() >= maxRevoked) {
+        log.warn("Token revocation list at capacity ({}), refusing logout of jti={}", maxRevoked, claims.tokenId());
+        throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, "잠시 후 다시 로그아웃해 주세요.");
+      }
+      jdbcTemplate.update("INSERT IGNORE INTO revoked_tokens (jti, expires_at) VALUES (?, ?)",
+        claims.tokenId(), claims.expiresAt());
+      revoked.put(claims.tokenId(), claims.expiresAt());
+    });
   }
 
   public Optional<String> extractBearerToken(HttpServletRequest request) {
@@ -29,4 +152,47 @@ public class TokenService {
     }
     return Optional.empty();
   }
+
+  /** 다른 노드가 넣은 폐기를 따라 읽는다. 처음 한 번은 만료되지 않은 전체를 읽는다. */
+  @Scheduled(fixedDelayString = "${app.token-revocation-sync-ms:2000}")
+  public void syncRevoked() {
+    LocalDateTime[] latest = {syncedUpTo};
+    jdbcTemplate.query(SYNC_SQL, rs -> {
+      revoked.put(rs.getString("jti"), rs.getLong("expires_at"));
+      LocalDateTime at = rs.getObject("revoked_at", LocalDateTime.class);
+      if (at.isAfter(latest[0])) {
+        latest[0] = at;
+      }
+    }, -SYNC_OVERLAP_SECONDS, syncedUpTo, System.currentTimeMillis() / 1000);
+    syncedUpTo = latest[0];
+  }
+
+  /** 만료된 항목을 메모리와 테이블에서 지운다. 만료되지 않은 폐기는 상한과 상관없이 남긴다. */
+  @Scheduled(fixedDelayString = "${app.token-revocation-purge-ms:60000}")
+  public void purgeRevoked() {
+    long now = System.currentTimeMillis() / 1000;
+    revoked.values().removeIf(exp -> exp <= now);
+    jdbcTemplate.update("DELETE FROM revoked_tokens WHERE expires_at <= ?", now);
+  }
+
+  private static List<String> roleNames(User user) {
+    if (user.getUserRoles() == null) {
+      return List.of();
+    }
+    return user.getUserRoles().stream().map(ur -> ur.getRole().getRoleName()).toList();
+  }
+
+  private byte[] sign(String data) {
+    try {
+      Mac mac = Mac.getInstance(ALGORITHM);
+      mac.init(key);
+      return mac.doFinal(data.getBytes(StandardCharsets.UTF_8));
+    } catch (GeneralSecurityException e) {
+      throw new IllegalStateException(e);
+    }
+  }
+
+  private static String base64(byte[] bytes) {
+    return Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+  }
 }
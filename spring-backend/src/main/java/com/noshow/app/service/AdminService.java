@@ -2,9 +2,9 @@ package com.noshow.app.service;
 
 import com.noshow.app.common.Pagination;
 import com.noshow.app.common.PageResult;
-import com.noshow.app.domain.entity.User;
 import com.noshow.app.domain.repository.AdminViewRepository;
 import com.noshow.app.domain.repository.UserRepository;
+import com.noshow.app.domain.repository.UserRoleRepository;
 import com.noshow.app.dto.AdminStatsDto;
 import com.noshow.app.dto.GradeCountDto;
 import com.noshow.app.dto.MonthlyReservationStatDto;
@@ -12,11 +12,11 @@ import com.noshow.app.dto.UserDto;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
-import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
 
 @Service
@@ -24,6 +24,7 @@ import java.util.stream.Collectors;
 public class AdminService {
   private final AdminViewRepository adminViewRepository;
   private final UserRepository userRepository;
+  private final UserRoleRepository userRoleRepository;
 
   @Transactional(readOnly = true)
   public AdminStatsDto overview() {
@@ -64,16 +65,21 @@ public class AdminService {
 
   @Transactional(readOnly = true)
   public PageResult<UserDto> listUsers(String role, String gradeName, int page, int size) {
-    PageRequest pageable = PageRequest.of(Math.max(page - 1, 0), size, Sort.by(Sort.Direction.DESC, "createdAt"));
-    Page<User> p;
+    // 정렬은 쿼리에 고정 (createdAt DESC)
+    PageRequest pageable = PageRequest.of(Math.max(page - 1, 0), size);
+    Page<UserRepository.UserSummary> p;
     if (role != null && !role.isBlank()) {
-      p = userRepository.findByRoleName(role.toLowerCase(), pageable);
+      p = userRepository.findSummariesByRoleName(role.toLowerCase(), pageable);
     } else if (gradeName != null && !gradeName.isBlank()) {
-      p = userRepository.findByGrade_GradeNameIgnoreCase(gradeName, pageable);
+      p = userRepository.findSummariesByGradeName(gradeName, pageable);
     } else {
-      p = userRepository.findAll(pageable);
+      p = userRepository.findSummaries(pageable);
     }
-    List<UserDto> dtos = p.getContent().stream().map(UserDto::fromEntity).collect(Collectors.toList());
+    Map<String, List<String>> roles = userRoleRepository.roleNamesByUser(
+      p.getContent().stream().map(UserRepository.UserSummary::getUserId).toList());
+    List<UserDto> dtos = p.getContent().stream()
+      .map(u -> UserDto.fromSummary(u, roles.get(u.getUserId())))
+      .collect(Collectors.toList());
     return new PageResult<>(dtos, new Pagination(p.getNumber() + 1, p.getSize(), p.getTotalElements(), p.getTotalPages()));
   }
 }
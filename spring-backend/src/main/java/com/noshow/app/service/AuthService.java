@@ -13,6 +13,9 @@ import com.noshow.app.dto.AuthResponse;
 import com.noshow.app.dto.LoginRequest;
 import com.noshow.app.dto.SignupRequest;
 import com.noshow.app.dto.UserDto;
+import com.noshow.app.security.AuthPrincipal;
+import com.noshow.app.security.PrincipalCache;
+import com.noshow.app.security.RateLimiter;
 import com.noshow.app.security.TokenService;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpSession;
@@ -25,6 +28,7 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 import org.springframework.web.server.ResponseStatusException;
 import org.springframework.web.util.UriComponentsBuilder;
 import org.springframework.web.client.RestTemplate;
@@ -39,12 +43,19 @@ import java.util.UUID;
 @Service
 @RequiredArgsConstructor
 public class AuthService {
+  static final String LOGIN_ACCOUNT_RULE = "login-account";
+  static final String LOGIN_FAILURE_RULE = "login-account-failures";
+
   private final UserRepository userRepository;
   private final UserGradeRepository userGradeRepository;
   private final UserRoleRepository userRoleRepository;
   private final RoleRepository roleRepository;
   private final PasswordEncoder passwordEncoder;
   private final TokenService tokenService;
+  private final PrincipalCache principalCache;
+  private final IdentifierResolver identifierResolver;
+  private final TransactionTemplate transactionTemplate;
+  private final RateLimiter rateLimiter;
   private final RestTemplate restTemplate = new RestTemplate();
   private final ObjectMapper objectMapper;
 
@@ -60,81 +71,111 @@ public class AuthService {
   @Value("${app.frontend-url:http://localhost:3000}")
   private String frontendUrl;
 
-  @Transactional
+  /** 해싱은 트랜잭션 밖에서 먼저 한다 (login 과 같은 이유). */
   public AuthResponse signup(SignupRequest request) {
-    if (request.getEmail() != null && !request.getEmail().isBlank()) {
-      userRepository.findByEmail(request.getEmail()).ifPresent(u -> {
-        throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Email already registered");
-      });
-    }
-    userRepository.findByUsername(request.getUsername()).ifPresent(u -> {
-      throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Username already registered");
-    });
-    userRepository.findByPhone(request.getPhone()).ifPresent(u -> {
-      throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Phone already registered");
-    });
+    String email = IdentifierResolver.normalizeEmail(request.getEmail());
+    String phone = IdentifierResolver.normalizePhone(request.getPhone());
+    String username = request.getUsername().trim();
+    identifierResolver.requireUnique(email, username, phone);
+    String passwordHash = passwordEncoder.encode(request.getPassword());
+
+    return transactionTemplate.execute(status -> {
+      String userId = ("u" + UUID.randomUUID().toString().replace("-", "")).substring(0, 16);
+      UserGrade defaultGrade = userGradeRepository.findFirstByIsDefaultTrueOrderByPriorityAsc()
+        .orElseThrow(() -> new ResponseStatusException(HttpStatus.INTERNAL_SERVER_ERROR, "Default grade missing"));
+
+      User user = User.builder()
+        .userId(userId)
+        .username(username)
+        .phone(phone)
+        .email(email)
+        .passwordHash(passwordHash)
+        .realName(request.getName())
+        .loginType(User.LoginType.LOCAL)
+        .grade(defaultGrade)
+        .noShowCount(0)
+        .successCount(0)
+        .tosVersion("v1")
+        .tosAcceptedAt(LocalDateTime.now())
+        .privacyVersion("v1")
+        .privacyAcceptedAt(LocalDateTime.now())
+        .isActive(true)
+        .build();
 
-    String username = request.getUsername();
-    String userId = ("u" + UUID.randomUUID().toString().replace("-", "")).substring(0, 16);
-    UserGrade defaultGrade = userGradeRepository.findFirstByIsDefaultTrueOrderByPriorityAsc()
-      .orElseThrow(() -> new ResponseStatusException(HttpStatus.INTERNAL_SERVER_ERROR, "Default grade missing"));
-
-    User user = User.builder()
-      .userId(userId)
-      .username(username)
-      .phone(request.getPhone())
-      .email(request.getEmail())
-      .passwordHash(passwordEncoder.encode(request.getPassword()))
-      .realName(request.getName())
-      .loginType(User.LoginType.LOCAL)
-      .grade(defaultGrade)
-      .noShowCount(0)
-      .successCount(0)
-      .tosVersion("v1")
-      .tosAcceptedAt(LocalDateTime.now())
-      .privacyVersion("v1")
-      .privacyAcceptedAt(LocalDateTime.now())
-      .isActive(true)
-      .build();
+      userRepository.save(user);
+      // 한 계정 = 한 역할 원칙: 요청 userType에 따라 단일 역할 부여
+      if ("owner".equalsIgnoreCase(request.getUserType()) || "business".equalsIgnoreCase(request.getUserType())) {
+        assignRoleExclusive(user, "owner");
+      } else {
+        assignRoleExclusive(user, "customer");
+      }
 
-    userRepository.save(user);
-    // 한 계정 = 한 역할 원칙: 요청 userType에 따라 단일 역할 부여
-    if ("owner".equalsIgnoreCase(request.getUserType()) || "business".equalsIgnoreCase(request.getUserType())) {
-      assignRoleExclusive(user, "owner");
-    } else {
-      assignRoleExclusive(user, "customer");
-    }
+      // load roles into entity for response
+      user.getUserRoles().clear();
+      user.getUserRoles().addAll(userRoleRepository.findByUser_UserId(userId));
 
-    // load roles into entity for response
-    user.getUserRoles().clear();
-    user.getUserRoles().addAll(userRoleRepository.findByUser_UserId(userId));
+      String token = tokenService.createToken(user);
+      return new AuthResponse(token, UserDto.fromEntity(user));
+    });
+  }
+
+  /**
+   * BCrypt 는 전용 스레드 풀에서 돌고 대기까지 할 수 있으므로 그동안 DB 커넥션을 잡지 않는다:
+   * 짧은 읽기 트랜잭션으로 사용자를 읽고, 트랜잭션 밖에서 비밀번호를 확인한 뒤, 재해싱이 필요하면 짧은 쓰기 트랜잭션으로 저장한다.
+   */
+  /**
+   * 계정 제한은 두 단계다 (둘 다 DB 조회 전에 확인).
+   * (계정, IP) 버킷은 시도마다 쓰고, 계정 버킷은 실패했을 때만 쓴다. 그래서 남이 계정 이름만 알고 두드려도
+   * 자기 IP 의 버킷만 비고, 여러 IP 로 실패를 쌓아야 계정 버킷(더 큰 상한)이 찬다.
+   */
+  public AuthResponse login(LoginRequest request, HttpServletRequest servletRequest) {
+    String account = IdentifierResolver.accountKey(request.getIdentifier());
+    rateLimiter.enforce(LOGIN_ACCOUNT_RULE, account + "|" + rateLimiter.clientIp(servletRequest));
+    rateLimiter.check(LOGIN_FAILURE_RULE, account);
+    TransactionTemplate readOnly = new TransactionTemplate(transactionTemplate.getTransactionManager());
+    readOnly.setReadOnly(true);
+    User user;
+    String currentHash;
+    try {
+      user = readOnly.execute(status -> loadLoginUser(request.getIdentifier()));
+      currentHash = user.getPasswordHash();
+      if (!passwordEncoder.matches(request.getPassword(), currentHash)) {
+        throw new ResponseStatusException(HttpStatus.UNAUTHORIZED, "Invalid credentials");
+      }
+    } catch (ResponseStatusException e) {
+      if (e.getStatusCode() == HttpStatus.UNAUTHORIZED) {
+        rateLimiter.charge(LOGIN_FAILURE_RULE, account);
+      }
+      throw e;
+    }
+    // 현재 cost 보다 낮은 해시는 로그인 성공 시 다시 해싱한다 (그 사이 비밀번호가 바뀌었으면 건너뛴다)
+    if (passwordEncoder.upgradeEncoding(currentHash)) {
+      String rehashed = passwordEncoder.encode(request.getPassword());
+      transactionTemplate.executeWithoutResult(status ->
+        userRepository.updatePasswordHash(user.getUserId(), currentHash, rehashed));
+    }
 
-    String token = tokenService.createToken(userId);
+    String token = tokenService.createToken(user);
     return new AuthResponse(token, UserDto.fromEntity(user));
   }
 
-  @Transactional(readOnly = true)
-  public AuthResponse login(LoginRequest request) {
-    String id = request.getIdentifier();
-    User user = userRepository.findByEmail(id)
-      .or(() -> userRepository.findByUsername(id))
-      .or(() -> userRepository.findByPhone(id))
+  /** 트랜잭션 밖에서 토큰/응답을 만들 수 있도록 등급과 역할까지 읽어 둔다. */
+  private User loadLoginUser(String identifier) {
+    User user = identifierResolver.resolve(identifier)
       .orElseThrow(() -> new ResponseStatusException(HttpStatus.UNAUTHORIZED, "Invalid credentials"));
 
     if (user.getLoginType() == User.LoginType.NAVER) {
       throw new ResponseStatusException(HttpStatus.UNAUTHORIZED, "Use Naver login for this account");
     }
 
-    if (!passwordEncoder.matches(request.getPassword(), user.getPasswordHash())) {
-      throw new ResponseStatusException(HttpStatus.UNAUTHORIZED, "Invalid credentials");
-    }
-
     // ensure roles are loaded for response
     user.getUserRoles().clear();
     user.getUserRoles().addAll(userRoleRepository.findByUser_UserId(user.getUserId()));
-
-    String token = tokenService.createToken(user.getUserId());
-    return new AuthResponse(token, UserDto.fromEntity(user));
+    user.getUserRoles().forEach(ur -> ur.getRole().getRoleName());
+    if (user.getGrade() != null) {
+      user.getGrade().getGradeName();
+    }
+    return user;
   }
 
   /**
@@ -201,10 +242,10 @@ public class AuthService {
       }
 
       String naverId = resp.path("id").asText();
-      String email = resp.path("email").asText(null);
+      String email = IdentifierResolver.normalizeEmail(resp.path("email").asText(null));
       String name = resp.path("name").asText(null);
       String nickname = resp.path("nickname").asText(null);
-      String mobile = resp.path("mobile").asText(null);
+      String mobile = IdentifierResolver.normalizePhone(resp.path("mobile").asText(null));
       String profileImage = resp.path("profile_image").asText(null);
 
       User user = userRepository.findByNaverId(naverId).orElse(null);
@@ -251,12 +292,13 @@ public class AuthService {
         if (name != null) user.setRealName(name);
         if (mobile != null) user.setPhone(mobile);
         userRepository.save(user);
+        principalCache.invalidate(user.getUserId());
       }
 
       // ensure roles are loaded for response
       user.getUserRoles().addAll(userRoleRepository.findByUser_UserId(user.getUserId()));
 
-      String token = tokenService.createToken(user.getUserId());
+      String token = tokenService.createToken(user);
       UserDto dto = UserDto.fromEntity(user);
       String userJson = objectMapper.writeValueAsString(dto);
       String redirect = UriComponentsBuilder.fromHttpUrl(frontendUrl + "/auth/callback")
@@ -273,24 +315,24 @@ public class AuthService {
     }
   }
 
-  @Transactional(readOnly = true)
-  public User requireUser(HttpServletRequest request) {
+  /** 현재 토큰을 폐기한다. 토큰이 없거나 이미 무효면 아무것도 하지 않는다. */
+  public void logout(HttpServletRequest request) {
+    tokenService.extractBearerToken(request).ifPresent(tokenService::revoke);
+  }
+
+  /** 토큰의 사용자 스냅샷. 요청마다 DB 를 읽지 않도록 PrincipalCache 를 거친다. */
+  public AuthPrincipal requireUser(HttpServletRequest request) {
     String token = tokenService.extractBearerToken(request)
       .orElseThrow(() -> new ResponseStatusException(HttpStatus.UNAUTHORIZED, "Login required"));
     String userId = tokenService.resolveUserId(token)
       .orElseThrow(() -> new ResponseStatusException(HttpStatus.UNAUTHORIZED, "Invalid token"));
 
-    User user = userRepository.findById(userId)
+    AuthPrincipal principal = principalCache.get(userId)
       .orElseThrow(() -> new ResponseStatusException(HttpStatus.UNAUTHORIZED, "User not found"));
-
-    // initialize lazy relations needed outside the transaction
-    if (user.getGrade() != null) {
-      user.getGrade().getGradeName();
-    }
-    if (user.getUserRoles() != null) {
-      user.getUserRoles().forEach(ur -> ur.getRole().getRoleName());
+    if (!principal.isActive()) {
+      throw new ResponseStatusException(HttpStatus.UNAUTHORIZED, "Inactive account");
     }
-    return user;
+    return principal;
   }
 
   private String generateUsername(String email) {
@@ -298,13 +340,7 @@ public class AuthService {
     if (prefix.length() < 4) {
       prefix = prefix + UUID.randomUUID().toString().substring(0, 4 - prefix.length());
     }
-    String candidate = prefix;
-    int i = 1;
-    while (userRepository.findByUsername(candidate).isPresent()) {
-      candidate = prefix + i;
-      i++;
-    }
-    return candidate;
+    return identifierResolver.suggestUsername(prefix);
   }
 
   /**
@@ -324,5 +360,6 @@ public class AuthService {
       .role(role)
       .build();
     userRoleRepository.save(userRole);
+    principalCache.invalidate(user.getUserId());
   }
 }
@@ -0,0 +1,260 @@
+package com.noshow.app.service;
+
+import com.noshow.app.domain.entity.AvailabilityBlock;
+import com.noshow.app.domain.entity.BusinessHour;
+import com.noshow.app.domain.entity.Reservation;
+import com.noshow.app.domain.entity.VenueService;
+import com.noshow.app.domain.repository.AvailabilityBlockRepository;
+import com.noshow.app.domain.repository.BusinessHourRepository;
+import com.noshow.app.domain.repository.ReservationRepository;
+import com.noshow.app.domain.repository.VenueRepository;
+import com.noshow.app.domain.repository.VenueServiceRepository;
+import com.noshow.app.dto.ServiceAvailabilityDto;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static com.noshow.app.service.SlotAvailabilityIndex.SLOTS_PER_DAY;
+import static com.noshow.app.service.SlotAvailabilityIndex.SLOT_MINUTES;
+
+/**
+ * 업장의 서비스별 예약 가능한 30분 시작 시각 목록.
+ * 비어 있는 날짜 구간을 영업시간/예약 불가/활성 예약(ix_resv_venue_time 범위 조회 한 번)으로 한 번에 계산하고
+ * (서비스별 slot_capacity 만큼 겹쳐 받을 수 있으므로 슬롯별 점유 수로 판단)
+ * (업장, 날짜) 단위로 캐시한다. 예약/영업 일정 변경 이벤트가 오면 해당 날짜만 무효화한다.
+ * 캐시는 오늘부터 검색 가능 기간(FreeTableSearchService.MAX_DAYS_AHEAD) 안의 날짜만, 최대 cache-max-entries 개까지 담는다.
+ * 그 밖의 날짜는 계산해서 돌려주기만 한다.
+ * 체크아웃 홀드는 캐시에 넣지 않고, 응답을 만들 때 홀드가 있는 서비스/날짜만 점유 수에 더해 다시 계산한다.
+ */
+@Service
+@RequiredArgsConstructor
+public class AvailabilityService {
+  public static final int MAX_RANGE_DAYS = 31;
+  private static final long ENTRY_TTL_MILLIS = 5 * 60_000;
+  private static final List<Reservation.Status> ACTIVE_STATUSES =
+    List.of(Reservation.Status.DEPOSIT_PENDING, Reservation.Status.BOOKED);
+
+  private final VenueRepository venueRepository;
+  private final VenueServiceRepository venueServiceRepository;
+  private final BusinessHourRepository businessHourRepository;
+  private final AvailabilityBlockRepository availabilityBlockRepository;
+  private final ReservationRepository reservationRepository;
+  private final OverbookingService overbooking;
+  private final SlotHoldService slotHolds;
+
+  @Value("${app.availability.cache-max-entries:50000}")
+  private int maxEntries;
+
+  private final Map<VenueDay, DayEntry> cache = new ConcurrentHashMap<>();
+  // 로드 중에 무효화가 일어나면 결과를 캐시에 넣지 않기 위한 업장별 버전
+  private final Map<Long, Long> versions = new ConcurrentHashMap<>();
+
+  private record VenueDay(Long venueId, LocalDate date) {}
+  private record ServiceSlots(Long serviceId, String serviceName, Integer durationMinutes,
+                              Integer minPartySize, Integer maxPartySize, long freeStarts,
+                              short[] counts, int capacity) {}
+  private record DayEntry(List<ServiceSlots> services, long[] windows, long blocked, long loadedAt) {}
+
+  @Transactional(readOnly = true)
+  public List<ServiceAvailabilityDto> availability(Long venueId, LocalDate from, LocalDate to) {
+    if (to.isBefore(from)) {
+      throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "종료일은 시작일 이후여야 합니다.");
+    }
+    if (ChronoUnit.DAYS.between(from, to) >= MAX_RANGE_DAYS) {
+      throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "조회 기간은 최대 " + MAX_RANGE_DAYS + "일입니다.");
+    }
+
+    long now = System.currentTimeMillis();
+    Map<LocalDate, DayEntry> days = new LinkedHashMap<>();
+    LocalDate firstMissing = null;
+    LocalDate lastMissing = null;
+    for (LocalDate d = from; !d.isAfter(to); d = d.plusDays(1)) {
+      DayEntry entry = cache.get(new VenueDay(venueId, d));
+      if (entry == null || now - entry.loadedAt() > ENTRY_TTL_MILLIS) {
+        if (firstMissing == null) firstMissing = d;
+        lastMissing = d;
+      }
+      days.put(d, entry);
+    }
+    if (firstMissing != null) {
+      Long version = versions.get(venueId);
+      Map<LocalDate, DayEntry> loaded = load(venueId, firstMissing, lastMissing, now);
+      if (Objects.equals(version, versions.get(venueId))) {
+        LocalDate today = LocalDate.now();
+        LocalDate horizon = today.plusDays(FreeTableSearchService.MAX_DAYS_AHEAD);
+        loaded.forEach((d, e) -> {
+          if (!d.isBefore(today) && !d.isAfter(horizon) && cache.size() < maxEntries) {
+            cache.put(new VenueDay(venueId, d), e);
+          }
+        });
+      }
+      days.putAll(loaded);
+    }
+    return toDtos(days);
+  }
+
+  @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+  public void onReservationChanged(ReservationChangedEvent event) {
+    if (event.venueId() == null || event.scheduledStart() == null) {
+      return;
+    }
+    if (!event.occupiesSlot() && !event.releasesSlot()) {
+      return;
+    }
+    versions.merge(event.venueId(), 1L, Long::sum);
+    for (LocalDate d = event.scheduledStart().toLocalDate(); d.atStartOfDay().isBefore(event.scheduledEnd()); d = d.plusDays(1)) {
+      cache.remove(new VenueDay(event.venueId(), d));
+    }
+  }
+
+  @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+  public void onVenueScheduleChanged(VenueScheduleChangedEvent event) {
+    versions.merge(event.venueId(), 1L, Long::sum);
+    if (event.kind() == VenueScheduleChangedEvent.Kind.BLOCK && event.date() != null) {
+      cache.remove(new VenueDay(event.venueId(), event.date()));
+    } else {
+      cache.keySet().removeIf(k -> k.venueId().equals(event.venueId()));
+    }
+  }
+
+  /** 지난 날짜와 TTL 이 지난 항목을 지워서 상한 안에 새 항목이 들어갈 자리를 만든다. */
+  @Scheduled(fixedDelayString = "${app.slot-index-cleanup-ms:3600000}")
+  public void evictPastDays() {
+    LocalDate today = LocalDate.now();
+    long now = System.currentTimeMillis();
+    cache.entrySet().removeIf(e -> e.getKey().date().isBefore(today) || now - e.getValue().loadedAt() > ENTRY_TTL_MILLIS);
+  }
+
+  private Map<LocalDate, DayEntry> load(Long venueId, LocalDate from, LocalDate to, long now) {
+    if (!venueRepository.existsById(venueId)) {
+      throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Venue not found");
+    }
+    List<VenueService> services = venueServiceRepository.findByVenue_VenueId(venueId).stream()
+      .filter(s -> !Boolean.FALSE.equals(s.getIsActive()))
+      .toList();
+
+    long[][] weekly = new long[7][];
+    List<List<Long>> byDay = new ArrayList<>();
+    for (int i = 0; i < 7; i++) byDay.add(new ArrayList<>());
+    for (BusinessHour h : businessHourRepository.findByVenue_VenueId(venueId)) {
+      long window = SlotAvailabilityIndex.openWindowMask(h.getOpenTime(), h.getCloseTime());
+      if (h.getDayOfWeek() != null && h.getDayOfWeek() >= 0 && h.getDayOfWeek() < 7 && window != 0) {
+        byDay.get(h.getDayOfWeek()).add(window);
+      }
+    }
+    for (int i = 0; i < 7; i++) {
+      weekly[i] = byDay.get(i).stream().mapToLong(Long::longValue).toArray();
+    }
+
+    Map<LocalDate, Long> blocked = new HashMap<>();
+    for (AvailabilityBlock b : availabilityBlockRepository.findByVenue_VenueIdAndBlockDateBetween(venueId, from, to)) {
+      blocked.merge(b.getBlockDate(), SlotAvailabilityIndex.timeRangeMask(b.getStartTime(), b.getEndTime()), (x, y) -> x | y);
+    }
+
+    // 전날 시작해 자정을 넘긴 예약까지 포함하도록 하루 앞에서부터 조회
+    LocalDateTime rangeStart = from.minusDays(1).atStartOfDay();
+    LocalDateTime rangeEnd = to.plusDays(1).atStartOfDay();
+    Map<Long, Map<LocalDate, short[]>> occupied = new HashMap<>();
+    for (Reservation r : reservationRepository.findByVenue_VenueIdAndStatusInAndScheduledStartGreaterThanEqualAndScheduledStartLessThan(
+      venueId, ACTIVE_STATUSES, rangeStart, rangeEnd)) {
+      if (r.getService() == null) continue;
+      Map<LocalDate, short[]> perDay = occupied.computeIfAbsent(r.getService().getServiceId(), k -> new HashMap<>());
+      for (LocalDate d = r.getScheduledStart().toLocalDate(); d.atStartOfDay().isBefore(r.getScheduledEnd()); d = d.plusDays(1)) {
+        short[] counts = perDay.computeIfAbsent(d, k -> new short[SLOTS_PER_DAY]);
+        SlotAvailabilityIndex.addCounts(counts, 0, SlotAvailabilityIndex.dayBits(d, r.getScheduledStart(), r.getScheduledEnd()));
+      }
+    }
+
+    Map<LocalDate, DayEntry> result = new LinkedHashMap<>();
+    for (LocalDate d = from; !d.isAfter(to); d = d.plusDays(1)) {
+      long[] windows = weekly[SlotAvailabilityIndex.dayOfWeek(d)];
+      long blockedMask = blocked.getOrDefault(d, 0L);
+      List<ServiceSlots> slots = new ArrayList<>(services.size());
+      for (VenueService s : services) {
+        short[] counts = occupied.getOrDefault(s.getServiceId(), Map.of()).get(d);
+        int capacity = SlotLedgerService.slotCapacity(s);
+        long occupiedMask = counts == null ? 0L : SlotAvailabilityIndex.fullMask(counts, 0, capacity,
+          overbooking.weekly(s.getServiceId()), OverbookingService.weekOffset(d));
+        slots.add(new ServiceSlots(s.getServiceId(), s.getServiceName(), s.getDurationMinutes(),
+          s.getMinPartySize(), s.getMaxPartySize(),
+          freeStarts(windows, blockedMask | occupiedMask, s.getDurationMinutes()), counts, capacity));
+      }
+      result.put(d, new DayEntry(slots, windows, blockedMask, now));
+    }
+    return result;
+  }
+
+  /** 영업시간 창 하나 안에 온전히 들어가고 막힌 슬롯과 겹치지 않는 시작 슬롯 마스크. */
+  static long freeStarts(long[] windows, long unavailable, Integer durationMinutes) {
+    int length = durationMinutes == null ? 1 : Math.max(1, (durationMinutes + SLOT_MINUTES - 1) / SLOT_MINUTES);
+    long starts = 0L;
+    for (int s = 0; s + length <= SLOTS_PER_DAY; s++) {
+      long required = SlotAvailabilityIndex.rangeMask(s, s + length);
+      if ((unavailable & required) != 0) continue;
+      for (long window : windows) {
+        if ((window & required) == required) {
+          starts |= 1L << s;
+          break;
+        }
+      }
+    }
+    return starts;
+  }
+
+  private long freeStartsWithHolds(LocalDate date, DayEntry entry, ServiceSlots s) {
+    short[] held = slotHolds.heldCounts(s.serviceId(), date);
+    if (held == null) {
+      return s.freeStarts();
+    }
+    long full = SlotAvailabilityIndex.fullMask(SlotAvailabilityIndex.plus(s.counts(), 0, held), 0, s.capacity(),
+      overbooking.weekly(s.serviceId()), OverbookingService.weekOffset(date));
+    return freeStarts(entry.windows(), entry.blocked() | full, s.durationMinutes());
+  }
+
+  private List<ServiceAvailabilityDto> toDtos(Map<LocalDate, DayEntry> days) {
+    LocalDateTime now = LocalDateTime.now();
+    Map<Long, ServiceAvailabilityDto> byService = new LinkedHashMap<>();
+    days.forEach((date, entry) -> {
+      for (ServiceSlots s : entry.services()) {
+        ServiceAvailabilityDto dto = byService.computeIfAbsent(s.serviceId(), id -> ServiceAvailabilityDto.builder()
+          .serviceId(id)
+          .serviceName(s.serviceName())
+          .durationMinutes(s.durationMinutes())
+          .minPartySize(s.minPartySize())
+          .maxPartySize(s.maxPartySize())
+          .days(new ArrayList<>())
+          .build());
+        List<LocalTime> times = new ArrayList<>();
+        long starts = freeStartsWithHolds(date, entry, s);
+        while (starts != 0) {
+          int slot = Long.numberOfTrailingZeros(starts);
+          starts &= starts - 1;
+          LocalTime t = LocalTime.MIN.plusMinutes((long) slot * SLOT_MINUTES);
+          if (date.atTime(t).isAfter(now)) {
+            times.add(t);
+          }
+        }
+        dto.getDays().add(new ServiceAvailabilityDto.DaySlots(date, times));
+      }
+    });
+    return new ArrayList<>(byService.values());
+  }
+}
@@ -0,0 +1,165 @@
+package com.noshow.app.service;
+
+import com.noshow.app.domain.entity.Reservation;
+import com.noshow.app.domain.repository.ReservationRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.DelayQueue;
+import java.util.concurrent.Delayed;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 보증금 결제 대기(DEPOSIT_PENDING) 예약의 만료 타이머.
+ * 예약 생성 커밋 시 만료 시각으로 DelayQueue 에 넣고, 1초 간격 tick 에서 기한이 지난 것만 꺼내
+ * ReservationService.expireDepositPending 으로 배치 단위 일괄 만료시킨다.
+ * 결제/취소된 예약은 pending 맵에서 빠지므로 꺼낼 때 건너뛴다.
+ * 만료 판정은 DB 의 booked_at 기준이라 DB 시계가 조금 앞서면 타이머가 먼저 울린다. 이때 아직 만료되지 않은 건은
+ * rearm-ms 뒤로 몇 번 다시 건다.
+ * 기동 시 DB 의 대기 예약으로 큐를 다시 채우고, 다른 노드에서 생성된 예약 등은 sweepStale 안전 스윕이 처리한다.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class DepositExpiryScheduler {
+  private static final int BATCH_SIZE = 500;
+  private static final int MAX_REARMS = 3;
+
+  private final ReservationService reservationService;
+  private final ReservationRepository reservationRepository;
+
+  @Value("${app.deposit-expiry-rearm-ms:5000}")
+  private long rearmMillis;
+
+  private final DelayQueue<Expiry> queue = new DelayQueue<>();
+  // reservationId -> 현재 유효한 타이머. 결제/취소 시 제거
+  private final Map<Long, Expiry> pending = new ConcurrentHashMap<>();
+
+  private record Expiry(Long reservationId, long deadlineNanos, int rearms) implements Delayed {
+    @Override
+    public long getDelay(TimeUnit unit) {
+      return unit.convert(deadlineNanos - System.nanoTime(), TimeUnit.NANOSECONDS);
+    }
+
+    @Override
+    public int compareTo(Delayed other) {
+      return Long.compare(deadlineNanos, ((Expiry) other).deadlineNanos);
+    }
+  }
+
+  @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+  public void onReservationChanged(ReservationChangedEvent event) {
+    if (event.reservationId() == null) {
+      return;
+    }
+    if (event.status() == Reservation.Status.DEPOSIT_PENDING) {
+      // booked_at 은 커밋 전 DB 시각이므로 지금부터 재면 DB 기준 만료 시각보다 늦게 울린다
+      long delayNanos = event.depositDueAt() != null
+        ? Math.max(0, Duration.between(LocalDateTime.now(), event.depositDueAt()).toNanos())
+        : ReservationService.DEPOSIT_TIMEOUT.toNanos();
+      schedule(event.reservationId(), delayNanos, 0);
+    } else {
+      pending.remove(event.reservationId());
+    }
+  }
+
+  @EventListener(ApplicationReadyEvent.class)
+  public void catchUp() {
+    LocalDateTime now = LocalDateTime.now();
+    List<ReservationRepository.PendingDeposit> rows = reservationRepository.findPendingDeposits(Reservation.Status.DEPOSIT_PENDING);
+    for (ReservationRepository.PendingDeposit r : rows) {
+      LocalDateTime deadline = r.getDepositDueAt() != null
+        ? r.getDepositDueAt()
+        : (r.getBookedAt() != null ? r.getBookedAt() : now).plus(ReservationService.DEPOSIT_TIMEOUT);
+      long delayNanos = Math.max(0, Duration.between(now, deadline).toNanos());
+      schedule(r.getReservationId(), delayNanos, 0);
+    }
+    log.info("Deposit expiry catch-up: scheduled={}", rows.size());
+  }
+
+  @Scheduled(fixedDelayString = "${app.deposit-expiry-tick-ms:1000}")
+  public void tick() {
+    List<Expiry> due = new ArrayList<>();
+    Expiry e;
+    while ((e = queue.poll()) != null) {
+      if (!pending.remove(e.reservationId(), e)) {
+        continue; // 이미 결제/취소되었거나 다시 예약된 타이머
+      }
+      due.add(e);
+      if (due.size() >= BATCH_SIZE) {
+        expire(due);
+        due = new ArrayList<>();
+      }
+    }
+    if (!due.isEmpty()) {
+      expire(due);
+    }
+  }
+
+  /** 타이머가 놓친 건(다른 노드에서 생성, 재기동 직전 생성 등)을 위한 안전 스윕. 배치마다 별도 트랜잭션으로 만료시킨다. */
+  @Scheduled(fixedDelayString = "${app.deposit-expire-scan-ms:60000}")
+  public void sweepStale() {
+    LocalDateTime now = LocalDateTime.now();
+    List<Long> stale = reservationRepository.findDepositOverdueIds(
+      Reservation.Status.DEPOSIT_PENDING, now.minus(ReservationService.DEPOSIT_TIMEOUT), now);
+    if (stale.isEmpty()) {
+      log.debug("Expire scan at {}: no stale deposit-pending reservations", now);
+      return;
+    }
+    int expiredCount = 0;
+    for (int i = 0; i < stale.size(); i += BATCH_SIZE) {
+      List<Long> batch = stale.subList(i, Math.min(i + BATCH_SIZE, stale.size()));
+      try {
+        expiredCount += reservationService.expireDepositPending(batch, now).size();
+      } catch (RuntimeException ex) {
+        log.warn("Expire scan batch failed: size={}", batch.size(), ex);
+      }
+    }
+    log.info("Expire scan at {}: stale={}, expired={}", now, stale.size(), expiredCount);
+  }
+
+  private void schedule(Long reservationId, long delayNanos, int rearms) {
+    Expiry expiry = new Expiry(reservationId, System.nanoTime() + delayNanos, rearms);
+    pending.put(reservationId, expiry);
+    queue.add(expiry);
+  }
+
+  private void expire(List<Expiry> due) {
+    List<Long> ids = due.stream().map(Expiry::reservationId).toList();
+    Set<Long> expired;
+    try {
+      expired = new HashSet<>(reservationService.expireDepositPending(ids, LocalDateTime.now()));
+      log.info("Deposit expiry: due={}, expired={}", ids.size(), expired.size());
+    } catch (RuntimeException ex) {
+      // 안전 스윕이 다시 처리하므로 여기서는 기록만 한다
+      log.warn("Deposit expiry batch failed: due={}", ids.size(), ex);
+      return;
+    }
+    // 아직 기한 전으로 판정된 건 (앱 시계가 DB 시계보다 늦음). 결제된 건이면 커밋 이벤트가 pending 에서 지운다
+    long rearmNanos = TimeUnit.MILLISECONDS.toNanos(rearmMillis);
+    for (Expiry e : due) {
+      if (!expired.contains(e.reservationId()) && e.rearms() < MAX_REARMS) {
+        pending.computeIfAbsent(e.reservationId(), id -> {
+          Expiry next = new Expiry(id, System.nanoTime() + rearmNanos, e.rearms() + 1);
+          queue.add(next);
+          return next;
+        });
+      }
+    }
+  }
+}
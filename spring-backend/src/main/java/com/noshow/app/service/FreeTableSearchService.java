@@ -0,0 +1,324 @@
+package com.noshow.app.service;
+
+import com.noshow.app.domain.entity.AvailabilityBlock;
+import com.noshow.app.domain.entity.BusinessHour;
+import com.noshow.app.domain.entity.Reservation;
+import com.noshow.app.domain.entity.Venue;
+import com.noshow.app.domain.entity.VenueService;
+import com.noshow.app.domain.repository.AvailabilityBlockRepository;
+import com.noshow.app.domain.repository.BusinessHourRepository;
+import com.noshow.app.domain.repository.ReservationRepository;
+import com.noshow.app.domain.repository.VenueServiceRepository;
+import com.noshow.app.dto.FreeTableDto;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+import static com.noshow.app.service.SlotAvailabilityIndex.SLOTS_PER_DAY;
+import static com.noshow.app.service.SlotAvailabilityIndex.SLOT_MINUTES;
+
+/**
+ * "N명, 토요일 19:00, 아무 업장" 검색.
+ * 날짜별로 활성 서비스 전체의 시작 가능 슬롯 마스크를 열 단위 배열로 미리 계산해 두고
+ * 검색은 배열을 한 번 훑는 것으로 끝낸다. 스냅샷은 벌크 조회 4번으로 만들고
+ * 이후 예약 이벤트로 슬롯 점유 수를 증감시켜 갱신한다.
+ * 날짜별 세대 번호로 빌드 중에 들어온 변경을 감지해서, 그런 빌드는 그 요청에만 쓰고 캐시에 넣지 않는다.
+ * "가득 참"은 예약 경로와 같이 초과 예약 허용치까지 더한 기준이고, 허용치가 바뀌면 스냅샷을 다시 만든다.
+ * 체크아웃 홀드는 스냅샷에 넣지 않고 홀드가 있는 서비스만 검색 때 더해서 다시 계산한다.
+ */
+@Service
+@RequiredArgsConstructor
+public class FreeTableSearchService {
+  public static final int MAX_DAYS_AHEAD = 60;
+  private static final long SNAPSHOT_TTL_MILLIS = 60_000;
+  private static final int DEFAULT_LIMIT = 50;
+  private static final List<Reservation.Status> ACTIVE_STATUSES =
+    List.of(Reservation.Status.DEPOSIT_PENDING, Reservation.Status.BOOKED);
+
+  private final VenueServiceRepository venueServiceRepository;
+  private final BusinessHourRepository businessHourRepository;
+  private final AvailabilityBlockRepository availabilityBlockRepository;
+  private final ReservationRepository reservationRepository;
+  private final OverbookingService overbooking;
+  private final SlotHoldService slotHolds;
+
+  private final Map<LocalDate, DaySnapshot> snapshots = new ConcurrentHashMap<>();
+  // 날짜별 변경 세대. 빌드 전후로 달라졌으면 그 빌드는 변경을 놓쳤을 수 있다
+  private final Map<LocalDate, AtomicLong> generations = new ConcurrentHashMap<>();
+  // 전체 무효화(영업시간 변경 등) 세대
+  private final AtomicLong epoch = new AtomicLong();
+
+  private record VenueInfo(Long venueId, String venueName, String address) {}
+
+  /** 하루치 검색 인덱스. i 번째 원소가 한 서비스에 해당하는 열 단위 배열. */
+  private static final class DaySnapshot {
+    final long builtAt;
+    final long allowanceVersion;
+    final int weekOffset;
+    final int size;
+    final long[] serviceIds;
+    final long[] venueIds;
+    final String[] serviceNames;
+    final BigDecimal[] prices;
+    final int[] durations;
+    final int[] minParty;
+    final int[] maxParty;
+    final int[] slotCapacity;
+    final byte[][] allowances;
+    final long[][] windows;
+    final long[] blocked;
+    final short[] booked;
+    final AtomicLongArray freeStarts;
+    final Map<Long, Integer> positions;
+    final Map<Long, VenueInfo> venues;
+
+    DaySnapshot(long builtAt, long allowanceVersion, LocalDate date, int size, Map<Long, VenueInfo> venues) {
+      this.builtAt = builtAt;
+      this.allowanceVersion = allowanceVersion;
+      this.weekOffset = OverbookingService.weekOffset(date);
+      this.size = size;
+      this.serviceIds = new long[size];
+      this.venueIds = new long[size];
+      this.serviceNames = new String[size];
+      this.prices = new BigDecimal[size];
+      this.durations = new int[size];
+      this.minParty = new int[size];
+      this.maxParty = new int[size];
+      this.slotCapacity = new int[size];
+      this.allowances = new byte[size][];
+      this.windows = new long[size][];
+      this.blocked = new long[size];
+      this.booked = new short[size * SLOTS_PER_DAY];
+      this.freeStarts = new AtomicLongArray(size);
+      this.positions = new HashMap<>(size * 2);
+      this.venues = venues;
+    }
+
+    void recompute(int i) {
+      long full = SlotAvailabilityIndex.fullMask(booked, i * SLOTS_PER_DAY, slotCapacity[i], allowances[i], weekOffset);
+      freeStarts.set(i, AvailabilityService.freeStarts(windows[i], blocked[i] | full, durations[i]));
+    }
+
+    /** 점유 수에 held 를 더해 본 시작 가능 슬롯 (스냅샷은 바꾸지 않는다). */
+    synchronized long freeStartsWith(int i, short[] held) {
+      short[] counts = SlotAvailabilityIndex.plus(booked, i * SLOTS_PER_DAY, held);
+      long full = SlotAvailabilityIndex.fullMask(counts, 0, slotCapacity[i], allowances[i], weekOffset);
+      return AvailabilityService.freeStarts(windows[i], blocked[i] | full, durations[i]);
+    }
+
+    synchronized void adjust(Long serviceId, long bits, int delta) {
+      Integer i = positions.get(serviceId);
+      if (i == null) return;
+      int base = i * SLOTS_PER_DAY;
+      while (bits != 0) {
+        int slot = Long.numberOfTrailingZeros(bits);
+        bits &= bits - 1;
+        booked[base + slot] = (short) Math.max(0, booked[base + slot] + delta);
+      }
+      recompute(i);
+    }
+  }
+
+  @Transactional(readOnly = true)
+  public List<FreeTableDto> search(LocalDate date, LocalTime time, int partySize, Integer limit) {
+    if (time.getMinute() % SLOT_MINUTES != 0 || time.getSecond() != 0) {
+      throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "예약 시간은 30분 단위로만 가능합니다.");
+    }
+    LocalDate today = LocalDate.now();
+    if (date.isBefore(today) || date.isAfter(today.plusDays(MAX_DAYS_AHEAD))) {
+      throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "검색 가능한 날짜는 오늘부터 " + MAX_DAYS_AHEAD + "일 이내입니다.");
+    }
+    if (!date.atTime(time).isAfter(LocalDateTime.now())) {
+      return List.of();
+    }
+    int max = limit != null && limit > 0 ? Math.min(limit, 200) : DEFAULT_LIMIT;
+    long slotBit = 1L << SlotAvailabilityIndex.slotOf(time);
+
+    DaySnapshot snap = snapshotFor(date);
+    Map<Long, FreeTableDto> byVenue = new LinkedHashMap<>();
+    for (int i = 0; i < snap.size; i++) {
+      if (partySize < snap.minParty[i] || partySize > snap.maxParty[i]) continue;
+      if ((snap.freeStarts.get(i) & slotBit) == 0) continue;
+      short[] held = slotHolds.heldCounts(snap.serviceIds[i], date);
+      if (held != null && (snap.freeStartsWith(i, held) & slotBit) == 0) continue;
+      long venueId = snap.venueIds[i];
+      FreeTableDto dto = byVenue.get(venueId);
+      if (dto == null) {
+        if (byVenue.size() >= max) continue;
+        VenueInfo v = snap.venues.get(venueId);
+        dto = FreeTableDto.builder()
+          .venueId(venueId)
+          .venueName(v.venueName())
+          .address(v.address())
+          .services(new ArrayList<>())
+          .build();
+        byVenue.put(venueId, dto);
+      }
+      dto.getServices().add(new FreeTableDto.FreeService(
+        snap.serviceIds[i], snap.serviceNames[i], snap.prices[i], snap.durations[i]));
+    }
+    return new ArrayList<>(byVenue.values());
+  }
+
+  @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+  public void onReservationChanged(ReservationChangedEvent event) {
+    if (event.serviceId() == null || event.scheduledStart() == null) {
+      return;
+    }
+    int delta = event.occupiesSlot() ? 1 : event.releasesSlot() ? -1 : 0;
+    if (delta == 0) {
+      return;
+    }
+    for (LocalDate d = event.scheduledStart().toLocalDate(); d.atStartOfDay().isBefore(event.scheduledEnd()); d = d.plusDays(1)) {
+      bump(d);
+      DaySnapshot snap = snapshots.get(d);
+      if (snap != null) {
+        snap.adjust(event.serviceId(), SlotAvailabilityIndex.dayBits(d, event.scheduledStart(), event.scheduledEnd()), delta);
+      }
+    }
+  }
+
+  @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+  public void onVenueScheduleChanged(VenueScheduleChangedEvent event) {
+    if (event.kind() == VenueScheduleChangedEvent.Kind.BLOCK && event.date() != null) {
+      bump(event.date());
+      snapshots.remove(event.date());
+    } else {
+      epoch.incrementAndGet();
+      snapshots.clear();
+    }
+  }
+
+  @Scheduled(fixedDelayString = "${app.slot-index-cleanup-ms:3600000}")
+  public void evictPastDays() {
+    LocalDate today = LocalDate.now();
+    snapshots.keySet().removeIf(d -> d.isBefore(today));
+    generations.keySet().removeIf(d -> d.isBefore(today));
+  }
+
+  private DaySnapshot snapshotFor(LocalDate date) {
+    long now = System.currentTimeMillis();
+    DaySnapshot cached = snapshots.get(date);
+    if (fresh(cached, now)) {
+      return cached;
+    }
+    DaySnapshot[] result = new DaySnapshot[1];
+    snapshots.compute(date, (d, v) -> {
+      if (fresh(v, now)) {
+        return result[0] = v;
+      }
+      long startEpoch = epoch.get();
+      long startGeneration = generation(d);
+      long startAllowances = overbooking.version();
+      result[0] = build(d, now, startAllowances);
+      // 빌드 중에 커밋된 변경은 조회에 빠졌을 수 있으므로 캐시하지 않는다 (다음 요청이 다시 만든다)
+      return epoch.get() == startEpoch && generation(d) == startGeneration && overbooking.version() == startAllowances
+        ? result[0] : null;
+    });
+    return result[0];
+  }
+
+  private boolean fresh(DaySnapshot snap, long now) {
+    return snap != null && now - snap.builtAt <= SNAPSHOT_TTL_MILLIS && snap.allowanceVersion == overbooking.version();
+  }
+
+  private long generation(LocalDate date) {
+    AtomicLong g = generations.get(date);
+    return g != null ? g.get() : 0;
+  }
+
+  private void bump(LocalDate date) {
+    LocalDate today = LocalDate.now();
+    // 스냅샷을 만들 수 없는 날짜는 세지 않는다 (맵이 검색 범위 밖으로 자라지 않도록)
+    if (!date.isBefore(today) && !date.isAfter(today.plusDays(MAX_DAYS_AHEAD))) {
+      generations.computeIfAbsent(date, d -> new AtomicLong()).incrementAndGet();
+    }
+  }
+
+  private DaySnapshot build(LocalDate date, long now, long allowanceVersion) {
+    List<VenueService> services = venueServiceRepository.findAllActiveWithVenue();
+
+    Map<Long, List<Long>> windowsByVenue = new HashMap<>();
+    for (BusinessHour h : businessHourRepository.findByDayOfWeek(SlotAvailabilityIndex.dayOfWeek(date))) {
+      long window = SlotAvailabilityIndex.openWindowMask(h.getOpenTime(), h.getCloseTime());
+      if (window != 0) {
+        windowsByVenue.computeIfAbsent(h.getVenue().getVenueId(), k -> new ArrayList<>()).add(window);
+      }
+    }
+    Map<Long, Long> blockedByVenue = new HashMap<>();
+    for (AvailabilityBlock b : availabilityBlockRepository.findByBlockDate(date)) {
+      blockedByVenue.merge(b.getVenue().getVenueId(), SlotAvailabilityIndex.timeRangeMask(b.getStartTime(), b.getEndTime()), (x, y) -> x | y);
+    }
+
+    Map<Long, VenueInfo> venues = new HashMap<>();
+    Map<Long, long[]> venueWindowArrays = new HashMap<>();
+    List<VenueService> open = new ArrayList<>(services.size());
+    for (VenueService s : services) {
+      Venue v = s.getVenue();
+      if (!windowsByVenue.containsKey(v.getVenueId())) continue; // 그날 영업하지 않는 업장
+      open.add(s);
+      venues.computeIfAbsent(v.getVenueId(), id -> new VenueInfo(id, v.getVenueName(), address(v)));
+      venueWindowArrays.computeIfAbsent(v.getVenueId(),
+        id -> windowsByVenue.get(id).stream().mapToLong(Long::longValue).toArray());
+    }
+
+    DaySnapshot snap = new DaySnapshot(now, allowanceVersion, date, open.size(), venues);
+    for (int i = 0; i < open.size(); i++) {
+      VenueService s = open.get(i);
+      Long venueId = s.getVenue().getVenueId();
+      snap.serviceIds[i] = s.getServiceId();
+      snap.venueIds[i] = venueId;
+      snap.serviceNames[i] = s.getServiceName();
+      snap.prices[i] = s.getPrice();
+      snap.durations[i] = s.getDurationMinutes() != null ? s.getDurationMinutes() : SLOT_MINUTES;
+      snap.minParty[i] = s.getMinPartySize() != null ? s.getMinPartySize() : 1;
+      snap.maxParty[i] = s.getMaxPartySize() != null ? s.getMaxPartySize() : snap.minParty[i];
+      snap.slotCapacity[i] = SlotLedgerService.slotCapacity(s);
+      snap.allowances[i] = overbooking.weekly(s.getServiceId());
+      snap.windows[i] = venueWindowArrays.get(venueId);
+      snap.blocked[i] = blockedByVenue.getOrDefault(venueId, 0L);
+      snap.positions.put(s.getServiceId(), i);
+    }
+
+    // 전날 시작해 자정을 넘긴 예약까지 포함하도록 하루 앞에서부터 조회 (ix_resv_start)
+    LocalDateTime dayStart = date.atStartOfDay();
+    for (ReservationRepository.SlotUsage r : reservationRepository.findSlotUsageStartingBetween(
+      ACTIVE_STATUSES, dayStart.minusDays(1), dayStart.plusDays(1))) {
+      if (r.getServiceId() == null) continue;
+      Integer i = snap.positions.get(r.getServiceId());
+      if (i == null) continue;
+      SlotAvailabilityIndex.addCounts(snap.booked, i * SLOTS_PER_DAY,
+        SlotAvailabilityIndex.dayBits(date, r.getScheduledStart(), r.getScheduledEnd()));
+    }
+    for (int i = 0; i < snap.size; i++) {
+      snap.recompute(i);
+    }
+    return snap;
+  }
+
+  private static String address(Venue venue) {
+    String address = venue.getAddressLine1() != null ? venue.getAddressLine1() : "";
+    if (venue.getAddressLine2() != null && !venue.getAddressLine2().isBlank()) {
+      address = address.isBlank() ? venue.getAddressLine2() : address + " " + venue.getAddressLine2();
+    }
+    return address.isBlank() ? null : address;
+  }
+}
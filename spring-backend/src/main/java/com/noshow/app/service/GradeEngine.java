@@ -0,0 +1,130 @@
+package com.noshow.app.service;
+
+import com.noshow.app.domain.entity.Reservation;
+import com.noshow.app.domain.entity.UserGrade;
+import com.noshow.app.domain.entity.UserGradeAssignment;
+import com.noshow.app.domain.repository.SystemSettingRepository;
+import com.noshow.app.domain.repository.UserGradeAssignmentRepository;
+import com.noshow.app.domain.repository.UserGradeRepository;
+import com.noshow.app.domain.repository.UserRepository;
+import com.noshow.app.security.PrincipalCache;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDateTime;
+import java.util.Comparator;
+import java.util.List;
+import java.util.function.Predicate;
+
+/**
+ * 회원 등급 자동 산정 (sp_recalc_user_grade 의 Java 버전).
+ * 예약이 COMPLETED/NO_SHOW 로 들어오거나 나갈 때 같은 트랜잭션에서 users 카운터에 증감분만 반영하고,
+ * 메모리에 들고 있는 user_grades / GRADE_AUTO_MIN_ELIGIBLE 스냅샷으로 등급을 다시 판정한다.
+ * 등급이 실제로 바뀐 경우에만 users.grade_id 와 user_grade_assignments 를 쓴다.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class GradeEngine {
+  static final String MIN_ELIGIBLE_KEY = "GRADE_AUTO_MIN_ELIGIBLE";
+  private static final int DEFAULT_MIN_ELIGIBLE = 4;
+  private static final long POLICY_TTL_MILLIS = 5 * 60_000;
+
+  private final UserRepository userRepository;
+  private final UserGradeRepository userGradeRepository;
+  private final UserGradeAssignmentRepository assignmentRepository;
+  private final SystemSettingRepository systemSettingRepository;
+  private final PrincipalCache principalCache;
+
+  private volatile Policy policy;
+
+  /** 등급 규칙 스냅샷. grades 는 priority 오름차순. */
+  public record Policy(List<UserGrade> grades, int minEligible, long loadedAt) {
+    public UserGrade evaluate(int success, int noShow) {
+      int eligible = success + noShow;
+      if (eligible < minEligible) {
+        return first(g -> Boolean.TRUE.equals(g.getIsDefault()));
+      }
+      if (noShow == 0) {
+        return first(g -> Boolean.TRUE.equals(g.getRequireNoShowZero()));
+      }
+      double rate = (double) noShow / eligible;
+      UserGrade byRate = first(g -> g.getMaxNoShowRate() != null && rate <= g.getMaxNoShowRate());
+      if (byRate != null) {
+        return byRate;
+      }
+      return first(g -> g.getMaxNoShowRate() == null && !Boolean.TRUE.equals(g.getRequireNoShowZero()));
+    }
+
+    private UserGrade first(Predicate<UserGrade> rule) {
+      for (UserGrade g : grades) {
+        if (rule.test(g)) return g;
+      }
+      return null;
+    }
+  }
+
+  /** 예약 트랜잭션의 커밋 직전에 같은 트랜잭션 안에서 반영한다 (트랜잭션 밖에서 발행된 이벤트는 무시된다). */
+  @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT)
+  public void onReservationChanged(ReservationChangedEvent event) {
+    if (event.customerUserId() == null) {
+      return;
+    }
+    int successDelta = is(event.status(), Reservation.Status.COMPLETED) - is(event.previousStatus(), Reservation.Status.COMPLETED);
+    int noShowDelta = is(event.status(), Reservation.Status.NO_SHOW) - is(event.previousStatus(), Reservation.Status.NO_SHOW);
+    if (successDelta == 0 && noShowDelta == 0) {
+      return;
+    }
+    if (userRepository.applyOutcomeDelta(event.customerUserId(), successDelta, noShowDelta) == 0) {
+      return;
+    }
+    userRepository.findGradeStats(event.customerUserId()).ifPresent(stats -> {
+      UserGrade next = policy().evaluate(stats.getSuccessCount(), stats.getNoShowCount());
+      if (next == null || next.getGradeId().equals(stats.getGradeId())) {
+        return;
+      }
+      userRepository.updateGrade(event.customerUserId(), next);
+      principalCache.invalidate(event.customerUserId());
+      assignmentRepository.save(UserGradeAssignment.builder()
+        .userId(event.customerUserId())
+        .assignedAt(LocalDateTime.now())
+        .gradeId(next.getGradeId())
+        .build());
+      log.info("Grade changed: user={}, grade {} -> {}", event.customerUserId(), stats.getGradeId(), next.getGradeId());
+    });
+  }
+
+  /** 등급/정책을 바꾼 뒤 바로 반영해야 할 때 호출. 새 스냅샷을 돌려준다. */
+  public Policy refreshPolicy() {
+    List<UserGrade> grades = userGradeRepository.findAll().stream()
+      .sorted(Comparator.comparing(UserGrade::getPriority, Comparator.nullsLast(Comparator.naturalOrder())))
+      .toList();
+    int minEligible = systemSettingRepository.findById(MIN_ELIGIBLE_KEY)
+      .map(s -> {
+        try {
+          return Integer.parseInt(s.getPolicyValue().trim());
+        } catch (NumberFormatException e) {
+          return DEFAULT_MIN_ELIGIBLE;
+        }
+      })
+      .orElse(DEFAULT_MIN_ELIGIBLE);
+    Policy fresh = new Policy(grades, minEligible, System.currentTimeMillis());
+    policy = fresh;
+    return fresh;
+  }
+
+  private Policy policy() {
+    Policy current = policy;
+    if (current != null && System.currentTimeMillis() - current.loadedAt() <= POLICY_TTL_MILLIS) {
+      return current;
+    }
+    return refreshPolicy();
+  }
+
+  private static int is(Reservation.Status status, Reservation.Status expected) {
+    return status == expected ? 1 : 0;
+  }
+}
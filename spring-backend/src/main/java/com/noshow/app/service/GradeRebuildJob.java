@@ -0,0 +1,241 @@
+package com.noshow.app.service;
+
+import com.noshow.app.domain.entity.UserGrade;
+import com.noshow.app.dto.GradeRebuildStatusDto;
+import com.noshow.app.security.PrincipalCache;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 등급 정책 변경 후 전체 회원 등급 재집계 (sp_recalc_all_user_grades 대체).
+ * reservations 를 회원별로 한 번에 GROUP BY 한 결과를 스트리밍으로 읽고,
+ * CHUNK_SIZE 단위로 ForkJoinPool 에서 병렬 판정한 뒤 바뀐 회원만 JDBC 배치로 쓴다.
+ * 카운터 UPDATE 는 읽은 값과 같을 때만 적용해서 재집계 도중 GradeEngine 이 반영한 증감을 덮어쓰지 않는다.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class GradeRebuildJob {
+  private static final int CHUNK_SIZE = 5_000;
+
+  private static final String AGGREGATE_SQL = """
+    SELECT u.user_id, u.grade_id, u.success_count, u.no_show_count,
+           COALESCE(a.completed, 0) AS completed, COALESCE(a.no_show, 0) AS no_show
+      FROM users u
+      LEFT JOIN (SELECT customer_user_id,
+                        SUM(status = 'COMPLETED') AS completed,
+                        SUM(status = 'NO_SHOW')   AS no_show
+                   FROM reservations
+                  WHERE status IN ('COMPLETED','NO_SHOW')
+                  GROUP BY customer_user_id) a ON a.customer_user_id = u.user_id
+     WHERE u.is_active = TRUE
+    """;
+
+  private static final String UPDATE_USER_SQL = """
+    UPDATE users SET success_count = ?, no_show_count = ?, grade_id = ?
+     WHERE user_id = ? AND success_count = ? AND no_show_count = ?
+    """;
+
+  private static final String INSERT_ASSIGNMENT_SQL = """
+    INSERT INTO user_grade_assignments (user_id, grade_id, assigned_at, assigned_by)
+    VALUES (?, ?, ?, ?)
+    """;
+
+  private final JdbcTemplate jdbcTemplate;
+  private final GradeEngine gradeEngine;
+  private final PrincipalCache principalCache;
+
+  private final ExecutorService runner = Executors.newSingleThreadExecutor(r -> {
+    Thread t = new Thread(r, "grade-rebuild");
+    t.setDaemon(true);
+    return t;
+  });
+  private final ForkJoinPool evaluators = new ForkJoinPool(Runtime.getRuntime().availableProcessors());
+  private final AtomicBoolean running = new AtomicBoolean(false);
+
+  private record Row(String userId, Short gradeId, int successCount, int noShowCount, int completed, int noShow) {}
+  private record Change(Row row, Short nextGradeId) {
+    boolean gradeChanged() {
+      return nextGradeId != null && !nextGradeId.equals(row.gradeId());
+    }
+  }
+
+  // 진행 상황 (조회 전용)
+  private volatile String state = "IDLE";
+  private volatile long totalUsers;
+  private final AtomicLong processed = new AtomicLong();
+  private final AtomicLong updated = new AtomicLong();
+  private final AtomicLong gradeChanges = new AtomicLong();
+  private final AtomicLong skipped = new AtomicLong();
+  private volatile LocalDateTime startedAt;
+  private volatile LocalDateTime finishedAt;
+  private volatile String startedBy;
+  private volatile String error;
+
+  public GradeRebuildStatusDto start(String adminUserId) {
+    if (!running.compareAndSet(false, true)) {
+      throw new ResponseStatusException(HttpStatus.CONFLICT, "등급 재집계가 이미 진행 중입니다.");
+    }
+    processed.set(0);
+    updated.set(0);
+    gradeChanges.set(0);
+    skipped.set(0);
+    totalUsers = 0;
+    startedAt = LocalDateTime.now();
+    finishedAt = null;
+    startedBy = adminUserId;
+    error = null;
+    state = "RUNNING";
+    runner.execute(() -> {
+      try {
+        run(adminUserId);
+        state = "DONE";
+      } catch (Exception e) {
+        log.error("Grade rebuild failed", e);
+        error = e.getMessage();
+        state = "FAILED";
+      } finally {
+        finishedAt = LocalDateTime.now();
+        running.set(false);
+      }
+    });
+    return status();
+  }
+
+  public GradeRebuildStatusDto status() {
+    long done = processed.get();
+    LocalDateTime from = startedAt;
+    LocalDateTime to = finishedAt != null ? finishedAt : LocalDateTime.now();
+    Double rate = null;
+    Long eta = null;
+    if (from != null) {
+      double seconds = Math.max(Duration.between(from, to).toMillis(), 1) / 1000.0;
+      rate = done / seconds;
+      if ("RUNNING".equals(state) && rate > 0 && totalUsers > done) {
+        eta = (long) Math.ceil((totalUsers - done) / rate);
+      }
+    }
+    return GradeRebuildStatusDto.builder()
+      .state(state)
+      .totalUsers(totalUsers)
+      .processedUsers(done)
+      .updatedUsers(updated.get())
+      .gradeChanges(gradeChanges.get())
+      .skippedUsers(skipped.get())
+      .usersPerSecond(rate)
+      .etaSeconds(eta)
+      .startedAt(from)
+      .finishedAt(finishedAt)
+      .startedBy(startedBy)
+      .error(error)
+      .build();
+  }
+
+  @PreDestroy
+  void shutdown() {
+    runner.shutdownNow();
+    evaluators.shutdownNow();
+  }
+
+  private void run(String adminUserId) {
+    GradeEngine.Policy policy = gradeEngine.refreshPolicy();
+    Long total = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM users WHERE is_active = TRUE", Long.class);
+    totalUsers = total != null ? total : 0;
+    LocalDateTime assignedAt = LocalDateTime.now().withNano(0);
+
+    List<Row> chunk = new ArrayList<>(CHUNK_SIZE);
+    // MySQL 드라이버는 fetchSize = Integer.MIN_VALUE 일 때 행 단위 스트리밍
+    JdbcTemplate streaming = new JdbcTemplate(jdbcTemplate.getDataSource());
+    streaming.setFetchSize(Integer.MIN_VALUE);
+    streaming.query(AGGREGATE_SQL, rs -> {
+      chunk.add(new Row(
+        rs.getString("user_id"),
+        rs.getObject("grade_id") != null ? rs.getShort("grade_id") : null,
+        rs.getInt("success_count"),
+        rs.getInt("no_show_count"),
+        rs.getInt("completed"),
+        rs.getInt("no_show")));
+      if (chunk.size() >= CHUNK_SIZE) {
+        flush(chunk, policy, adminUserId, assignedAt);
+        chunk.clear();
+      }
+    });
+    if (!chunk.isEmpty()) {
+      flush(chunk, policy, adminUserId, assignedAt);
+    }
+    log.info("Grade rebuild done: processed={}, updated={}, gradeChanges={}, skipped={}",
+      processed.get(), updated.get(), gradeChanges.get(), skipped.get());
+  }
+
+  private void flush(List<Row> rows, GradeEngine.Policy policy, String adminUserId, LocalDateTime assignedAt) {
+    List<Change> changes;
+    try {
+      changes = evaluators.submit(() -> rows.parallelStream()
+        .map(r -> {
+          UserGrade next = policy.evaluate(r.completed(), r.noShow());
+          return new Change(r, next != null ? next.getGradeId() : null);
+        })
+        .filter(c -> c.gradeChanged() || c.row().completed() != c.row().successCount() || c.row().noShow() != c.row().noShowCount())
+        .toList()).get();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new IllegalStateException("Grade rebuild interrupted", e);
+    } catch (ExecutionException e) {
+      throw new IllegalStateException("Grade evaluation failed", e.getCause());
+    }
+
+    if (!changes.isEmpty()) {
+      int[][] results = jdbcTemplate.batchUpdate(UPDATE_USER_SQL, changes, changes.size(), (ps, c) -> {
+        Row r = c.row();
+        ps.setInt(1, r.completed());
+        ps.setInt(2, r.noShow());
+        ps.setObject(3, c.gradeChanged() ? c.nextGradeId() : r.gradeId());
+        ps.setString(4, r.userId());
+        ps.setInt(5, r.successCount());
+        ps.setInt(6, r.noShowCount());
+      });
+      List<Change> applied = new ArrayList<>();
+      int i = 0;
+      for (int[] batch : results) {
+        for (int count : batch) {
+          Change c = changes.get(i++);
+          if (count == 0) {
+            skipped.incrementAndGet();
+          } else {
+            updated.incrementAndGet();
+            if (c.gradeChanged()) applied.add(c);
+          }
+        }
+      }
+      if (!applied.isEmpty()) {
+        Timestamp at = Timestamp.valueOf(assignedAt);
+        jdbcTemplate.batchUpdate(INSERT_ASSIGNMENT_SQL, applied, applied.size(), (ps, c) -> {
+          ps.setString(1, c.row().userId());
+          ps.setShort(2, c.nextGradeId());
+          ps.setTimestamp(3, at);
+          ps.setString(4, adminUserId);
+        });
+        gradeChanges.addAndGet(applied.size());
+        applied.forEach(c -> principalCache.invalidate(c.row().userId()));
+      }
+    }
+    processed.addAndGet(rows.size());
+  }
+}
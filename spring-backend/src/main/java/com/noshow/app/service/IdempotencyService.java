@@ -0,0 +1,212 @@
+package com.noshow.app.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.noshow.app.domain.entity.IdempotencyKey;
+import com.noshow.app.domain.repository.IdempotencyKeyRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.LocalDateTime;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+/**
+ * Idempotency-Key 처리 (예약 생성, 보증금 결제).
+ * 같은 사용자가 같은 키로 다시 보내면 저장된 응답을 그대로 돌려주고 검증/가격 계산/INSERT 를 다시 하지 않는다.
+ * - 완료된 응답은 크기 제한 + TTL 이 있는 메모리 캐시와 idempotency_keys 테이블에 둔다.
+ * - 같은 노드에서 처리 중인 중복 요청은 첫 요청의 결과를 기다린다.
+ * - 다른 노드와의 경합은 키 행 INSERT IGNORE 가 먼저 잡은 트랜잭션이 끝날 때까지 기다리게 해서 막는다.
+ *   키 행은 본 작업과 같은 트랜잭션에서 커밋되므로, 실패한 요청은 키도 남지 않고 다시 시도할 수 있다.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class IdempotencyService {
+  public static final String HEADER = "Idempotency-Key";
+  private static final int MAX_KEY_LENGTH = 100;
+
+  private final IdempotencyKeyRepository idempotencyKeyRepository;
+  private final TransactionTemplate transactionTemplate;
+  private final ObjectMapper objectMapper;
+
+  @Value("${app.idempotency.ttl-hours:24}")
+  private long ttlHours;
+
+  @Value("${app.idempotency.cache-size:10000}")
+  private int cacheSize;
+
+  @Value("${app.idempotency.wait-ms:30000}")
+  private long waitMillis;
+
+  private record Stored(String requestHash, String body, long expiresAt) {}
+
+  private final Map<String, CompletableFuture<Stored>> inFlight = new ConcurrentHashMap<>();
+  private final Map<String, Stored> completed = new LinkedHashMap<>(256, 0.75f, true) {
+    @Override
+    protected boolean removeEldestEntry(Map.Entry<String, Stored> eldest) {
+      return size() > cacheSize;
+    }
+  };
+
+  /**
+   * key 가 없으면 action 을 그대로 실행한다. request 는 같은 키로 다른 요청을 보냈는지 확인하는 데만 쓴다.
+   */
+  public <T> T execute(String scope, String userId, String key, Object request, Class<T> type, Supplier<T> action) {
+    if (key == null || key.isBlank()) {
+      return action.get();
+    }
+    if (key.length() > MAX_KEY_LENGTH) {
+      throw new ResponseStatusException(HttpStatus.BAD_REQUEST, HEADER + " 는 " + MAX_KEY_LENGTH + "자 이하여야 합니다.");
+    }
+    String keyId = scope + ":" + userId + ":" + key;
+    String requestHash = hash(request);
+
+    while (true) {
+      Stored cached = cached(keyId);
+      if (cached != null) {
+        return replay(cached, requestHash, type);
+      }
+      CompletableFuture<Stored> mine = new CompletableFuture<>();
+      CompletableFuture<Stored> running = inFlight.putIfAbsent(keyId, mine);
+      if (running != null) {
+        Stored first = await(running);
+        if (first != null) {
+          return replay(first, requestHash, type);
+        }
+        continue; // 첫 요청이 실패했으면 이 요청이 다시 처리한다
+      }
+      try {
+        Outcome<T> outcome = transactionTemplate.execute(status -> run(keyId, userId, requestHash, type, action));
+        remember(keyId, outcome.stored());
+        mine.complete(outcome.stored());
+        return outcome.value() != null ? outcome.value() : replay(outcome.stored(), requestHash, type);
+      } catch (RuntimeException e) {
+        mine.complete(null);
+        throw e;
+      } finally {
+        inFlight.remove(keyId, mine);
+      }
+    }
+  }
+
+  @Scheduled(fixedDelayString = "${app.idempotency-purge-ms:3600000}")
+  @Transactional
+  public void purgeExpired() {
+    int deleted = idempotencyKeyRepository.deleteExpired(LocalDateTime.now());
+    synchronized (completed) {
+      long now = System.currentTimeMillis();
+      completed.values().removeIf(s -> s.expiresAt() < now);
+    }
+    if (deleted > 0) {
+      log.info("Purged {} expired idempotency keys", deleted);
+    }
+  }
+
+  /** value 는 이번에 실제로 실행한 결과, 다른 요청이 먼저 끝낸 경우 null. */
+  private record Outcome<T>(T value, Stored stored) {}
+
+  private <T> Outcome<T> run(String keyId, String userId, String requestHash, Class<T> type, Supplier<T> action) {
+    LocalDateTime now = LocalDateTime.now();
+    LocalDateTime expiresAt = now.plusHours(ttlHours);
+    if (idempotencyKeyRepository.claim(keyId, userId, requestHash, expiresAt) == 0) {
+      IdempotencyKey existing = idempotencyKeyRepository.findByIdForUpdate(keyId)
+        .orElseThrow(() -> new ResponseStatusException(HttpStatus.CONFLICT, "같은 요청을 처리 중입니다. 잠시 후 다시 시도해 주세요."));
+      if (existing.getExpiresAt().isAfter(now) && existing.getResponseBody() != null) {
+        return new Outcome<>(null, toStored(existing));
+      }
+      // 만료됐지만 아직 지워지지 않은 키는 새 요청으로 덮어쓴다
+      existing.setRequestHash(requestHash);
+      existing.setResponseBody(null);
+      existing.setExpiresAt(expiresAt);
+      idempotencyKeyRepository.saveAndFlush(existing);
+    }
+    T result = action.get();
+    String body = toJson(result);
+    idempotencyKeyRepository.storeResponse(keyId, body);
+    return new Outcome<>(result, new Stored(requestHash, body, epochMillis(expiresAt)));
+  }
+
+  private Stored cached(String keyId) {
+    synchronized (completed) {
+      Stored s = completed.get(keyId);
+      if (s != null && s.expiresAt() < System.currentTimeMillis()) {
+        completed.remove(keyId);
+        return null;
+      }
+      return s;
+    }
+  }
+
+  private void remember(String keyId, Stored stored) {
+    synchronized (completed) {
+      completed.put(keyId, stored);
+    }
+  }
+
+  private Stored await(CompletableFuture<Stored> running) {
+    try {
+      return running.get(waitMillis, TimeUnit.MILLISECONDS);
+    } catch (TimeoutException e) {
+      throw new ResponseStatusException(HttpStatus.CONFLICT, "같은 요청을 처리 중입니다. 잠시 후 다시 시도해 주세요.");
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, "요청이 중단되었습니다.");
+    } catch (ExecutionException e) {
+      return null;
+    }
+  }
+
+  private <T> T replay(Stored stored, String requestHash, Class<T> type) {
+    if (!stored.requestHash().equals(requestHash)) {
+      throw new ResponseStatusException(HttpStatus.UNPROCESSABLE_ENTITY, "이미 다른 요청에 사용된 " + HEADER + " 입니다.");
+    }
+    try {
+      return objectMapper.readValue(stored.body(), type);
+    } catch (JsonProcessingException e) {
+      throw new IllegalStateException("Stored idempotent response is unreadable", e);
+    }
+  }
+
+  private Stored toStored(IdempotencyKey row) {
+    return new Stored(row.getRequestHash(), row.getResponseBody(), epochMillis(row.getExpiresAt()));
+  }
+
+  private String toJson(Object value) {
+    try {
+      return objectMapper.writeValueAsString(value);
+    } catch (JsonProcessingException e) {
+      throw new IllegalStateException("Response is not serializable", e);
+    }
+  }
+
+  private String hash(Object request) {
+    try {
+      byte[] digest = MessageDigest.getInstance("SHA-256").digest(toJson(request).getBytes(StandardCharsets.UTF_8));
+      return HexFormat.of().formatHex(digest);
+    } catch (NoSuchAlgorithmException e) {
+      throw new IllegalStateException(e);
+    }
+  }
+
+  private static long epochMillis(LocalDateTime at) {
+    return at.atZone(java.time.ZoneId.systemDefault()).toInstant().toEpochMilli();
+  }
+}
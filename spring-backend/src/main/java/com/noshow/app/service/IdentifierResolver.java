@@ -0,0 +1,117 @@
+package com.noshow.app.service;
+
+import com.noshow.app.domain.entity.User;
+import com.noshow.app.domain.repository.UserRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Optional;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+/**
+ * 로그인/가입 식별자(email, username, phone) 처리.
+ * 모양으로 종류를 가리고 email/phone 을 저장 형식으로 맞춘 뒤, 조회와 중복 확인을 각각 쿼리 한 번으로 끝낸다.
+ */
+@Component
+@RequiredArgsConstructor
+public class IdentifierResolver {
+  private static final Pattern PHONE_SHAPE = Pattern.compile("^\\+?[0-9][0-9 ()\\-]{7,}$");
+
+  private final UserRepository userRepository;
+
+  public enum Kind { EMAIL, PHONE, USERNAME }
+
+  public static Kind classify(String identifier) {
+    String value = identifier.trim();
+    if (value.indexOf('@') > 0) {
+      return Kind.EMAIL;
+    }
+    if (PHONE_SHAPE.matcher(value).matches()) {
+      return Kind.PHONE;
+    }
+    return Kind.USERNAME;
+  }
+
+  public static String normalizeEmail(String email) {
+    return email == null || email.isBlank() ? null : email.trim().toLowerCase(Locale.ROOT);
+  }
+
+  /** 010-0000-0000 형식으로 맞춘다 (+82 포함). 휴대폰 번호가 아니면 공백만 다듬어 돌려준다. */
+  public static String normalizePhone(String phone) {
+    if (phone == null || phone.isBlank()) {
+      return null;
+    }
+    String digits = phone.replaceAll("[^0-9]", "");
+    if (phone.trim().startsWith("+82") || (digits.startsWith("82") && digits.length() >= 11)) {
+      digits = "0" + digits.substring(2);
+    }
+    if (digits.startsWith("01") && digits.length() == 11) {
+      return digits.substring(0, 3) + "-" + digits.substring(3, 7) + "-" + digits.substring(7);
+    }
+    if (digits.startsWith("01") && digits.length() == 10) {
+      return digits.substring(0, 3) + "-" + digits.substring(3, 6) + "-" + digits.substring(6);
+    }
+    return phone.trim();
+  }
+
+  /** 같은 계정을 가리키는 표기(대소문자, 전화번호 형식)를 하나로 모은 키. 계정별 요청 제한에 쓴다. */
+  public static String accountKey(String identifier) {
+    String raw = identifier.trim();
+    return switch (classify(raw)) {
+      case EMAIL -> normalizeEmail(raw);
+      case PHONE -> normalizePhone(raw);
+      case USERNAME -> raw.toLowerCase(Locale.ROOT);
+    };
+  }
+
+  /**
+   * 로그인 식별자로 사용자를 찾는다. 세 컬럼을 한 쿼리로 보고, 여러 명이 걸리면 기존 순서(email > username > phone)를 따른다.
+   * username 은 모양 제한이 없어서 분류와 상관없이 원래 값으로도 비교한다.
+   */
+  public Optional<User> resolve(String identifier) {
+    String raw = identifier.trim();
+    Kind kind = classify(raw);
+    String email = kind == Kind.EMAIL ? normalizeEmail(raw) : raw;
+    String phone = kind == Kind.PHONE ? normalizePhone(raw) : raw;
+    List<User> matches = userRepository.findByAnyIdentifier(email, raw, phone);
+    if (matches.size() <= 1) {
+      return matches.stream().findFirst();
+    }
+    return matches.stream().filter(u -> email.equalsIgnoreCase(u.getEmail())).findFirst()
+      .or(() -> matches.stream().filter(u -> raw.equalsIgnoreCase(u.getUsername())).findFirst())
+      .or(() -> matches.stream().filter(u -> phone.equals(u.getPhone())).findFirst());
+  }
+
+  /** 가입 중복 확인. 값은 normalize 된 것을 넘긴다. */
+  public void requireUnique(String email, String username, String phone) {
+    List<UserRepository.IdentifierRow> clashes = userRepository.findIdentifierClashes(email, username, phone);
+    if (email != null && clashes.stream().anyMatch(r -> email.equalsIgnoreCase(r.getEmail()))) {
+      throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Email already registered");
+    }
+    if (clashes.stream().anyMatch(r -> username.equalsIgnoreCase(r.getUsername()))) {
+      throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Username already registered");
+    }
+    if (phone != null && clashes.stream().anyMatch(r -> phone.equals(r.getPhone()))) {
+      throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Phone already registered");
+    }
+  }
+
+  /** prefix, prefix1, prefix2 ... 중 비어 있는 첫 이름. 사용 중인 이름은 한 번에 읽어 메모리에서 고른다. */
+  public String suggestUsername(String prefix) {
+    Set<String> taken = new HashSet<>();
+    userRepository.findUsernamesStartingWith(prefix).forEach(u -> taken.add(u.toLowerCase(Locale.ROOT)));
+    String candidate = prefix;
+    int i = 1;
+    while (taken.contains(candidate.toLowerCase(Locale.ROOT))) {
+      candidate = prefix + i;
+      i++;
+    }
+    return candidate;
+  }
+}
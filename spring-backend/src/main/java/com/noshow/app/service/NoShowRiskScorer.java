@@ -0,0 +1,311 @@
+package com.noshow.app.service;
+
+import com.noshow.app.domain.entity.Reservation;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.BiConsumer;
+
+/**
+ * 노쇼 위험도. 고객 / 업장 / 요일x시간(168칸) 별로 노쇼와 방문(COMPLETED) 수를 반감기로 감쇠시키며 누적하고,
+ * 예약 상태가 COMPLETED/NO_SHOW 로 들어오거나 나갈 때 증감분만 반영한다.
+ * 점수는 전체 → 요일x시간 → 업장 → 고객 순으로 앞 단계 비율을 사전값으로 삼아 평활한 노쇼 확률이고,
+ * 맵 조회 몇 번으로 끝나므로 예약 생성 중에 DB 를 읽지 않는다.
+ * 누적치는 주기적으로 noshow_risk_stats 에 더하고(마지막 기록 이후 이 노드의 증감분만, 감쇠 맞춰 합산) 기동 시 읽어 온다.
+ * 여러 노드가 같은 행을 덮어쓰지 않으므로 다른 노드의 관측도 다음 기동 때 합쳐진다. 스냅샷이 없으면 예약 이력으로 한 번 채운다.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class NoShowRiskScorer {
+  private static final int HOURS_PER_WEEK = 7 * 24;
+  private static final String ALL_KEY = "*";
+  // 이력이 전혀 없을 때의 전체 노쇼율 사전값
+  private static final double GLOBAL_PRIOR_RATE = 0.1;
+
+  // 저장된 값과 증감분을 둘 중 나중 시점으로 감쇠시켜 더한다. as_of_ms 는 마지막에 바꿔야 앞의 식이 이전 값을 본다
+  private static final String ADD_SQL = """
+    INSERT INTO noshow_risk_stats (scope, scope_key, no_show, shown, as_of_ms) VALUES (?, ?, ?, ?, ?)
+    ON DUPLICATE KEY UPDATE
+      no_show = GREATEST(0, no_show * EXP(? * (as_of_ms - GREATEST(as_of_ms, VALUES(as_of_ms))))
+                          + VALUES(no_show) * EXP(? * (VALUES(as_of_ms) - GREATEST(as_of_ms, VALUES(as_of_ms))))),
+      shown = GREATEST(0, shown * EXP(? * (as_of_ms - GREATEST(as_of_ms, VALUES(as_of_ms))))
+                        + VALUES(shown) * EXP(? * (VALUES(as_of_ms) - GREATEST(as_of_ms, VALUES(as_of_ms))))),
+      as_of_ms = GREATEST(as_of_ms, VALUES(as_of_ms))
+    """;
+  // 예약 이력으로 채운 값. 어느 노드가 계산해도 같으므로 덮어쓴다
+  private static final String BOOTSTRAP_UPSERT_SQL = """
+    INSERT INTO noshow_risk_stats (scope, scope_key, no_show, shown, as_of_ms) VALUES (?, ?, ?, ?, ?)
+    ON DUPLICATE KEY UPDATE no_show = VALUES(no_show), shown = VALUES(shown), as_of_ms = VALUES(as_of_ms)
+    """;
+  private static final String BOOTSTRAP_SQL = """
+    SELECT customer_user_id, venue_id, scheduled_start, status
+    FROM reservations
+    WHERE status IN ('COMPLETED', 'NO_SHOW')
+    """;
+
+  private final JdbcTemplate jdbcTemplate;
+
+  @Value("${app.risk.half-life-days:90}")
+  private double halfLifeDays;
+
+  // 각 단계에서 앞 단계 비율에 주는 가중치 (관측 몇 건 분량인지)
+  @Value("${app.risk.prior-weight:4}")
+  private double priorWeight;
+
+  // 위험도가 최대일 때 보증금 비율에 더하는 %p. 0 이면 보증금에 반영하지 않는다.
+  @Value("${app.risk.max-surcharge-percent:0}")
+  private double maxSurchargePercent;
+
+  enum Scope { ALL, HOUR, VENUE, USER }
+
+  /** asOf 시점 기준 감쇠 누적치. */
+  record Rates(double noShow, double shown, long asOf) {
+    static final Rates EMPTY = new Rates(0, 0, 0);
+
+    /**
+     * at 시점 관측을 더한다. 과거 관측은 그만큼 감쇠시켜 더한다.
+     * clamp 면 음수 증감(상태 정정)은 0 에서 멈추고, 아니면(기록 전 증감분) 부호를 그대로 둔다.
+     */
+    Rates plus(double noShowDelta, double shownDelta, long at, double lambda, boolean clamp) {
+      double floor = clamp ? 0 : Double.NEGATIVE_INFINITY;
+      if (at >= asOf) {
+        double f = Math.exp(-lambda * (at - asOf));
+        return new Rates(Math.max(floor, noShow * f + noShowDelta), Math.max(floor, shown * f + shownDelta), at);
+      }
+      double f = Math.exp(-lambda * (asOf - at));
+      return new Rates(Math.max(floor, noShow + noShowDelta * f), Math.max(floor, shown + shownDelta * f), asOf);
+    }
+
+    Rates merge(Rates other, double lambda) {
+      return plus(other.noShow, other.shown, other.asOf, lambda, true);
+    }
+
+    /** now 까지 감쇠시킨 관측에 prior 비율을 weight 건만큼 섞어 평활한 노쇼율. */
+    double rate(double prior, double weight, long now, double lambda) {
+      double f = now > asOf ? Math.exp(-lambda * (now - asOf)) : 1;
+      return (noShow * f + prior * weight) / ((noShow + shown) * f + weight);
+    }
+  }
+
+  /** 단계별 누적치. live 는 점수 계산용, pending 은 마지막 기록 이후 이 노드의 증감분. */
+  private final class Stats {
+    final boolean clamp;
+    final AtomicReference<Rates> overall = new AtomicReference<>();
+    final AtomicReferenceArray<Rates> byHour = new AtomicReferenceArray<>(HOURS_PER_WEEK);
+    final Map<Long, Rates> byVenue = new ConcurrentHashMap<>();
+    final Map<String, Rates> byUser = new ConcurrentHashMap<>();
+
+    Stats(boolean clamp) {
+      this.clamp = clamp;
+    }
+
+    void add(String userId, Long venueId, LocalDateTime start, int noShowDelta, int shownDelta, long at, double lambda) {
+      overall.updateAndGet(r -> rates(r).plus(noShowDelta, shownDelta, at, lambda, clamp));
+      if (start != null) {
+        byHour.updateAndGet(hourOfWeek(start), r -> rates(r).plus(noShowDelta, shownDelta, at, lambda, clamp));
+      }
+      if (venueId != null) {
+        byVenue.compute(venueId, (k, r) -> rates(r).plus(noShowDelta, shownDelta, at, lambda, clamp));
+      }
+      if (userId != null) {
+        byUser.compute(userId, (k, r) -> rates(r).plus(noShowDelta, shownDelta, at, lambda, clamp));
+      }
+    }
+
+    void mergeInto(Stats target, double lambda) {
+      Rates all = overall.get();
+      if (all != null) target.overall.updateAndGet(r -> rates(r).merge(all, lambda));
+      for (int h = 0; h < HOURS_PER_WEEK; h++) {
+        Rates hour = byHour.get(h);
+        if (hour != null) target.byHour.updateAndGet(h, r -> rates(r).merge(hour, lambda));
+      }
+      byVenue.forEach((k, v) -> target.byVenue.merge(k, v, (a, b) -> a.merge(b, lambda)));
+      byUser.forEach((k, v) -> target.byUser.merge(k, v, (a, b) -> a.merge(b, lambda)));
+    }
+
+    /** 쌓인 값을 행으로 꺼내고 비운다. 꺼낸 뒤 들어온 증감분은 다음 기록에 잡힌다. */
+    List<Object[]> drainRows() {
+      List<Object[]> rows = new ArrayList<>();
+      Rates all = overall.getAndSet(null);
+      if (all != null) rows.add(row(Scope.ALL, ALL_KEY, all));
+      for (int h = 0; h < HOURS_PER_WEEK; h++) {
+        Rates hour = byHour.getAndSet(h, null);
+        if (hour != null) rows.add(row(Scope.HOUR, Integer.toString(h), hour));
+      }
+      drain(byVenue, (k, v) -> rows.add(row(Scope.VENUE, k.toString(), v)));
+      drain(byUser, (k, v) -> rows.add(row(Scope.USER, k, v)));
+      return rows;
+    }
+  }
+
+  private final Stats live = new Stats(true);
+  private final Stats pending = new Stats(false);
+
+  /** 0~1 노쇼 확률 추정치. */
+  public double score(String userId, Long venueId, LocalDateTime start) {
+    long now = System.currentTimeMillis();
+    double lambda = lambda();
+    double rate = baseRate(now, lambda);
+    rate = rates(live.byHour.get(hourOfWeek(start))).rate(rate, priorWeight, now, lambda);
+    if (venueId != null) {
+      rate = rates(live.byVenue.get(venueId)).rate(rate, priorWeight, now, lambda);
+    }
+    if (userId != null) {
+      rate = rates(live.byUser.get(userId)).rate(rate, priorWeight, now, lambda);
+    }
+    return rate;
+  }
+
+  /**
+   * 보증금 비율 가산치(%p). 전체 평균 이하면 0, 확실한 노쇼(1.0)에 가까울수록 max-surcharge-percent 에 가까워진다.
+   */
+  public double depositSurchargePercent(String userId, Long venueId, LocalDateTime start) {
+    if (maxSurchargePercent <= 0) {
+      return 0;
+    }
+    double base = baseRate(System.currentTimeMillis(), lambda());
+    double excess = (score(userId, venueId, start) - base) / (1 - base);
+    return Math.round(maxSurchargePercent * Math.max(0, Math.min(1, excess)));
+  }
+
+  @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+  public void onReservationChanged(ReservationChangedEvent event) {
+    int noShowDelta = is(event.status(), Reservation.Status.NO_SHOW) - is(event.previousStatus(), Reservation.Status.NO_SHOW);
+    int shownDelta = is(event.status(), Reservation.Status.COMPLETED) - is(event.previousStatus(), Reservation.Status.COMPLETED);
+    if (noShowDelta == 0 && shownDelta == 0) {
+      return;
+    }
+    long now = System.currentTimeMillis();
+    double lambda = lambda();
+    live.add(event.customerUserId(), event.venueId(), event.scheduledStart(), noShowDelta, shownDelta, now, lambda);
+    pending.add(event.customerUserId(), event.venueId(), event.scheduledStart(), noShowDelta, shownDelta, now, lambda);
+  }
+
+  @EventListener(ApplicationReadyEvent.class)
+  public void load() {
+    double lambda = lambda();
+    List<Map<String, Object>> rows = jdbcTemplate.queryForList(
+      "SELECT scope, scope_key, no_show, shown, as_of_ms FROM noshow_risk_stats");
+    if (rows.isEmpty()) {
+      bootstrap();
+      return;
+    }
+    for (Map<String, Object> row : rows) {
+      Rates loaded = new Rates(Math.max(0, ((Number) row.get("no_show")).doubleValue()),
+        Math.max(0, ((Number) row.get("shown")).doubleValue()), ((Number) row.get("as_of_ms")).longValue());
+      String key = (String) row.get("scope_key");
+      // 기동 직후 먼저 들어온 이벤트가 있으면 합친다
+      switch (Scope.valueOf((String) row.get("scope"))) {
+        case ALL -> live.overall.updateAndGet(r -> rates(r).merge(loaded, lambda));
+        case HOUR -> live.byHour.updateAndGet(Integer.parseInt(key), r -> rates(r).merge(loaded, lambda));
+        case VENUE -> live.byVenue.merge(Long.parseLong(key), loaded, (a, b) -> a.merge(b, lambda));
+        case USER -> live.byUser.merge(key, loaded, (a, b) -> a.merge(b, lambda));
+      }
+    }
+    log.info("No-show risk stats loaded: venues={}, users={}", live.byVenue.size(), live.byUser.size());
+  }
+
+  @Scheduled(fixedDelayString = "${app.risk.snapshot-ms:300000}", initialDelayString = "${app.risk.snapshot-ms:300000}")
+  public void snapshot() {
+    List<Object[]> deltas = pending.drainRows();
+    if (deltas.isEmpty()) {
+      return;
+    }
+    double lambda = lambda();
+    List<Object[]> batch = new ArrayList<>(deltas.size());
+    for (Object[] d : deltas) {
+      batch.add(new Object[] {d[0], d[1], d[2], d[3], d[4], lambda, lambda, lambda, lambda});
+    }
+    jdbcTemplate.batchUpdate(ADD_SQL, batch);
+    log.debug("No-show risk snapshot: rows={}", batch.size());
+  }
+
+  @PreDestroy
+  void flush() {
+    try {
+      snapshot();
+    } catch (RuntimeException e) {
+      log.warn("Final no-show risk snapshot failed", e);
+    }
+  }
+
+  /**
+   * 스냅샷이 없을 때 한 번, 지난 COMPLETED/NO_SHOW 예약을 예약 시각 기준으로 감쇠시켜 채운다.
+   * 이력은 따로 모아 덮어쓰고, 그 사이 들어온 이벤트는 pending 으로 평소처럼 더해진다.
+   */
+  private void bootstrap() {
+    double lambda = lambda();
+    Stats history = new Stats(true);
+    JdbcTemplate streaming = new JdbcTemplate(jdbcTemplate.getDataSource());
+    streaming.setFetchSize(Integer.MIN_VALUE);
+    int[] count = {0};
+    streaming.query(BOOTSTRAP_SQL, rs -> {
+      LocalDateTime start = rs.getObject("scheduled_start", LocalDateTime.class);
+      boolean noShow = Reservation.Status.NO_SHOW.name().equals(rs.getString("status"));
+      long venueId = rs.getLong("venue_id");
+      history.add(rs.getString("customer_user_id"), rs.wasNull() ? null : venueId, start,
+        noShow ? 1 : 0, noShow ? 0 : 1, epochMillis(start), lambda);
+      count[0]++;
+    });
+    history.mergeInto(live, lambda);
+    List<Object[]> rows = history.drainRows();
+    if (!rows.isEmpty()) {
+      jdbcTemplate.batchUpdate(BOOTSTRAP_UPSERT_SQL, rows);
+    }
+    log.info("No-show risk stats bootstrapped from {} reservations", count[0]);
+  }
+
+  private static <K> void drain(Map<K, Rates> values, BiConsumer<K, Rates> writer) {
+    for (K key : values.keySet()) {
+      // 지우면서 꺼내므로 그 뒤 갱신은 새 값으로 쌓여 다음 기록에 잡힌다
+      Rates value = values.remove(key);
+      if (value != null) writer.accept(key, value);
+    }
+  }
+
+  private static Object[] row(Scope scope, String key, Rates value) {
+    return new Object[] {scope.name(), key, value.noShow(), value.shown(), value.asOf()};
+  }
+
+  private double baseRate(long now, double lambda) {
+    return rates(live.overall.get()).rate(GLOBAL_PRIOR_RATE, priorWeight, now, lambda);
+  }
+
+  private double lambda() {
+    return Math.log(2) / (halfLifeDays * 24 * 3_600_000d);
+  }
+
+  private static Rates rates(Rates r) {
+    return r != null ? r : Rates.EMPTY;
+  }
+
+  private static int hourOfWeek(LocalDateTime time) {
+    return (time.getDayOfWeek().getValue() - 1) * 24 + time.getHour();
+  }
+
+  private static long epochMillis(LocalDateTime at) {
+    return at.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+  }
+
+  private static int is(Reservation.Status status, Reservation.Status expected) {
+    return status == expected ? 1 : 0;
+  }
+}
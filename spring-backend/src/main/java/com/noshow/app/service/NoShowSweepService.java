@@ -0,0 +1,154 @@
+package com.noshow.app.service;
+
+import com.noshow.app.domain.entity.Reservation;
+import com.noshow.app.domain.entity.SystemSetting;
+import com.noshow.app.domain.repository.ReservationRepository;
+import com.noshow.app.domain.repository.SystemSettingRepository;
+import com.noshow.app.domain.repository.VenueRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 종료 시각 + 업장별 유예 시간(venues.no_show_grace_minutes)이 지나도록 BOOKED 인 예약을
+ * 설정된 종료 상태로 자동 전환한다. 기본은 COMPLETED (업주가 노쇼로 표시하지 않은 예약은 방문한 것으로 본다).
+ * NO_SHOW 로 바꾸면 확인 안 된 예약이 모두 노쇼가 되어 등급/보증금 가산/오버부킹 통계에 들어가므로 주의한다.
+ * system_settings 의 (scheduled_end, reservation_id) 커서를 FOR UPDATE 로 잡고 청크 단위로 진행하므로
+ * 여러 노드에서 돌아도 한 번에 한 노드만 청크를 처리하고, 재시작 후에도 이어서 진행한다.
+ * 유예 시간 판정은 쿼리에서 하고, 커서는 가장 긴 유예 시간까지 지난 구간(horizon)까지만 전진한다
+ * (유예 시간이 더 긴 업장의 예약을 건너뛰지 않도록).
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class NoShowSweepService {
+  static final String CURSOR_KEY = "NOSHOW_SWEEP_CURSOR";
+  private static final int DEFAULT_GRACE_MINUTES = 30;
+
+  private final ReservationRepository reservationRepository;
+  private final SystemSettingRepository systemSettingRepository;
+  private final VenueRepository venueRepository;
+  private final SlotLedgerService slotLedger;
+  private final ApplicationEventPublisher eventPublisher;
+  private final TransactionTemplate transactionTemplate;
+
+  @Value("${app.no-show-sweep.terminal-status:COMPLETED}")
+  private Reservation.Status terminalStatus;
+
+  @Value("${app.no-show-sweep.chunk-size:500}")
+  private int chunkSize;
+
+  @Value("${app.no-show-sweep.max-chunks-per-run:20}")
+  private int maxChunksPerRun;
+
+  record Cursor(LocalDateTime end, long id) implements Comparable<Cursor> {
+    static final Cursor START = new Cursor(LocalDateTime.of(1970, 1, 1, 0, 0), 0L);
+
+    static Cursor parse(String value) {
+      if (value == null || !value.contains("|")) return START;
+      String[] parts = value.split("\\|", 2);
+      return new Cursor(LocalDateTime.parse(parts[0]), Long.parseLong(parts[1]));
+    }
+
+    String format() {
+      return end + "|" + id;
+    }
+
+    @Override
+    public int compareTo(Cursor o) {
+      int c = end.compareTo(o.end);
+      return c != 0 ? c : Long.compare(id, o.id);
+    }
+  }
+
+  @Scheduled(fixedDelayString = "${app.no-show-sweep-ms:60000}")
+  public void sweep() {
+    if (terminalStatus != Reservation.Status.NO_SHOW && terminalStatus != Reservation.Status.COMPLETED) {
+      log.warn("No-show sweep disabled: unsupported terminal status {}", terminalStatus);
+      return;
+    }
+    LocalDateTime now = LocalDateTime.now();
+    Integer maxGrace = venueRepository.findMaxGraceMinutes();
+    LocalDateTime horizon = now.minusMinutes(Math.max(maxGrace != null ? maxGrace : 0, DEFAULT_GRACE_MINUTES));
+    Cursor scan = null; // 이번 실행에서 읽은 마지막 위치 (유예 중인 예약 뒤쪽도 계속 보기 위함)
+    int closed = 0;
+    for (int i = 0; i < maxChunksPerRun; i++) {
+      Cursor from = scan;
+      ChunkResult result = transactionTemplate.execute(status -> sweepChunk(now, horizon, from));
+      if (result == null) break;
+      closed += result.closed();
+      if (!result.full()) break;
+      scan = result.lastSeen();
+    }
+    if (closed > 0) {
+      log.info("No-show sweep at {}: closed={} as {}", now, closed, terminalStatus);
+    }
+  }
+
+  private record ChunkResult(int closed, Cursor lastSeen, boolean full) {}
+
+  /**
+   * 커서 행을 잠그고 한 청크를 처리한다. scanFrom 이 주어지면 저장된 커서 대신 그 뒤부터 읽는다.
+   * 읽은 행은 모두 처리 대상이고, 저장된 커서는 horizon 이전 행까지만 옮긴다.
+   */
+  private ChunkResult sweepChunk(LocalDateTime now, LocalDateTime horizon, Cursor scanFrom) {
+    SystemSetting cursorRow = systemSettingRepository.findByIdForUpdate(CURSOR_KEY)
+      .orElseGet(() -> systemSettingRepository.save(SystemSetting.builder()
+        .policyKey(CURSOR_KEY)
+        .policyValue(Cursor.START.format())
+        .build()));
+    Cursor persisted = Cursor.parse(cursorRow.getPolicyValue());
+    Cursor from = scanFrom != null && scanFrom.compareTo(persisted) > 0 ? scanFrom : persisted;
+
+    List<ReservationRepository.SweepCandidate> candidates = reservationRepository.findSweepCandidates(
+      Reservation.Status.BOOKED, now, DEFAULT_GRACE_MINUTES, from.end(), from.id(), PageRequest.of(0, chunkSize));
+    if (candidates.isEmpty()) {
+      return new ChunkResult(0, null, false);
+    }
+
+    List<Long> due = new ArrayList<>();
+    Cursor advanced = persisted;
+    boolean contiguous = from.equals(persisted);
+    for (ReservationRepository.SweepCandidate c : candidates) {
+      due.add(c.getReservationId());
+      // horizon 이전이면 그 앞의 BOOKED 예약은 유예 시간과 상관없이 모두 이 쿼리에 나왔다
+      if (contiguous && !c.getScheduledEnd().isAfter(horizon)) {
+        advanced = new Cursor(c.getScheduledEnd(), c.getReservationId());
+      }
+    }
+
+    int closed = 0;
+    if (!due.isEmpty()) {
+      List<Reservation> locked = reservationRepository.findByReservationIdInAndStatus(due, Reservation.Status.BOOKED);
+      if (!locked.isEmpty()) {
+        LocalDateTime markedAt = terminalStatus == Reservation.Status.NO_SHOW ? now : null;
+        closed = reservationRepository.bulkClose(locked.stream().map(Reservation::getReservationId).toList(),
+          Reservation.Status.BOOKED, terminalStatus, markedAt);
+        for (Reservation r : locked) {
+          // 벌크 UPDATE 후 분리된 엔티티라 이벤트용으로만 상태를 맞춘다
+          r.setStatus(terminalStatus);
+          r.setNoShowMarkedAt(markedAt);
+          slotLedger.release(r);
+          eventPublisher.publishEvent(ReservationChangedEvent.of(
+            ReservationChangedEvent.Type.STATUS_CHANGED, r, Reservation.Status.BOOKED));
+        }
+      }
+    }
+    if (!advanced.equals(persisted)) {
+      cursorRow.setPolicyValue(advanced.format());
+      systemSettingRepository.save(cursorRow);
+    }
+    ReservationRepository.SweepCandidate last = candidates.get(candidates.size() - 1);
+    return new ChunkResult(closed, new Cursor(last.getScheduledEnd(), last.getReservationId()),
+      candidates.size() == chunkSize);
+  }
+}
@@ -0,0 +1,280 @@
+package com.noshow.app.service;
+
+import com.noshow.app.domain.entity.Reservation;
+import com.noshow.app.domain.entity.ServiceOverbookingPolicy;
+import com.noshow.app.domain.entity.VenueService;
+import com.noshow.app.domain.repository.ServiceOverbookingPolicyRepository;
+import com.noshow.app.domain.repository.VenueServiceRepository;
+import com.noshow.app.dto.OverbookingPolicyDto;
+import com.noshow.app.dto.OverbookingPolicyRequest;
+import com.noshow.app.security.AuthPrincipal;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.http.HttpStatus;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static com.noshow.app.service.SlotAvailabilityIndex.SLOTS_PER_DAY;
+
+/**
+ * 서비스별 통제된 초과 예약(오버부킹).
+ * 정책을 켠 서비스에 대해 매일 밤 지난 COMPLETED/NO_SHOW 예약으로 요일x30분 슬롯별 방문율을 구하고,
+ * slot_capacity + k 건을 받았을 때 방문 인원이 slot_capacity 를 넘을 확률(이항분포)이 target_risk 이하인
+ * 가장 큰 k (max_extra 이하)를 service_overbooking_allowances 에 저장한다.
+ * 예약 경로는 메모리에 올린 서비스별 byte[336] 를 읽기만 하므로 추가 조회가 없다.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class OverbookingService {
+  public static final int SLOTS_PER_WEEK = 7 * SLOTS_PER_DAY;
+  // 서비스 전체 이력이 이보다 적으면 허용치를 만들지 않는다
+  private static final int MIN_SAMPLES = 20;
+  // 슬롯 방문율을 서비스 전체 방문율 쪽으로 당기는 가중치 (관측 건수 단위)
+  private static final double SLOT_PRIOR_WEIGHT = 10;
+
+  private static final String HISTORY_SQL = """
+    SELECT scheduled_start, scheduled_end, status
+    FROM reservations
+    WHERE service_id = ? AND status IN ('COMPLETED', 'NO_SHOW') AND scheduled_start >= ?
+    """;
+  private static final String INSERT_SQL = """
+    INSERT INTO service_overbooking_allowances (service_id, slot_of_week, allowance, show_rate, samples)
+    VALUES (?, ?, ?, ?, ?)
+    """;
+
+  private final ServiceOverbookingPolicyRepository policyRepository;
+  private final VenueServiceRepository venueServiceRepository;
+  private final JdbcTemplate jdbcTemplate;
+  private final TransactionTemplate transactionTemplate;
+
+  @Value("${app.overbooking.lookback-days:180}")
+  private int lookbackDays;
+
+  // serviceId -> 요일x슬롯 별 허용 초과 수. 허용치가 하나도 없는 서비스는 없다.
+  private final Map<Long, byte[]> allowances = new ConcurrentHashMap<>();
+  // 허용치 배열을 갈아 끼울 때마다 올린다. 허용치를 미리 반영해 둔 캐시(빈자리 검색 스냅샷)가 비교한다.
+  private final AtomicLong version = new AtomicLong();
+
+  /** [start, end) 가 덮는 슬롯 중 가장 작은 허용치. 정책이 없으면 0. */
+  public int allowance(Long serviceId, LocalDateTime start, LocalDateTime end) {
+    byte[] weekly = allowances.get(serviceId);
+    if (weekly == null) {
+      return 0;
+    }
+    int min = Integer.MAX_VALUE;
+    for (LocalDate d = start.toLocalDate(); d.atStartOfDay().isBefore(end); d = d.plusDays(1)) {
+      long bits = SlotAvailabilityIndex.dayBits(d, start, end);
+      int offset = weekOffset(d);
+      while (bits != 0) {
+        int slot = Long.numberOfTrailingZeros(bits);
+        bits &= bits - 1;
+        min = Math.min(min, weekly[offset + slot]);
+      }
+    }
+    return min == Integer.MAX_VALUE ? 0 : min;
+  }
+
+  /** 요일x슬롯 허용치 배열 (읽기 전용). 없으면 null. */
+  public byte[] weekly(Long serviceId) {
+    return allowances.get(serviceId);
+  }
+
+  public long version() {
+    return version.get();
+  }
+
+  public static int weekOffset(LocalDate date) {
+    return SlotAvailabilityIndex.dayOfWeek(date) * SLOTS_PER_DAY;
+  }
+
+  @Transactional(readOnly = true)
+  public OverbookingPolicyDto getPolicy(Long serviceId, AuthPrincipal owner) {
+    requireOwnedService(serviceId, owner);
+    return toDto(serviceId, policyRepository.findById(serviceId).orElse(null));
+  }
+
+  /** 정책을 저장하고 바로 허용치를 다시 계산한다 (커밋 후 메모리에 반영). */
+  @Transactional
+  public OverbookingPolicyDto updatePolicy(Long serviceId, OverbookingPolicyRequest request, AuthPrincipal owner) {
+    VenueService service = requireOwnedService(serviceId, owner);
+    ServiceOverbookingPolicy policy = policyRepository.findById(serviceId)
+      .orElseGet(() -> ServiceOverbookingPolicy.builder().serviceId(serviceId).build());
+    policy.setEnabled(request.getEnabled());
+    policy.setMaxExtra(request.getMaxExtra());
+    policy.setTargetRisk(request.getTargetRisk());
+    policyRepository.save(policy);
+
+    byte[] weekly = recompute(service, policy);
+    TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+      @Override
+      public void afterCommit() {
+        publish(serviceId, weekly);
+      }
+    });
+    return toDto(serviceId, policy, weekly);
+  }
+
+  /** 매일 밤 정책이 켜진 서비스의 허용치를 다시 계산한다. */
+  @Scheduled(cron = "${app.overbooking.cron:0 30 3 * * *}")
+  public void recomputeAll() {
+    int updated = 0;
+    for (ServiceOverbookingPolicy policy : policyRepository.findByEnabledTrue()) {
+      try {
+        byte[] weekly = transactionTemplate.execute(status -> venueServiceRepository.findById(policy.getServiceId())
+          .map(service -> recompute(service, policy))
+          .orElse(null));
+        publish(policy.getServiceId(), weekly);
+        updated++;
+      } catch (RuntimeException e) {
+        log.warn("Overbooking recompute failed: service={}", policy.getServiceId(), e);
+      }
+    }
+    log.info("Overbooking allowances recomputed: services={}", updated);
+  }
+
+  /** 기동 시, 그리고 다른 노드의 야간 계산 결과를 따라가도록 주기적으로 테이블에서 다시 읽는다. */
+  @EventListener(ApplicationReadyEvent.class)
+  @Scheduled(fixedDelayString = "${app.overbooking.reload-ms:3600000}", initialDelayString = "${app.overbooking.reload-ms:3600000}")
+  public void reload() {
+    Map<Long, byte[]> loaded = new HashMap<>();
+    jdbcTemplate.query("SELECT service_id, slot_of_week, allowance FROM service_overbooking_allowances WHERE allowance > 0",
+      rs -> {
+        byte[] weekly = loaded.computeIfAbsent(rs.getLong("service_id"), id -> new byte[SLOTS_PER_WEEK]);
+        weekly[rs.getInt("slot_of_week")] = (byte) rs.getInt("allowance");
+      });
+    allowances.keySet().retainAll(loaded.keySet());
+    allowances.putAll(loaded);
+    version.incrementAndGet();
+  }
+
+  /** 현재 트랜잭션 안에서 service 의 허용치 행을 갈아 끼우고 새 배열을 돌려준다. 정책이 꺼져 있으면 null. */
+  private byte[] recompute(VenueService service, ServiceOverbookingPolicy policy) {
+    Long serviceId = service.getServiceId();
+    jdbcTemplate.update("DELETE FROM service_overbooking_allowances WHERE service_id = ?", serviceId);
+    if (!Boolean.TRUE.equals(policy.getEnabled())) {
+      return null;
+    }
+
+    int[] shown = new int[SLOTS_PER_WEEK];
+    int[] total = new int[SLOTS_PER_WEEK];
+    int[] overall = new int[2]; // {shown, total}
+    jdbcTemplate.query(HISTORY_SQL, rs -> {
+      LocalDateTime start = rs.getObject("scheduled_start", LocalDateTime.class);
+      LocalDateTime end = rs.getObject("scheduled_end", LocalDateTime.class);
+      int show = Reservation.Status.COMPLETED.name().equals(rs.getString("status")) ? 1 : 0;
+      overall[0] += show;
+      overall[1]++;
+      for (LocalDate d = start.toLocalDate(); d.atStartOfDay().isBefore(end); d = d.plusDays(1)) {
+        long bits = SlotAvailabilityIndex.dayBits(d, start, end);
+        int offset = weekOffset(d);
+        while (bits != 0) {
+          int slot = Long.numberOfTrailingZeros(bits);
+          bits &= bits - 1;
+          shown[offset + slot] += show;
+          total[offset + slot]++;
+        }
+      }
+    }, serviceId, LocalDateTime.now().minusDays(lookbackDays));
+    if (overall[1] < MIN_SAMPLES) {
+      return null;
+    }
+
+    int capacity = SlotLedgerService.slotCapacity(service);
+    double serviceShowRate = (double) overall[0] / overall[1];
+    byte[] weekly = new byte[SLOTS_PER_WEEK];
+    List<Object[]> rows = new ArrayList<>();
+    for (int slot = 0; slot < SLOTS_PER_WEEK; slot++) {
+      double showRate = (shown[slot] + SLOT_PRIOR_WEIGHT * serviceShowRate) / (total[slot] + SLOT_PRIOR_WEIGHT);
+      int k = 0;
+      while (k < policy.getMaxExtra() && overflowProbability(capacity + k + 1, showRate, capacity) <= policy.getTargetRisk()) {
+        k++;
+      }
+      if (k > 0) {
+        weekly[slot] = (byte) k;
+        rows.add(new Object[] {serviceId, slot, k, showRate, total[slot]});
+      }
+    }
+    if (rows.isEmpty()) {
+      return null;
+    }
+    jdbcTemplate.batchUpdate(INSERT_SQL, rows);
+    return weekly;
+  }
+
+  /** n 건 중 각 건이 p 확률로 방문할 때 방문 수가 capacity 를 넘을 확률. 위쪽 꼬리부터 더한다. */
+  static double overflowProbability(int n, double p, int capacity) {
+    if (n <= capacity) {
+      return 0;
+    }
+    if (p <= 0) {
+      return 0;
+    }
+    if (p >= 1) {
+      return 1;
+    }
+    double pmf = Math.pow(p, n); // P(X = n)
+    double tail = 0;
+    for (int x = n; x > capacity; x--) {
+      tail += pmf;
+      pmf *= (double) x / (n - x + 1) * (1 - p) / p; // P(X = x - 1)
+    }
+    return tail;
+  }
+
+  private void publish(Long serviceId, byte[] weekly) {
+    if (weekly == null) {
+      allowances.remove(serviceId);
+    } else {
+      allowances.put(serviceId, weekly);
+    }
+    version.incrementAndGet();
+  }
+
+  private VenueService requireOwnedService(Long serviceId, AuthPrincipal owner) {
+    VenueService service = venueServiceRepository.findById(serviceId)
+      .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Service not found"));
+    if (!service.getVenue().getOwner().getUserId().equals(owner.getUserId())) {
+      throw new ResponseStatusException(HttpStatus.FORBIDDEN, "Only owner can manage overbooking");
+    }
+    return service;
+  }
+
+  private OverbookingPolicyDto toDto(Long serviceId, ServiceOverbookingPolicy policy) {
+    return toDto(serviceId, policy, allowances.get(serviceId));
+  }
+
+  private static OverbookingPolicyDto toDto(Long serviceId, ServiceOverbookingPolicy policy, byte[] weekly) {
+    int slots = 0;
+    if (weekly != null) {
+      for (byte b : weekly) {
+        if (b > 0) slots++;
+      }
+    }
+    return OverbookingPolicyDto.builder()
+      .serviceId(serviceId)
+      .enabled(policy != null && Boolean.TRUE.equals(policy.getEnabled()))
+      .maxExtra(policy != null ? policy.getMaxExtra() : null)
+      .targetRisk(policy != null ? policy.getTargetRisk() : null)
+      .overbookableSlots(slots)
+      .build();
+  }
+}
@@ -0,0 +1,98 @@
+package com.noshow.app.service;
+
+import com.noshow.app.domain.entity.Venue;
+import com.noshow.app.domain.repository.ReservationRepository;
+import com.noshow.app.domain.repository.VenueRepository;
+import com.noshow.app.dto.OwnerCalendarDto;
+import com.noshow.app.security.AuthPrincipal;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 업장 프런트용 예약 캘린더 (날짜 → 서비스 → 예약).
+ * 기간 내 예약을 범위 스캔 한 번으로 읽고, 응답 내용으로 ETag 를 만들어 바뀌지 않은 창은 304 로 돌려보낸다.
+ */
+@Service
+@RequiredArgsConstructor
+public class OwnerCalendarService {
+  public static final int MAX_RANGE_DAYS = 31;
+
+  private final VenueRepository venueRepository;
+  private final ReservationRepository reservationRepository;
+
+  public record CalendarView(OwnerCalendarDto calendar, String etag) {}
+
+  @Transactional(readOnly = true)
+  public CalendarView calendar(AuthPrincipal owner, Long venueId, LocalDate from, LocalDate to) {
+    if (to.isBefore(from)) {
+      throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "종료일은 시작일 이후여야 합니다.");
+    }
+    if (ChronoUnit.DAYS.between(from, to) >= MAX_RANGE_DAYS) {
+      throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "조회 기간은 최대 " + MAX_RANGE_DAYS + "일입니다.");
+    }
+    Venue venue = venueRepository.findById(venueId)
+      .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Venue not found"));
+    if (owner == null || venue.getOwner() == null || !venue.getOwner().getUserId().equals(owner.getUserId())) {
+      throw new ResponseStatusException(HttpStatus.FORBIDDEN, "Only owner can view the calendar");
+    }
+
+    List<ReservationRepository.CalendarRow> rows = reservationRepository.findCalendarRows(
+      venueId, from.atStartOfDay(), to.plusDays(1).atStartOfDay());
+
+    MessageDigest digest = sha256();
+    update(digest, venueId + "|" + from + "|" + to);
+    Map<LocalDate, Map<Long, OwnerCalendarDto.ServiceColumn>> byDay = new LinkedHashMap<>();
+    for (ReservationRepository.CalendarRow r : rows) {
+      update(digest, r.getReservationId() + "|" + r.getStatus() + "|" + r.getScheduledStart() + "|" + r.getScheduledEnd()
+        + "|" + r.getPartySize() + "|" + r.getServiceId() + "|" + r.getServiceName() + "|" + r.getCustomerName());
+      OwnerCalendarDto.ServiceColumn column = byDay
+        .computeIfAbsent(r.getScheduledStart().toLocalDate(), d -> new LinkedHashMap<>())
+        .computeIfAbsent(r.getServiceId(), id -> new OwnerCalendarDto.ServiceColumn(id, r.getServiceName(), new ArrayList<>()));
+      column.getReservations().add(new OwnerCalendarDto.Entry(
+        r.getReservationId(),
+        r.getStatus(),
+        r.getScheduledStart(),
+        r.getScheduledEnd(),
+        r.getPartySize(),
+        r.getCustomerName()));
+    }
+
+    List<OwnerCalendarDto.Day> days = new ArrayList<>(byDay.size());
+    byDay.forEach((date, services) -> days.add(new OwnerCalendarDto.Day(date, new ArrayList<>(services.values()))));
+    OwnerCalendarDto dto = OwnerCalendarDto.builder()
+      .venueId(venueId)
+      .from(from)
+      .to(to)
+      .days(days)
+      .build();
+    String etag = "\"" + HexFormat.of().formatHex(digest.digest(), 0, 16) + "\"";
+    return new CalendarView(dto, etag);
+  }
+
+  private static MessageDigest sha256() {
+    try {
+      return MessageDigest.getInstance("SHA-256");
+    } catch (NoSuchAlgorithmException e) {
+      throw new IllegalStateException(e);
+    }
+  }
+
+  private static void update(MessageDigest digest, String value) {
+    digest.update(value.getBytes(StandardCharsets.UTF_8));
+    digest.update((byte) '\n');
+  }
+}
@@ -0,0 +1,55 @@
+package com.noshow.app.service;
+
+import com.noshow.app.domain.entity.Reservation;
+
+import java.time.LocalDateTime;
+
+/**
+ * 예약 상태 변경 이벤트. ReservationService 가 상태를 바꿀 때마다 발행한다.
+ * 커밋 이후 처리가 필요한 리스너는 @TransactionalEventListener(AFTER_COMMIT) 로 받는다.
+ */
+public record ReservationChangedEvent(
+  Type type,
+  Long reservationId,
+  Long venueId,
+  Long serviceId,
+  String customerUserId,
+  Reservation.Status previousStatus,
+  Reservation.Status status,
+  LocalDateTime scheduledStart,
+  LocalDateTime scheduledEnd,
+  Integer partySize,
+  LocalDateTime depositDueAt
+) {
+  public enum Type { CREATED, PAID, CANCELED, EXPIRED, STATUS_CHANGED }
+
+  public static ReservationChangedEvent of(Type type, Reservation reservation, Reservation.Status previousStatus) {
+    return new ReservationChangedEvent(
+      type,
+      reservation.getReservationId(),
+      reservation.getVenue() != null ? reservation.getVenue().getVenueId() : null,
+      reservation.getService() != null ? reservation.getService().getServiceId() : null,
+      reservation.getCustomer() != null ? reservation.getCustomer().getUserId() : null,
+      previousStatus,
+      reservation.getStatus(),
+      reservation.getScheduledStart(),
+      reservation.getScheduledEnd(),
+      reservation.getPartySize(),
+      reservation.getDepositDueAt()
+    );
+  }
+
+  public static boolean isActive(Reservation.Status status) {
+    return status == Reservation.Status.DEPOSIT_PENDING || status == Reservation.Status.BOOKED;
+  }
+
+  /** 활성(DEPOSIT_PENDING/BOOKED) 상태에서 벗어나 슬롯이 풀린 경우. */
+  public boolean releasesSlot() {
+    return isActive(previousStatus) && !isActive(status);
+  }
+
+  /** 새로 활성 상태가 되어 슬롯을 점유한 경우. */
+  public boolean occupiesSlot() {
+    return !isActive(previousStatus) && isActive(status);
+  }
+}
@@ -0,0 +1,331 @@
+package com.noshow.app.service;
+
+import com.noshow.app.domain.entity.Venue;
+import com.noshow.app.domain.repository.VenueRepository;
+import com.noshow.app.dto.ReservationFeedDto;
+import com.noshow.app.security.AuthPrincipal;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 업장별 예약 실시간 피드 (SSE).
+ * 커밋된 ReservationChangedEvent 를 업장 채널의 짧은 재전송 로그에 쌓고 구독자별 고정 크기 큐로 나눠준다.
+ * 전송은 소수의 디스패처 스레드가 하므로 대기 중인 연결은 큐와 emitter 만 차지한다.
+ * 느린 구독자는 큐가 차거나 한 번의 send 가 send-timeout-ms 를 넘기면 끊고 (보내던 스레드는 인터럽트),
+ * 재접속 시 Last-Event-ID 로 로그에서 이어 받는다. 멈춘 연결 몇 개가 다른 피드의 전송을 막지 않도록
+ * 디스패처는 dispatch-threads 까지 늘어난다.
+ * 로그에서 이어 줄 수 없으면 reset 이벤트를 보내 클라이언트가 목록을 한 번 다시 읽게 한다.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ReservationEventHub {
+  private final VenueRepository venueRepository;
+
+  @Value("${app.sse.timeout-ms:1800000}")
+  private long emitterTimeoutMs;
+
+  @Value("${app.sse.buffer-size:64}")
+  private int bufferSize;
+
+  @Value("${app.sse.replay-size:256}")
+  private int replaySize;
+
+  @Value("${app.sse.replay-ttl-ms:300000}")
+  private long replayTtlMs;
+
+  @Value("${app.sse.max-subscribers:10000}")
+  private int maxSubscribers;
+
+  @Value("${app.sse.send-timeout-ms:5000}")
+  private long sendTimeoutMs;
+
+  @Value("${app.sse.dispatch-threads:16}")
+  private int dispatchThreads;
+
+  // 재시작 후에도 이전 id 와 겹치지 않도록 시각 기반으로 시작
+  private final AtomicLong sequence = new AtomicLong(System.currentTimeMillis() * 1000);
+  private final Map<Long, Channel> channels = new ConcurrentHashMap<>();
+  private final AtomicInteger subscriberCount = new AtomicInteger();
+  private ThreadPoolExecutor dispatcher;
+
+  /** event 가 null 이면 하트비트, RESET 이면 재동기화 요청. */
+  private record Sequenced(long id, long at, ReservationFeedDto event) {}
+
+  private static final Sequenced HEARTBEAT = new Sequenced(0, 0, null);
+  private static final Sequenced RESET = new Sequenced(-1, 0, null);
+
+  @PostConstruct
+  void startDispatcher() {
+    // 한가하면 스레드를 줄이고, 밀리면 dispatchThreads 까지 늘린다
+    dispatcher = new ThreadPoolExecutor(dispatchThreads, dispatchThreads, 30, TimeUnit.SECONDS,
+      new LinkedBlockingQueue<>(), r -> {
+        Thread t = new Thread(r, "sse-dispatch");
+        t.setDaemon(true);
+        return t;
+      });
+    dispatcher.allowCoreThreadTimeOut(true);
+  }
+
+  @Transactional(readOnly = true)
+  public SseEmitter subscribe(AuthPrincipal owner, Long venueId, String lastEventId) {
+    Venue venue = venueRepository.findById(venueId)
+      .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Venue not found"));
+    if (owner == null || venue.getOwner() == null || !venue.getOwner().getUserId().equals(owner.getUserId())) {
+      throw new ResponseStatusException(HttpStatus.FORBIDDEN, "Only owner can subscribe to reservation events");
+    }
+    if (subscriberCount.incrementAndGet() > maxSubscribers) {
+      subscriberCount.decrementAndGet();
+      throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, "잠시 후 다시 연결해 주세요.");
+    }
+
+    Long resumeFrom = parseId(lastEventId);
+    SseEmitter emitter = new SseEmitter(emitterTimeoutMs);
+    while (true) {
+      Channel channel = channels.computeIfAbsent(venueId, Channel::new);
+      Subscriber subscriber = new Subscriber(emitter, channel);
+      // 로그 조회와 등록을 같은 락 안에서 해야 그 사이 이벤트가 빠지거나 두 번 가지 않는다
+      synchronized (channel) {
+        if (channel.removed) continue;
+        if (resumeFrom != null) {
+          List<Sequenced> missed = channel.since(resumeFrom);
+          if (missed == null || missed.size() > bufferSize) {
+            subscriber.queue.offer(RESET);
+          } else {
+            subscriber.queue.addAll(missed);
+          }
+        }
+        channel.subscribers.add(subscriber);
+      }
+      emitter.onCompletion(subscriber::close);
+      emitter.onTimeout(subscriber::close);
+      emitter.onError(e -> subscriber.close());
+      subscriber.schedule();
+      return emitter;
+    }
+  }
+
+  @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+  public void onReservationChanged(ReservationChangedEvent event) {
+    if (event.venueId() == null) {
+      return;
+    }
+    Sequenced entry = new Sequenced(sequence.incrementAndGet(), System.currentTimeMillis(), new ReservationFeedDto(
+      event.type().name().toLowerCase(),
+      event.reservationId(),
+      event.serviceId(),
+      event.previousStatus(),
+      event.status(),
+      event.scheduledStart(),
+      event.scheduledEnd(),
+      event.partySize()));
+    List<Subscriber> targets = null;
+    while (targets == null) {
+      Channel channel = channels.computeIfAbsent(event.venueId(), Channel::new);
+      synchronized (channel) {
+        if (channel.removed) continue;
+        channel.append(entry);
+        targets = new ArrayList<>(channel.subscribers);
+      }
+    }
+    for (Subscriber s : targets) {
+      s.offer(entry);
+    }
+  }
+
+  /** 끊긴 연결을 찾아내고 프록시가 유휴 연결을 닫지 않도록 주기적으로 주석 한 줄을 보낸다. */
+  @Scheduled(fixedDelayString = "${app.sse.heartbeat-ms:25000}")
+  public void heartbeat() {
+    long now = System.currentTimeMillis();
+    channels.values().removeIf(channel -> {
+      synchronized (channel) {
+        channel.trim(now);
+        for (Subscriber s : channel.subscribers) {
+          if (s.queue.isEmpty()) s.offer(HEARTBEAT);
+        }
+        channel.removed = channel.subscribers.isEmpty() && channel.replay.isEmpty();
+        return channel.removed;
+      }
+    });
+  }
+
+  /** send 하나가 send-timeout-ms 를 넘긴 구독자를 끊고, 막힌 스레드를 풀어 준다. */
+  @Scheduled(fixedDelayString = "${app.sse.stall-check-ms:1000}")
+  public void dropStalled() {
+    long now = System.nanoTime();
+    long limit = TimeUnit.MILLISECONDS.toNanos(sendTimeoutMs);
+    for (Channel channel : channels.values()) {
+      for (Subscriber s : channel.subscribers) {
+        long since = s.sendingSince;
+        Thread sender = s.sender;
+        if (since != 0 && now - since > limit && sender != null) {
+          log.debug("SSE subscriber for venue {} stalled for {} ms, closing", channel.venueId,
+            TimeUnit.NANOSECONDS.toMillis(now - since));
+          s.close();
+          // emitter.complete 는 막힌 send 와 같은 락을 기다리므로 부르지 않고 보내던 스레드를 깨운다
+          if (s.sendingSince == since) {
+            sender.interrupt();
+          }
+        }
+      }
+    }
+  }
+
+  public int subscriberCount() {
+    return subscriberCount.get();
+  }
+
+  @PreDestroy
+  void shutdown() {
+    channels.values().forEach(c -> new ArrayList<>(c.subscribers).forEach(s -> s.emitter.complete()));
+    dispatcher.shutdownNow();
+  }
+
+  private static Long parseId(String value) {
+    if (value == null || value.isBlank()) {
+      return null;
+    }
+    try {
+      return Long.parseLong(value.trim());
+    } catch (NumberFormatException e) {
+      return -1L; // 알 수 없는 id 는 재동기화
+    }
+  }
+
+  private final class Channel {
+    final Long venueId;
+    final ArrayDeque<Sequenced> replay = new ArrayDeque<>();
+    final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+    // 이 id 이하는 로그에 없으므로 그 이전부터 이어 받을 수 없다 (채널이 새로 생기기 전 이벤트 포함)
+    long evictedUpTo = sequence.get();
+    // 맵에서 빠진 채널. 이 채널을 잡은 쪽은 새 채널로 다시 시도한다.
+    boolean removed;
+
+    Channel(Long venueId) {
+      this.venueId = venueId;
+    }
+
+    void append(Sequenced entry) {
+      replay.addLast(entry);
+      trim(entry.at());
+    }
+
+    void trim(long now) {
+      while (!replay.isEmpty() && (replay.size() > replaySize || now - replay.peekFirst().at() > replayTtlMs)) {
+        evictedUpTo = replay.pollFirst().id();
+      }
+    }
+
+    /** lastId 이후 이벤트. 로그 범위를 벗어나면 null. */
+    List<Sequenced> since(long lastId) {
+      if (lastId < evictedUpTo || lastId > sequence.get()) {
+        return null;
+      }
+      List<Sequenced> result = new ArrayList<>();
+      for (Sequenced e : replay) {
+        if (e.id() > lastId) result.add(e);
+      }
+      return result;
+    }
+  }
+
+  private final class Subscriber {
+    final SseEmitter emitter;
+    final Channel channel;
+    final ArrayBlockingQueue<Sequenced> queue = new ArrayBlockingQueue<>(bufferSize + 1);
+    final AtomicBoolean draining = new AtomicBoolean(false);
+    final AtomicBoolean closed = new AtomicBoolean(false);
+    // 진행 중인 send 의 시작 시각(nanoTime)과 스레드. 보내는 중이 아니면 0 / null
+    volatile long sendingSince;
+    volatile Thread sender;
+
+    Subscriber(SseEmitter emitter, Channel channel) {
+      this.emitter = emitter;
+      this.channel = channel;
+    }
+
+    void offer(Sequenced entry) {
+      if (closed.get()) {
+        return;
+      }
+      if (!queue.offer(entry)) {
+        // 따라오지 못하는 구독자는 끊는다. 재접속하면 Last-Event-ID 로 이어 받는다.
+        log.debug("SSE subscriber for venue {} overflowed, closing", channel.venueId);
+        close();
+        emitter.complete();
+        return;
+      }
+      schedule();
+    }
+
+    void schedule() {
+      if (!closed.get() && !queue.isEmpty() && draining.compareAndSet(false, true)) {
+        dispatcher.execute(this::drain);
+      }
+    }
+
+    void drain() {
+      sender = Thread.currentThread();
+      try {
+        Sequenced entry;
+        while (!closed.get() && (entry = queue.poll()) != null) {
+          sendingSince = System.nanoTime();
+          if (entry == HEARTBEAT) {
+            emitter.send(SseEmitter.event().comment("ping"));
+          } else if (entry == RESET) {
+            emitter.send(SseEmitter.event().name("reset").data("{}"));
+          } else {
+            emitter.send(SseEmitter.event()
+              .id(Long.toString(entry.id()))
+              .name(entry.event().getType())
+              .data(entry.event()));
+          }
+          sendingSince = 0;
+        }
+      } catch (IOException | IllegalStateException e) {
+        close();
+      } finally {
+        sendingSince = 0;
+        sender = null;
+        // 끊긴 구독자를 깨우려고 건 인터럽트가 다음 작업으로 새지 않게 지운다
+        Thread.interrupted();
+        draining.set(false);
+      }
+      schedule();
+    }
+
+    void close() {
+      if (closed.compareAndSet(false, true)) {
+        channel.subscribers.remove(this);
+        queue.clear();
+        subscriberCount.decrementAndGet();
+      }
+    }
+  }
+}
@@ -0,0 +1,231 @@
+package com.noshow.app.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.noshow.app.domain.entity.Payment;
+import com.noshow.app.domain.entity.Venue;
+import com.noshow.app.domain.repository.VenueRepository;
+import com.noshow.app.security.AuthPrincipal;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 업장 예약 내역 전체 내보내기 (정산용).
+ * 예약 PAGE_SIZE 건 + 그 결제를 한 번의 조인으로 읽어 합산한 뒤, 커넥션을 돌려주고 나서 응답에 쓴다.
+ * 느린 클라이언트가 다운로드하는 동안 풀 커넥션을 붙잡지 않고, 메모리는 한 페이지 분량으로 일정하다.
+ * CSV 의 문자열 칸이 =, +, -, @ 로 시작하면 스프레드시트가 수식으로 읽지 않도록 ' 를 붙인다.
+ */
+@Service
+@RequiredArgsConstructor
+public class ReservationExportService {
+  private static final LocalDateTime MIN_BOUND = LocalDateTime.of(1970, 1, 1, 0, 0);
+  private static final LocalDateTime MAX_BOUND = LocalDateTime.of(9999, 12, 31, 0, 0);
+  private static final int PAGE_SIZE = 1000;
+  private static final int QUERY_TIMEOUT_SECONDS = 30;
+  private static final String CSV_HEADER = "reservation_id,status,scheduled_start,scheduled_end,booked_at,service_name,"
+    + "party_size,total_price,deposit_amount,paid_amount,refunded_amount,currency,canceled_at,cancel_reason,no_show_marked_at";
+
+  // 안쪽 페이지는 (venue_id, scheduled_start, reservation_id) 순서로 ix_resv_venue_time 을 따라가는 keyset 조회다.
+  // 결제는 잘린 예약 페이지에만 붙이므로 예약 하나의 결제가 두 페이지로 나뉘지 않는다.
+  private static final String EXPORT_SQL = """
+    SELECT r.reservation_id, r.status, r.scheduled_start, r.scheduled_end, r.booked_at, r.party_size,
+           s.service_name, r.total_price_at_booking, r.deposit_amount, r.currency,
+           r.canceled_at, r.cancel_reason, r.no_show_marked_at,
+           p.payment_type, p.status AS payment_status, p.amount
+    FROM (
+      SELECT reservation_id, service_id, status, scheduled_start, scheduled_end, booked_at, party_size,
+             total_price_at_booking, deposit_amount, currency, canceled_at, cancel_reason, no_show_marked_at
+      FROM reservations
+      WHERE venue_id = ? AND scheduled_start >= ? AND scheduled_start < ?
+        AND (scheduled_start > ? OR (scheduled_start = ? AND reservation_id > ?))
+      ORDER BY scheduled_start, reservation_id
+      LIMIT ?
+    ) r
+    LEFT JOIN venue_services s ON s.service_id = r.service_id
+    LEFT JOIN payments p ON p.reservation_id = r.reservation_id
+    ORDER BY r.scheduled_start, r.reservation_id
+    """;
+
+  private final VenueRepository venueRepository;
+  private final JdbcTemplate jdbcTemplate;
+  private final ObjectMapper objectMapper;
+
+  public enum Format {
+    CSV("text/csv;charset=UTF-8", "csv"),
+    NDJSON("application/x-ndjson", "ndjson");
+
+    public final String contentType;
+    public final String extension;
+
+    Format(String contentType, String extension) {
+      this.contentType = contentType;
+      this.extension = extension;
+    }
+
+    public static Format parse(String value) {
+      try {
+        return Format.valueOf(value.trim().toUpperCase());
+      } catch (IllegalArgumentException | NullPointerException e) {
+        throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "지원하지 않는 형식입니다. (csv, ndjson)");
+      }
+    }
+  }
+
+  /** NDJSON 한 줄 (SNAKE_CASE 로 직렬화). */
+  public record ExportRow(Long reservationId, String status, LocalDateTime scheduledStart, LocalDateTime scheduledEnd,
+                          LocalDateTime bookedAt, String serviceName, Integer partySize, BigDecimal totalPrice,
+                          BigDecimal depositAmount, BigDecimal paidAmount, BigDecimal refundedAmount, String currency,
+                          LocalDateTime canceledAt, String cancelReason, LocalDateTime noShowMarkedAt) {
+    ExportRow withAmounts(BigDecimal paid, BigDecimal refunded) {
+      return new ExportRow(reservationId, status, scheduledStart, scheduledEnd, bookedAt, serviceName, partySize,
+        totalPrice, depositAmount, paid, refunded, currency, canceledAt, cancelReason, noShowMarkedAt);
+    }
+  }
+
+  /**
+   * 권한/기간 검사는 응답을 쓰기 전에 끝내고, 실제 조회는 돌려준 본문이 쓰일 때 시작한다.
+   */
+  @Transactional(readOnly = true)
+  public StreamingResponseBody export(AuthPrincipal owner, Long venueId, LocalDate from, LocalDate to, Format format) {
+    Venue venue = venueRepository.findById(venueId)
+      .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Venue not found"));
+    if (owner == null || venue.getOwner() == null || !venue.getOwner().getUserId().equals(owner.getUserId())) {
+      throw new ResponseStatusException(HttpStatus.FORBIDDEN, "Only owner can export reservations");
+    }
+    if (from != null && to != null && to.isBefore(from)) {
+      throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "종료일은 시작일 이후여야 합니다.");
+    }
+    LocalDateTime start = from != null ? from.atStartOfDay() : MIN_BOUND;
+    LocalDateTime end = to != null ? to.plusDays(1).atStartOfDay() : MAX_BOUND;
+
+    return out -> {
+      Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), 64 * 1024);
+      if (format == Format.CSV) {
+        writer.write('\uFEFF'); // 엑셀에서 한글이 깨지지 않도록 BOM
+        writer.write(CSV_HEADER);
+        writer.write('\n');
+      }
+      JdbcTemplate paged = new JdbcTemplate(jdbcTemplate.getDataSource());
+      paged.setQueryTimeout(QUERY_TIMEOUT_SECONDS);
+      LocalDateTime afterStart = start;
+      long afterId = 0;
+      while (true) {
+        RowAccumulator acc = new RowAccumulator();
+        paged.query(EXPORT_SQL, acc::accept, venueId, start, end, afterStart, afterStart, afterId, PAGE_SIZE);
+        List<ExportRow> rows = acc.finish();
+        for (ExportRow row : rows) {
+          if (format == Format.NDJSON) {
+            writer.write(objectMapper.writeValueAsString(row));
+          } else {
+            writeCsv(writer, row);
+          }
+          writer.write('\n');
+        }
+        if (rows.size() < PAGE_SIZE) {
+          break;
+        }
+        ExportRow last = rows.get(rows.size() - 1);
+        afterStart = last.scheduledStart();
+        afterId = last.reservationId();
+      }
+      writer.flush();
+    };
+  }
+
+  /** 같은 예약의 결제 행들을 합산하다가 예약이 바뀌면 한 줄을 모은다. */
+  private static class RowAccumulator {
+    private final List<ExportRow> rows = new ArrayList<>();
+    private ExportRow current;
+    private BigDecimal paid = BigDecimal.ZERO;
+    private BigDecimal refunded = BigDecimal.ZERO;
+
+    void accept(ResultSet rs) throws SQLException {
+      long id = rs.getLong("reservation_id");
+      if (current == null || current.reservationId() != id) {
+        flush();
+        current = new ExportRow(
+          id,
+          rs.getString("status"),
+          rs.getObject("scheduled_start", LocalDateTime.class),
+          rs.getObject("scheduled_end", LocalDateTime.class),
+          rs.getObject("booked_at", LocalDateTime.class),
+          rs.getString("service_name"),
+          rs.getInt("party_size"),
+          rs.getBigDecimal("total_price_at_booking"),
+          rs.getBigDecimal("deposit_amount"),
+          null,
+          null,
+          rs.getString("currency"),
+          rs.getObject("canceled_at", LocalDateTime.class),
+          rs.getString("cancel_reason"),
+          rs.getObject("no_show_marked_at", LocalDateTime.class));
+      }
+      String type = rs.getString("payment_type");
+      BigDecimal amount = rs.getBigDecimal("amount");
+      if (type == null || amount == null || !Payment.Status.CAPTURED.name().equals(rs.getString("payment_status"))) {
+        return;
+      }
+      if (Payment.PaymentType.REFUND.name().equals(type)) {
+        refunded = refunded.add(amount);
+      } else {
+        paid = paid.add(amount);
+      }
+    }
+
+    List<ExportRow> finish() {
+      flush();
+      return rows;
+    }
+
+    private void flush() {
+      if (current == null) {
+        return;
+      }
+      rows.add(current.withAmounts(paid, refunded));
+      current = null;
+      paid = BigDecimal.ZERO;
+      refunded = BigDecimal.ZERO;
+    }
+  }
+
+  private static void writeCsv(Writer writer, ExportRow row) throws IOException {
+    Object[] values = {row.reservationId(), row.status(), row.scheduledStart(), row.scheduledEnd(), row.bookedAt(),
+      row.serviceName(), row.partySize(), row.totalPrice(), row.depositAmount(), row.paidAmount(),
+      row.refundedAmount(), row.currency(), row.canceledAt(), row.cancelReason(), row.noShowMarkedAt()};
+    for (int i = 0; i < values.length; i++) {
+      if (i > 0) writer.write(',');
+      writer.write(csvField(values[i]));
+    }
+  }
+
+  private static String csvField(Object value) {
+    if (value == null) {
+      return "";
+    }
+    String s = value instanceof BigDecimal d ? d.toPlainString() : value.toString();
+    if (value instanceof String && !s.isEmpty() && "=+-@\t\r".indexOf(s.charAt(0)) >= 0) {
+      s = "'" + s;
+    }
+    if (s.indexOf(',') < 0 && s.indexOf('"') < 0 && s.indexOf('\n') < 0 && s.indexOf('\r') < 0) {
+      return s;
+    }
+    return '"' + s.replace("\"", "\"\"") + '"';
+  }
+}
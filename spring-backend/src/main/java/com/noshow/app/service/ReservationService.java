@@ -1,29 +1,35 @@
 package com.noshow.app.service;
 
+import com.noshow.app.common.CursorPagination;
+import com.noshow.app.common.KeysetCursor;
 import com.noshow.app.common.Pagination;
 import com.noshow.app.domain.entity.Payment;
 import com.noshow.app.domain.entity.Reservation;
 import com.noshow.app.domain.entity.User;
 import com.noshow.app.domain.entity.UserGrade;
+import com.noshow.app.domain.entity.Venue;
 import com.noshow.app.domain.entity.VenueService;
 import com.noshow.app.domain.repository.PaymentRepository;
 import com.noshow.app.domain.repository.ReservationRepository;
 import com.noshow.app.domain.repository.ReviewRepository;
 import com.noshow.app.domain.repository.UserGradeRepository;
+import com.noshow.app.domain.repository.UserRepository;
+import com.noshow.app.domain.repository.VenueRepository;
 import com.noshow.app.domain.repository.VenueServiceRepository;
-import com.noshow.app.domain.repository.BusinessHourRepository;
-import com.noshow.app.domain.repository.AvailabilityBlockRepository;
 import com.noshow.app.dto.CancelReservationRequest;
 import com.noshow.app.dto.CreateReservationRequest;
 import com.noshow.app.dto.PaymentDto;
 import com.noshow.app.dto.ReservationDto;
+import com.noshow.app.dto.SlotHoldDto;
+import com.noshow.app.security.AuthPrincipal;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Sort;
 import org.springframework.http.HttpStatus;
-import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.server.ResponseStatusException;
@@ -32,49 +38,200 @@ import java.math.BigDecimal;
 import java.math.RoundingMode;
 import java.time.Duration;
 import java.time.LocalDateTime;
-import java.time.LocalDate;
-import java.time.LocalTime;
 import java.time.OffsetDateTime;
 import java.time.ZoneId;
+import java.util.Collection;
 import java.util.List;
 import java.util.Comparator;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.LongSupplier;
 import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
 @Slf4j
 public class ReservationService {
-  private static final Duration DEPOSIT_TIMEOUT = Duration.ofMinutes(2);
+  static final Duration DEPOSIT_TIMEOUT = Duration.ofMinutes(2);
   private static final String DEPOSIT_TIMEOUT_REASON = "Deposit payment window expired";
+  private static final int MAX_PAGE_LIMIT = 100;
+  private static final long COUNT_CACHE_TTL_MILLIS = 60_000;
+  private static final int COUNT_CACHE_MAX_ENTRIES = 10_000;
 
   private final ReservationRepository reservationRepository;
   private final VenueServiceRepository venueServiceRepository;
   private final UserGradeRepository userGradeRepository;
+  private final UserRepository userRepository;
+  private final VenueRepository venueRepository;
   private final PaymentRepository paymentRepository;
   private final ReviewRepository reviewRepository;
-  private final BusinessHourRepository businessHourRepository;
-  private final AvailabilityBlockRepository availabilityBlockRepository;
+  private final SlotAvailabilityIndex availabilityIndex;
+  private final ServiceBookingLocks bookingLocks;
+  private final SlotLedgerService slotLedger;
+  private final SlotHoldService slotHolds;
+  private final NoShowRiskScorer riskScorer;
+  private final ApplicationEventPublisher eventPublisher;
+
+  // 목록 총 개수 추정치 (includeTotal 요청 시에만 사용). 상한에 닿으면 만료된 것부터 지우고, 그래도 차 있으면 저장하지 않는다.
+  private final Map<String, CachedCount> countCache = new ConcurrentHashMap<>();
+
+  private record CachedCount(long value, long loadedAt) {}
 
   @Transactional
-  public ReservationDto createReservation(CreateReservationRequest request, User customer) {
-    // Only customers can book (owners/admin 차단)
-    if (customer.getUserRoles() != null) {
-      boolean blocked = customer.getUserRoles().stream()
-        .anyMatch(ur -> {
-          String rn = ur.getRole().getRoleName().toLowerCase();
-          return "owner".equals(rn) || "admin".equals(rn);
-        });
-      if (blocked) {
-        throw new ResponseStatusException(HttpStatus.FORBIDDEN, "사업자/관리자는 예약할 수 없습니다.");
-      }
+  public ReservationDto createReservation(CreateReservationRequest request, AuthPrincipal customer) {
+    return createReservation(request, customer, null);
+  }
+
+  /** paymentWindow 가 있으면 기본 제한 시간 대신 지금부터 그 시간까지 보증금 결제를 기다린다 (대기열 승격). */
+  @Transactional
+  public ReservationDto createReservation(CreateReservationRequest request, AuthPrincipal customer, Duration paymentWindow) {
+    requireCustomer(customer);
+    VenueService service = lockService(request.getServiceId());
+    LocalDateTime start = parseDateTime(request.getScheduledStart());
+    LocalDateTime end = start.plusMinutes(service.getDurationMinutes());
+    validateSlot(service, start, end, request.getPartySize());
+
+    // 인덱스는 거절만 확정한다. 통과한 경우 슬롯 원장에서 조건부 증가로 최종 확인 (체크아웃 홀드 몫은 비워 둔다)
+    int held = slotHolds.heldUnits(service.getServiceId(), start, end);
+    if (!slotLedger.tryReserve(service, start, end, held)) {
+      if (held > 0) slotHolds.recordContention();
+      throw new ResponseStatusException(HttpStatus.CONFLICT, "해당 시간대는 이미 예약 진행 중입니다.");
     }
 
-    VenueService service = venueServiceRepository.findById(request.getServiceId())
-      .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Service not found"));
+    Quote quote = quote(service, start, request.getPartySize(), customer);
+    Reservation reservation = Reservation.builder()
+      .customer(userRepository.getReferenceById(customer.getUserId()))
+      .venue(service.getVenue())
+      .service(service)
+      .partySize(request.getPartySize())
+      .scheduledStart(start)
+      .scheduledEnd(end)
+      .status(Reservation.Status.DEPOSIT_PENDING)
+      .depositDueAt(paymentWindow != null ? LocalDateTime.now().plus(paymentWindow).withNano(0) : null)
+      .totalPriceAtBooking(quote.totalPrice())
+      .appliedDepositRatePercent(quote.depositRate())
+      .appliedGrade(quote.grade())
+      .appliedGradeDiscountPercent(quote.discount())
+      .depositAmount(quote.depositAmount())
+      .currency(service.getVenue().getCurrency())
+      .build();
 
+    try {
+      reservationRepository.saveAndFlush(reservation);
+    } catch (DataIntegrityViolationException e) {
+      // 업그레이드 전 DB 의 uq_exact_slot 등 제약에 걸린 경우도 슬롯 충돌로 응답
+      throw new ResponseStatusException(HttpStatus.CONFLICT, "해당 시간대는 이미 예약 진행 중입니다.");
+    }
+    publish(ReservationChangedEvent.Type.CREATED, reservation, null);
+    return ReservationDto.fromEntity(reservation, true);
+  }
+
+  /**
+   * 결제 화면 진입 시 슬롯을 TTL 동안 메모리에서만 잡아 둔다. 예약 행은 payHold 가 성공할 때 만든다.
+   * 검증은 createReservation 과 같고, 원장 여유는 다른 홀드 몫을 뺀 뒤 한 자리가 남는지만 본다.
+   */
+  @Transactional
+  public SlotHoldDto holdSlot(CreateReservationRequest request, AuthPrincipal customer) {
+    requireCustomer(customer);
+    VenueService service = lockService(request.getServiceId());
     LocalDateTime start = parseDateTime(request.getScheduledStart());
     LocalDateTime end = start.plusMinutes(service.getDurationMinutes());
+    if (!start.isAfter(LocalDateTime.now())) {
+      throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "지난 시간은 예약할 수 없습니다.");
+    }
+    validateSlot(service, start, end, request.getPartySize());
+
+    int held = slotHolds.heldUnits(service.getServiceId(), start, end);
+    if (!slotLedger.hasRoom(service, start, end, held)) {
+      if (held > 0) slotHolds.recordContention();
+      throw new ResponseStatusException(HttpStatus.CONFLICT, "해당 시간대는 이미 예약 진행 중입니다.");
+    }
+
+    Quote quote = quote(service, start, request.getPartySize(), customer);
+    SlotHoldService.Hold hold = slotHolds.place(service.getServiceId(), customer.getUserId(), start, end,
+      request.getPartySize(), quote.totalPrice(), quote.depositRate(),
+      quote.grade() != null ? quote.grade().getGradeId() : null, quote.discount(), quote.depositAmount(),
+      service.getVenue().getCurrency());
+    return SlotHoldDto.fromHold(hold);
+  }
+
+  public void releaseHold(String holdId, AuthPrincipal customer) {
+    SlotHoldService.Hold hold = requireOwnHold(holdId, customer);
+    slotHolds.release(hold);
+  }
 
+  /**
+   * 홀드의 보증금 결제. 결제가 성공하는 트랜잭션에서 예약 행을 BOOKED 로 바로 만들고 슬롯 원장을 점유한다.
+   * 가격/할인은 홀드를 만들 때의 견적을 그대로 쓴다.
+   */
+  @Transactional
+  public PaymentDto payHold(String holdId, String paymentMethod, AuthPrincipal payer) {
+    SlotHoldService.Hold hold = requireOwnHold(holdId, payer);
+    VenueService service = lockService(hold.serviceId());
+    if (!slotHolds.claim(hold)) {
+      throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "보증금 결제 시간이 만료되었습니다.");
+    }
+    // 다른 노드에서 같은 슬롯이 먼저 찼으면 여기서 걸린다. 이 홀드는 커밋까지 남아 있으므로 자기 몫은 뺀다.
+    int held = Math.max(0, slotHolds.heldUnits(service.getServiceId(), hold.start(), hold.end()) - 1);
+    if (!slotLedger.tryReserve(service, hold.start(), hold.end(), held)) {
+      slotHolds.recordContention();
+      throw new ResponseStatusException(HttpStatus.CONFLICT, "해당 시간대는 이미 예약 진행 중입니다.");
+    }
+
+    User payerRef = userRepository.getReferenceById(payer.getUserId());
+    Reservation reservation = Reservation.builder()
+      .customer(payerRef)
+      .venue(service.getVenue())
+      .service(service)
+      .partySize(hold.partySize())
+      .scheduledStart(hold.start())
+      .scheduledEnd(hold.end())
+      .status(Reservation.Status.BOOKED)
+      .totalPriceAtBooking(hold.totalPrice())
+      .appliedDepositRatePercent(hold.depositRate())
+      .appliedGrade(hold.gradeId() != null ? userGradeRepository.getReferenceById(hold.gradeId()) : null)
+      .appliedGradeDiscountPercent(hold.discount())
+      .depositAmount(hold.depositAmount())
+      .currency(hold.currency())
+      .build();
+    try {
+      reservationRepository.saveAndFlush(reservation);
+    } catch (DataIntegrityViolationException e) {
+      throw new ResponseStatusException(HttpStatus.CONFLICT, "해당 시간대는 이미 예약 진행 중입니다.");
+    }
+
+    Payment payment = Payment.builder()
+      .reservation(reservation)
+      .payer(payerRef)
+      .paymentType(Payment.PaymentType.DEPOSIT)
+      .method(paymentMethod)
+      .amount(hold.depositAmount())
+      .currency(hold.currency())
+      .status(Payment.Status.CAPTURED)
+      .paidAt(LocalDateTime.now())
+      .build();
+    paymentRepository.save(payment);
+
+    publish(ReservationChangedEvent.Type.CREATED, reservation, null);
+    return PaymentDto.fromEntity(payment);
+  }
+
+  /** Only customers can book (owners/admin 차단) */
+  private static void requireCustomer(AuthPrincipal customer) {
+    if (customer.hasRole("owner") || customer.hasRole("admin")) {
+      throw new ResponseStatusException(HttpStatus.FORBIDDEN, "사업자/관리자는 예약할 수 없습니다.");
+    }
+  }
+
+  /** 같은 서비스에 대한 예약 시도 직렬화: 노드 내 스트라이프 락 + 서비스 행 FOR UPDATE (둘 다 트랜잭션 종료 시 해제) */
+  private VenueService lockService(Long serviceId) {
+    bookingLocks.lockUntilCompletion(serviceId);
+    return venueServiceRepository.findByIdForUpdate(serviceId)
+      .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Service not found"));
+  }
+
+  private void validateSlot(VenueService service, LocalDateTime start, LocalDateTime end, int partySize) {
     // 30분 단위 체크
     if (start.getMinute() % 30 != 0) {
       throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "예약 시간은 30분 단위로만 가능합니다.");
@@ -83,79 +240,54 @@ public class ReservationService {
     // party size validation
     int minParty = service.getMinPartySize() != null ? service.getMinPartySize() : 1;
     int maxParty = service.getMaxPartySize() != null ? service.getMaxPartySize() : minParty;
-    if (request.getPartySize() < minParty || request.getPartySize() > maxParty) {
+    if (partySize < minParty || partySize > maxParty) {
       throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "인원은 " + minParty + " ~ " + maxParty + "명만 가능합니다.");
     }
 
-    // business hours validation (30m aligned)
-    LocalDate date = start.toLocalDate();
-    int dow = start.getDayOfWeek().getValue() % 7; // Java Mon=1 -> 1; we need 0=Sun
-    List<com.noshow.app.domain.entity.BusinessHour> hours = businessHourRepository.findByVenue_VenueId(service.getVenue().getVenueId());
-    boolean withinHours = hours.stream().anyMatch(h -> {
-      if (h.getDayOfWeek() != dow) return false;
-      LocalTime open = h.getOpenTime();
-      LocalTime close = h.getCloseTime();
-      return !start.toLocalTime().isBefore(open) && !end.toLocalTime().isAfter(close);
-    });
-    if (!withinHours) {
-      throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "영업 시간 내에서만 예약 가능합니다.");
-    }
-
-    // availability blocks validation
-    List<com.noshow.app.domain.entity.AvailabilityBlock> blocks = availabilityBlockRepository.findByVenue_VenueId(service.getVenue().getVenueId());
-    boolean blocked = blocks.stream().anyMatch(b -> {
-      if (!b.getBlockDate().equals(date)) return false;
-      LocalTime s = b.getStartTime();
-      LocalTime e = b.getEndTime();
-      return start.toLocalTime().isBefore(e) && end.toLocalTime().isAfter(s);
-    });
-    if (blocked) {
-      throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "해당 시간은 예약이 불가합니다.");
-    }
-
-    // overlap validation with active reservations
-    List<Reservation.Status> activeStatuses = List.of(Reservation.Status.DEPOSIT_PENDING, Reservation.Status.BOOKED);
-    boolean overlap = reservationRepository.existsByServiceAndStatusInAndScheduledStartLessThanAndScheduledEndGreaterThan(
-      service, activeStatuses, end, start);
-    if (overlap) {
-      throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "해당 시간대는 이미 예약 진행 중입니다.");
-    }
-
-    BigDecimal totalPrice = service.getPrice().multiply(BigDecimal.valueOf(request.getPartySize()));
-    double depositRate = service.getDepositRatePercent() != null
+    // business hours / availability blocks / active reservations validation (in-memory slot index)
+    switch (availabilityIndex.check(service, start, end)) {
+      case OUTSIDE_HOURS -> throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "영업 시간 내에서만 예약 가능합니다.");
+      case BLOCKED -> throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "해당 시간은 예약이 불가합니다.");
+      case OCCUPIED -> throw new ResponseStatusException(HttpStatus.CONFLICT, "해당 시간대는 이미 예약 진행 중입니다.");
+      case AVAILABLE -> { }
+    }
+  }
+
+  private record Quote(BigDecimal totalPrice, double depositRate, UserGrade grade, double discount, BigDecimal depositAmount) {}
+
+  private Quote quote(VenueService service, LocalDateTime start, int partySize, AuthPrincipal customer) {
+    BigDecimal totalPrice = service.getPrice().multiply(BigDecimal.valueOf(partySize));
+    double baseRate = service.getDepositRatePercent() != null
       ? service.getDepositRatePercent()
       : service.getVenue().getDefaultDepositRatePercent();
+    // 노쇼 위험도가 평균보다 높으면 보증금 비율을 올린다 (메모리 조회만)
+    double depositRate = Math.min(100.0,
+      baseRate + riskScorer.depositSurchargePercent(customer.getUserId(), service.getVenue().getVenueId(), start));
 
-    UserGrade grade = customer.getGrade();
-    double discount = grade != null && grade.getDepositDiscountPercent() != null
-      ? grade.getDepositDiscountPercent() : 0.0;
+    double discount = customer.getDepositDiscountPercent() != null ? customer.getDepositDiscountPercent() : 0.0;
 
     BigDecimal depositAmount = totalPrice
       .multiply(BigDecimal.valueOf(depositRate / 100.0))
       .multiply(BigDecimal.valueOf(1 - (discount / 100.0)))
       .setScale(0, RoundingMode.HALF_UP);
+    UserGrade applied = customer.getGradeId() != null
+      ? userGradeRepository.getReferenceById(customer.getGradeId())
+      : userGradeRepository.findFirstByIsDefaultTrueOrderByPriorityAsc().orElse(null);
+    return new Quote(totalPrice, depositRate, applied, discount, depositAmount);
+  }
 
-    Reservation reservation = Reservation.builder()
-      .customer(customer)
-      .venue(service.getVenue())
-      .service(service)
-      .partySize(request.getPartySize())
-      .scheduledStart(start)
-      .scheduledEnd(end)
-      .status(Reservation.Status.DEPOSIT_PENDING)
-      .totalPriceAtBooking(totalPrice)
-      .appliedDepositRatePercent(depositRate)
-      .appliedGrade(grade != null ? grade : userGradeRepository.findFirstByIsDefaultTrueOrderByPriorityAsc().orElse(null))
-      .appliedGradeDiscountPercent(discount)
-      .depositAmount(depositAmount)
-      .currency(service.getVenue().getCurrency())
-      .build();
-
-    reservationRepository.save(reservation);
-    return ReservationDto.fromEntity(reservation, true);
+  private SlotHoldService.Hold requireOwnHold(String holdId, AuthPrincipal customer) {
+    SlotHoldService.Hold hold = slotHolds.find(holdId);
+    if (hold == null) {
+      throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "보증금 결제 시간이 만료되었습니다.");
+    }
+    if (!hold.customerUserId().equals(customer.getUserId())) {
+      throw new ResponseStatusException(HttpStatus.FORBIDDEN, "Only the booker can pay the deposit");
+    }
+    return hold;
   }
 
-  private LocalDateTime parseDateTime(String value) {
+  static LocalDateTime parseDateTime(String value) {
     try {
       if (value.endsWith("Z") || value.matches(".*[+-]\\d{2}:?\\d{2}$")) {
         // convert to server default timezone
@@ -168,34 +300,133 @@ public class ReservationService {
   }
 
   @Transactional(readOnly = true)
-  public ReservationsPage listMyReservations(User user, int page, int limit, String status) {
+  public ReservationsPage listMyReservations(AuthPrincipal user, int page, int limit, String status) {
     PageRequest pageable = PageRequest.of(Math.max(page - 1, 0), limit, Sort.by(Sort.Direction.DESC, "bookedAt"));
-    Page<Reservation> result = reservationRepository.findByCustomer_UserId(user.getUserId(), pageable);
+    Page<Reservation> result;
     if (status != null && !status.isBlank() && !"all".equalsIgnoreCase(status)) {
       Reservation.Status st = Reservation.Status.valueOf(status);
       result = reservationRepository.findByCustomer_UserIdAndStatus(user.getUserId(), st, pageable);
+    } else {
+      result = reservationRepository.findByCustomer_UserId(user.getUserId(), pageable);
     }
-    List<ReservationDto> data = result.getContent().stream()
-      .map(r -> ReservationDto.fromEntity(r, true, reviewRepository.existsByReservation_ReservationId(r.getReservationId())))
-      .collect(Collectors.toList());
+    List<ReservationDto> data = toDtos(result.getContent(), true);
     Pagination pagination = new Pagination(result.getNumber() + 1, result.getSize(), result.getTotalElements(), result.getTotalPages());
     return new ReservationsPage(data, pagination);
   }
 
   @Transactional(readOnly = true)
-  public ReservationsPage listOwnerReservations(User owner, Long venueId, int page, int limit) {
-    VenueService dummy = new VenueService(); // just to avoid import issues (not used)
+  public ReservationsPage listOwnerReservations(AuthPrincipal owner, Long venueId, int page, int limit) {
+    requireVenueOwner(owner, venueId);
     PageRequest pageable = PageRequest.of(Math.max(page - 1, 0), limit, Sort.by(Sort.Direction.DESC, "bookedAt"));
     Page<Reservation> result = reservationRepository.findByVenue_VenueId(venueId, pageable);
-    List<ReservationDto> data = result.getContent().stream()
-      .map(r -> ReservationDto.fromEntity(r, true))
-      .collect(Collectors.toList());
+    List<ReservationDto> data = toDtos(result.getContent(), false);
     Pagination pagination = new Pagination(result.getNumber() + 1, result.getSize(), result.getTotalElements(), result.getTotalPages());
     return new ReservationsPage(data, pagination);
   }
 
+  /**
+   * 내 예약 목록 keyset 페이지. COUNT 는 includeTotal 일 때만 (캐시된 추정치로) 붙인다.
+   */
+  @Transactional(readOnly = true)
+  public ReservationsSlice listMyReservationsAfter(AuthPrincipal user, String cursor, int limit, String status, boolean includeTotal) {
+    int size = clampLimit(limit);
+    Reservation.Status st = parseStatusFilter(status);
+    KeysetCursor from = KeysetCursor.decodeOr(cursor, KeysetCursor.FIRST_DESC);
+    List<Reservation> rows = reservationRepository.findCustomerPageBefore(
+      user.getUserId(), st, from.at(), from.id(), PageRequest.of(0, size + 1));
+    Long total = includeTotal
+      ? cachedCount("customer:" + user.getUserId() + ":" + st, () -> st == null
+        ? reservationRepository.countByCustomer_UserId(user.getUserId())
+        : reservationRepository.countByCustomer_UserIdAndStatus(user.getUserId(), st))
+      : null;
+    return toSlice(rows, size, total, true);
+  }
+
+  @Transactional(readOnly = true)
+  public ReservationsSlice listOwnerReservationsAfter(AuthPrincipal owner, Long venueId, String cursor, int limit, boolean includeTotal) {
+    requireVenueOwner(owner, venueId);
+    int size = clampLimit(limit);
+    KeysetCursor from = KeysetCursor.decodeOr(cursor, KeysetCursor.FIRST_DESC);
+    List<Reservation> rows = reservationRepository.findVenuePageBefore(
+      venueId, from.at(), from.id(), PageRequest.of(0, size + 1));
+    Long total = includeTotal
+      ? cachedCount("venue:" + venueId, () -> reservationRepository.countByVenue_VenueId(venueId))
+      : null;
+    return toSlice(rows, size, total, false);
+  }
+
+  private void requireVenueOwner(AuthPrincipal owner, Long venueId) {
+    Venue venue = venueRepository.findById(venueId)
+      .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Venue not found"));
+    if (owner == null || venue.getOwner() == null || !venue.getOwner().getUserId().equals(owner.getUserId())) {
+      throw new ResponseStatusException(HttpStatus.FORBIDDEN, "Only venue owner can view reservations");
+    }
+  }
+
+  public record ReservationsSlice(List<ReservationDto> data, CursorPagination pagination) {}
+
+  private ReservationsSlice toSlice(List<Reservation> rows, int size, Long total, boolean withReviewFlag) {
+    boolean hasNext = rows.size() > size;
+    List<Reservation> page = hasNext ? rows.subList(0, size) : rows;
+    String next = null;
+    if (hasNext) {
+      Reservation last = page.get(page.size() - 1);
+      next = new KeysetCursor(last.getBookedAt(), last.getReservationId()).encode();
+    }
+    List<ReservationDto> data = toDtos(page, withReviewFlag);
+    return new ReservationsSlice(data, new CursorPagination(size, hasNext, next, total));
+  }
+
+  /**
+   * 목록 한 페이지를 DTO 로 변환. venue/service 는 페이지 조회의 entity graph 로 이미 로드되어 있고
+   * 결제 목록과 리뷰 여부는 페이지 크기와 상관없이 각각 IN 쿼리 한 번으로 채운다.
+   */
+  private List<ReservationDto> toDtos(List<Reservation> rows, boolean withReviewFlag) {
+    if (rows.isEmpty()) {
+      return List.of();
+    }
+    reservationRepository.fetchPayments(rows);
+    Set<Long> reviewed = withReviewFlag
+      ? reviewRepository.findReviewedReservationIds(rows.stream().map(Reservation::getReservationId).toList())
+      : Set.of();
+    return rows.stream()
+      .map(r -> ReservationDto.fromEntity(r, true, withReviewFlag ? reviewed.contains(r.getReservationId()) : null))
+      .collect(Collectors.toList());
+  }
+
+  private long cachedCount(String key, LongSupplier loader) {
+    long now = System.currentTimeMillis();
+    CachedCount cached = countCache.get(key);
+    if (cached != null && now - cached.loadedAt() <= COUNT_CACHE_TTL_MILLIS) {
+      return cached.value();
+    }
+    long value = loader.getAsLong();
+    if (cached == null && countCache.size() >= COUNT_CACHE_MAX_ENTRIES) {
+      countCache.values().removeIf(c -> now - c.loadedAt() > COUNT_CACHE_TTL_MILLIS);
+    }
+    if (cached != null || countCache.size() < COUNT_CACHE_MAX_ENTRIES) {
+      countCache.put(key, new CachedCount(value, now));
+    }
+    return value;
+  }
+
+  private static int clampLimit(int limit) {
+    return Math.max(1, Math.min(limit, MAX_PAGE_LIMIT));
+  }
+
+  private static Reservation.Status parseStatusFilter(String status) {
+    if (status == null || status.isBlank() || "all".equalsIgnoreCase(status)) {
+      return null;
+    }
+    try {
+      return Reservation.Status.valueOf(status);
+    } catch (IllegalArgumentException e) {
+      throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Invalid status");
+    }
+  }
+
   @Transactional
-  public ReservationDto cancelReservation(Long reservationId, CancelReservationRequest request, User user) {
+  public ReservationDto cancelReservation(Long reservationId, CancelReservationRequest request, AuthPrincipal user) {
     Reservation reservation = reservationRepository.findById(reservationId)
       .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Reservation not found"));
 
@@ -211,21 +442,25 @@ public class ReservationService {
       throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Cancellations are allowed up to 24h before start");
     }
 
+    Reservation.Status previous = reservation.getStatus();
     reservation.setStatus(Reservation.Status.CANCELED);
     reservation.setCancelReason(request.getCancelReason());
     reservation.setCanceledAt(now);
-    reservation.setCanceledBy(user);
+    reservation.setCanceledBy(reservation.getCustomer());
 
     // 환불 처리 (보증금 결제된 경우)
-    refundDepositIfExists(reservation, user);
+    refundDepositIfExists(reservation, reservation.getCustomer());
 
-    reservationRepository.save(reservation);
+    reservationRepository.saveAndFlush(reservation);
+    slotLedger.release(reservation);
+    publish(ReservationChangedEvent.Type.CANCELED, reservation, previous);
     return ReservationDto.fromEntity(reservation, true);
   }
 
   @Transactional
-  public PaymentDto payDeposit(Long reservationId, String paymentMethod, User payer) {
-    Reservation reservation = reservationRepository.findById(reservationId)
+  public PaymentDto payDeposit(Long reservationId, String paymentMethod, AuthPrincipal payer) {
+    // 만료 배치와 동시에 처리되지 않도록 행 락
+    Reservation reservation = reservationRepository.findByIdForUpdate(reservationId)
       .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Reservation not found"));
 
     if (!reservation.getCustomer().getUserId().equals(payer.getUserId())) {
@@ -234,7 +469,9 @@ public class ReservationService {
 
     LocalDateTime now = LocalDateTime.now();
     if (markDepositTimeoutIfExpired(reservation, now)) {
-      reservationRepository.save(reservation);
+      reservationRepository.saveAndFlush(reservation);
+      slotLedger.release(reservation);
+      publish(ReservationChangedEvent.Type.EXPIRED, reservation, Reservation.Status.DEPOSIT_PENDING);
       throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "보증금 결제 시간이 만료되었습니다.");
     }
 
@@ -244,7 +481,7 @@ public class ReservationService {
 
     Payment payment = Payment.builder()
       .reservation(reservation)
-      .payer(payer)
+      .payer(reservation.getCustomer())
       .paymentType(Payment.PaymentType.DEPOSIT)
       .method(paymentMethod)
       .amount(reservation.getDepositAmount())
@@ -256,11 +493,12 @@ public class ReservationService {
     paymentRepository.save(payment);
     reservation.setStatus(Reservation.Status.BOOKED);
     reservationRepository.save(reservation);
+    publish(ReservationChangedEvent.Type.PAID, reservation, Reservation.Status.DEPOSIT_PENDING);
     return PaymentDto.fromEntity(payment);
   }
 
   @Transactional
-  public ReservationDto ownerUpdateStatus(Long reservationId, String action, String reason, User owner) {
+  public ReservationDto ownerUpdateStatus(Long reservationId, String action, String reason, AuthPrincipal owner) {
     Reservation reservation = reservationRepository.findById(reservationId)
       .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Reservation not found"));
 
@@ -268,41 +506,61 @@ public class ReservationService {
       throw new ResponseStatusException(HttpStatus.FORBIDDEN, "Only venue owner can manage reservations");
     }
 
+    Reservation.Status previous = reservation.getStatus();
     if ("NO_SHOW".equalsIgnoreCase(action)) {
       reservation.setStatus(Reservation.Status.NO_SHOW);
     } else if ("CANCEL".equalsIgnoreCase(action)) {
       reservation.setStatus(Reservation.Status.CANCELED);
       reservation.setCancelReason(reason);
       reservation.setCanceledAt(LocalDateTime.now());
-      reservation.setCanceledBy(owner);
-      refundDepositIfExists(reservation, owner);
+      reservation.setCanceledBy(reservation.getVenue().getOwner());
+      refundDepositIfExists(reservation, reservation.getVenue().getOwner());
     } else if ("COMPLETE".equalsIgnoreCase(action) || "COMPLETED".equalsIgnoreCase(action)) {
       reservation.setStatus(Reservation.Status.COMPLETED);
     } else {
       throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Invalid action");
     }
 
-    reservationRepository.save(reservation);
+    reservationRepository.saveAndFlush(reservation);
+    if (ReservationChangedEvent.isActive(previous) && !ReservationChangedEvent.isActive(reservation.getStatus())) {
+      slotLedger.release(reservation);
+    }
+    publish(reservation.getStatus() == Reservation.Status.CANCELED
+      ? ReservationChangedEvent.Type.CANCELED
+      : ReservationChangedEvent.Type.STATUS_CHANGED, reservation, previous);
     return ReservationDto.fromEntity(reservation, true);
   }
 
+  /**
+   * 주어진 예약 중 결제 기한이 지난 DEPOSIT_PENDING 건을 한 번의 UPDATE 로 만료시킨다.
+   * DepositExpiryScheduler 의 타이머와 안전 스윕이 배치마다 호출한다 (배치 하나가 트랜잭션 하나). 만료된 id 를 돌려준다.
+   */
   @Transactional
-  @Scheduled(fixedDelayString = "${app.deposit-expire-scan-ms:60000}")
-  public void expireStaleDepositPending() {
-    LocalDateTime now = LocalDateTime.now();
-    List<Reservation> pending = reservationRepository.findByStatus(Reservation.Status.DEPOSIT_PENDING);
-    if (pending.isEmpty()) {
-      log.debug("Expire scan at {}: no deposit-pending reservations", now);
-      return;
+  public List<Long> expireDepositPending(Collection<Long> reservationIds, LocalDateTime now) {
+    if (reservationIds.isEmpty()) {
+      return List.of();
     }
-    long expiredCount = 0;
-    for (Reservation r : pending) {
-      if (markDepositTimeoutIfExpired(r, now)) {
-        reservationRepository.save(r);
-        expiredCount++;
-      }
+    List<Reservation> due = reservationRepository.lockDepositOverdue(
+      reservationIds, Reservation.Status.DEPOSIT_PENDING, now.minus(DEPOSIT_TIMEOUT), now);
+    if (due.isEmpty()) {
+      return List.of();
+    }
+    List<Long> ids = due.stream().map(Reservation::getReservationId).toList();
+    reservationRepository.bulkTransition(ids,
+      Reservation.Status.DEPOSIT_PENDING, Reservation.Status.CANCELED, now, DEPOSIT_TIMEOUT_REASON);
+    for (Reservation r : due) {
+      // 벌크 UPDATE 후 분리된 엔티티라 이벤트용으로만 상태를 맞춘다
+      r.setStatus(Reservation.Status.CANCELED);
+      r.setCanceledAt(now);
+      r.setCancelReason(DEPOSIT_TIMEOUT_REASON);
+      slotLedger.release(r);
+      publish(ReservationChangedEvent.Type.EXPIRED, r, Reservation.Status.DEPOSIT_PENDING);
     }
-    log.info("Expire scan at {}: pending={}, expired={}", now, pending.size(), expiredCount);
+    return ids;
+  }
+
+  private void publish(ReservationChangedEvent.Type type, Reservation reservation, Reservation.Status previous) {
+    eventPublisher.publishEvent(ReservationChangedEvent.of(type, reservation, previous));
   }
 
   public record ReservationsPage(List<ReservationDto> data, Pagination pagination) {}
@@ -342,7 +600,8 @@ public class ReservationService {
     LocalDateTime base = reservation.getBookedAt() != null
       ? reservation.getBookedAt()
       : (reservation.getCreatedAt() != null ? reservation.getCreatedAt() : now);
-    if (now.isAfter(base.plus(DEPOSIT_TIMEOUT))) {
+    LocalDateTime due = reservation.getDepositDueAt() != null ? reservation.getDepositDueAt() : base.plus(DEPOSIT_TIMEOUT);
+    if (now.isAfter(due)) {
       reservation.setStatus(Reservation.Status.CANCELED);
       reservation.setCanceledAt(now);
       reservation.setCancelReason(DEPOSIT_TIMEOUT_REASON);
@@ -2,13 +2,14 @@ package com.noshow.app.service;
 
 import com.noshow.app.domain.entity.Reservation;
 import com.noshow.app.domain.entity.Review;
-import com.noshow.app.domain.entity.User;
 import com.noshow.app.domain.entity.Venue;
 import com.noshow.app.domain.repository.ReservationRepository;
 import com.noshow.app.domain.repository.VenueRepository;
 import com.noshow.app.domain.repository.ReviewRepository;
+import com.noshow.app.domain.repository.UserRoleRepository;
 import com.noshow.app.dto.CreateReviewRequest;
 import com.noshow.app.dto.ReviewDto;
+import com.noshow.app.security.AuthPrincipal;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
@@ -16,6 +17,7 @@ import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.server.ResponseStatusException;
 
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
 
 @Service
@@ -24,20 +26,15 @@ public class ReviewService {
   private final ReviewRepository reviewRepository;
   private final ReservationRepository reservationRepository;
   private final VenueRepository venueRepository;
+  private final UserRoleRepository userRoleRepository;
 
   @Transactional(readOnly = true)
   public List<ReviewDto> reviewsByVenue(Long venueId) {
-    return reviewRepository.findByVenue_VenueIdOrderByCreatedAtDesc(venueId).stream()
-      .map(r -> {
-        ReviewDto dto = ReviewDto.fromEntity(r);
-        dto.setHasImage(r.getImageData() != null);
-        return dto;
-      })
-      .collect(Collectors.toList());
+    return toDtos(reviewRepository.findSummariesByVenueId(venueId));
   }
 
   @Transactional
-  public ReviewDto createReview(CreateReviewRequest request, User writer, byte[] imageBytes, String mimeType) {
+  public ReviewDto createReview(CreateReviewRequest request, AuthPrincipal writer, byte[] imageBytes, String mimeType) {
     Reservation reservation = reservationRepository.findById(request.getReservationId())
       .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Reservation not found"));
 
@@ -54,7 +51,7 @@ public class ReviewService {
     Review review = Review.builder()
       .reservation(reservation)
       .venue(reservation.getVenue())
-      .user(writer)
+      .user(reservation.getCustomer())
       .rating(request.getRating())
       .content(request.getContent())
       .imageData(imageBytes)
@@ -69,17 +66,11 @@ public class ReviewService {
 
   @Transactional(readOnly = true)
   public List<ReviewDto> reviewsByUser(String userId) {
-    return reviewRepository.findByUser_UserIdOrderByCreatedAtDesc(userId).stream()
-      .map(r -> {
-        ReviewDto dto = ReviewDto.fromEntity(r);
-        dto.setHasImage(r.getImageData() != null);
-        return dto;
-      })
-      .collect(Collectors.toList());
+    return toDtos(reviewRepository.findSummariesByUserId(userId));
   }
 
   @Transactional
-  public ReviewDto ownerReply(Long reviewId, String reply, User owner) {
+  public ReviewDto ownerReply(Long reviewId, String reply, AuthPrincipal owner) {
     Review review = reviewRepository.findById(reviewId)
       .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Review not found"));
     if (review.getVenue() == null || review.getVenue().getVenueId() == null) {
@@ -97,4 +88,12 @@ public class ReviewService {
     dto.setHasImage(review.getImageData() != null);
     return dto;
   }
+
+  private List<ReviewDto> toDtos(List<ReviewRepository.ReviewSummary> rows) {
+    Map<String, List<String>> roles = userRoleRepository.roleNamesByUser(
+      rows.stream().map(ReviewRepository.ReviewSummary::getUserId).distinct().toList());
+    return rows.stream()
+      .map(r -> ReviewDto.fromSummary(r, roles.get(r.getUserId())))
+      .collect(Collectors.toList());
+  }
 }
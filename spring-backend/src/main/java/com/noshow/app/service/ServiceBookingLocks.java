@@ -0,0 +1,61 @@
+package com.noshow.app.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * serviceId 기준 스트라이프 락. 같은 서비스에 대한 예약 시도만 한 노드 안에서 직렬화하고
+ * 서로 다른 서비스끼리는 (같은 스트라이프가 아니면) 막지 않는다.
+ * 락은 현재 트랜잭션이 끝날 때(커밋/롤백 후) 풀리므로 커밋 전에 다른 시도가 끼어들지 않는다.
+ * 노드 간 직렬화는 venue_services 행의 SELECT ... FOR UPDATE 가 맡는다.
+ */
+@Component
+public class ServiceBookingLocks {
+  private static final int STRIPE_BITS = 8;
+
+  private final ReentrantLock[] stripes = new ReentrantLock[1 << STRIPE_BITS];
+
+  @Value("${app.booking-lock-timeout-ms:2000}")
+  private long timeoutMillis;
+
+  public ServiceBookingLocks() {
+    for (int i = 0; i < stripes.length; i++) {
+      stripes[i] = new ReentrantLock();
+    }
+  }
+
+  public void lockUntilCompletion(Long serviceId) {
+    if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+      throw new IllegalStateException("Booking lock requires an active transaction");
+    }
+    ReentrantLock lock = stripes[stripe(serviceId)];
+    boolean acquired;
+    try {
+      acquired = lock.tryLock(timeoutMillis, TimeUnit.MILLISECONDS);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      acquired = false;
+    }
+    if (!acquired) {
+      throw new ResponseStatusException(HttpStatus.CONFLICT, "같은 시간대 예약이 처리 중입니다. 잠시 후 다시 시도해주세요.");
+    }
+    TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+      @Override
+      public void afterCompletion(int status) {
+        lock.unlock();
+      }
+    });
+  }
+
+  private static int stripe(Long serviceId) {
+    int h = Long.hashCode(serviceId) * 0x9E3779B9;
+    return h >>> (32 - STRIPE_BITS);
+  }
+}
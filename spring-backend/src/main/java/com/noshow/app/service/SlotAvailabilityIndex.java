@@ -0,0 +1,313 @@
+package com.noshow.app.service;
+
+import com.noshow.app.domain.entity.AvailabilityBlock;
+import com.noshow.app.domain.entity.BusinessHour;
+import com.noshow.app.domain.entity.Reservation;
+import com.noshow.app.domain.entity.VenueService;
+import com.noshow.app.domain.repository.AvailabilityBlockRepository;
+import com.noshow.app.domain.repository.BusinessHourRepository;
+import com.noshow.app.domain.repository.ReservationRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.ObjLongConsumer;
+
+/**
+ * VenueService 별 30분 슬롯 가용성 인덱스.
+ * 하루를 48개 슬롯으로 보고 영업시간/예약 불가는 long 비트마스크, 활성 예약은 슬롯별 점유 수로 들고 있어서
+ * 예약 거절과 사전 검증을 DB 조회 없이 처리한다. 점유 수가 서비스의 slot_capacity 에 닿은 슬롯이 "가득 참".
+ * 캐시에 없는 업장/(업장, 날짜)/(서비스, 날짜)만 한 번 로드하고, 이후에는 예약/영업 일정 변경 이벤트로 무효화한다.
+ * 이벤트는 노드 로컬이므로 모든 항목은 1분 뒤 만료되어 다른 노드에서 바꾼 값도 그 안에 반영된다.
+ * 예약 경로의 확인에는 이 노드의 체크아웃 홀드 수도 더한다 (캐시에는 넣지 않고 읽을 때).
+ * 인덱스가 "가능"이라고 답한 경우의 최종 판정은 슬롯 원장(SlotLedgerService)이 한다.
+ */
+@Component
+@RequiredArgsConstructor
+public class SlotAvailabilityIndex {
+  public static final int SLOT_MINUTES = 30;
+  public static final int SLOTS_PER_DAY = 24 * 60 / SLOT_MINUTES;
+  private static final long ENTRY_TTL_MILLIS = 60_000;
+  private static final List<Reservation.Status> ACTIVE_STATUSES =
+    List.of(Reservation.Status.DEPOSIT_PENDING, Reservation.Status.BOOKED);
+
+  public enum Verdict { AVAILABLE, OUTSIDE_HOURS, BLOCKED, OCCUPIED }
+
+  private final BusinessHourRepository businessHourRepository;
+  private final AvailabilityBlockRepository availabilityBlockRepository;
+  private final ReservationRepository reservationRepository;
+  private final OverbookingService overbooking;
+  private final SlotHoldService slotHolds;
+
+  // venueId -> 요일(0=Sun..6=Sat)별 영업시간 창 마스크 목록
+  private final Map<Long, WeekHours> weeklyHours = new ConcurrentHashMap<>();
+  private final Map<VenueDay, DayMask> blockedMasks = new ConcurrentHashMap<>();
+  private final Map<ServiceDay, DayCounts> occupiedCounts = new ConcurrentHashMap<>();
+
+  private record VenueDay(Long venueId, LocalDate date) {}
+  private record ServiceDay(Long serviceId, LocalDate date) {}
+  private record WeekHours(long[][] masks, long loadedAt) {
+    boolean expired(long now) {
+      return now - loadedAt > ENTRY_TTL_MILLIS;
+    }
+  }
+  private record DayMask(long mask, long loadedAt) {
+    boolean expired(long now) {
+      return now - loadedAt > ENTRY_TTL_MILLIS;
+    }
+  }
+  private record DayCounts(short[] counts, long loadedAt) {
+    boolean expired(long now) {
+      return now - loadedAt > ENTRY_TTL_MILLIS;
+    }
+  }
+
+  public Verdict check(VenueService service, LocalDateTime start, LocalDateTime end) {
+    return check(service, start, end, true);
+  }
+
+  /** includeHolds 가 false 면 체크아웃 홀드를 빼고 실제 예약만으로 판단한다 (대기열 등록). */
+  public Verdict check(VenueService service, LocalDateTime start, LocalDateTime end, boolean includeHolds) {
+    LocalDate date = start.toLocalDate();
+    int from = slotOf(start.toLocalTime());
+    int to = endSlotOf(date, end);
+    if (to < 0 || to <= from) {
+      return Verdict.OUTSIDE_HOURS;
+    }
+    long required = rangeMask(from, to);
+    Long venueId = service.getVenue().getVenueId();
+
+    long[] windows = hoursFor(venueId)[dayOfWeek(date)];
+    boolean withinHours = false;
+    for (long window : windows) {
+      if ((window & required) == required) {
+        withinHours = true;
+        break;
+      }
+    }
+    if (!withinHours) {
+      return Verdict.OUTSIDE_HOURS;
+    }
+    if ((blockedMask(venueId, date) & required) != 0) {
+      return Verdict.BLOCKED;
+    }
+    short[] counts = occupiedCounts(service.getServiceId(), date);
+    short[] held = includeHolds ? slotHolds.heldCounts(service.getServiceId(), date) : null;
+    if (held != null) {
+      counts = plus(counts, 0, held);
+    }
+    long full = fullMask(counts, 0, SlotLedgerService.slotCapacity(service),
+      overbooking.weekly(service.getServiceId()), OverbookingService.weekOffset(date));
+    if ((full & required) != 0) {
+      return Verdict.OCCUPIED;
+    }
+    return Verdict.AVAILABLE;
+  }
+
+  @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+  public void onReservationChanged(ReservationChangedEvent event) {
+    if (event.serviceId() == null || event.scheduledStart() == null) {
+      return;
+    }
+    if (event.occupiesSlot() || event.releasesSlot()) {
+      // 커밋 이후 이미 다시 로드된 항목에 또 더하면 이중 계산이 되므로 증감하지 않고 다시 로드하게 한다.
+      forEachDay(event.scheduledStart(), event.scheduledEnd(), (date, bits) ->
+        occupiedCounts.remove(new ServiceDay(event.serviceId(), date)));
+    }
+  }
+
+  @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+  public void onVenueScheduleChanged(VenueScheduleChangedEvent event) {
+    switch (event.kind()) {
+      case BUSINESS_HOURS -> weeklyHours.remove(event.venueId());
+      case BLOCK -> blockedMasks.remove(new VenueDay(event.venueId(), event.date()));
+      case SERVICE -> occupiedCounts.keySet().removeIf(k -> k.serviceId().equals(event.serviceId()));
+      case VENUE -> {
+        weeklyHours.remove(event.venueId());
+        blockedMasks.keySet().removeIf(k -> k.venueId().equals(event.venueId()));
+      }
+    }
+  }
+
+  @Scheduled(fixedDelayString = "${app.slot-index-cleanup-ms:3600000}")
+  public void evictPastDays() {
+    LocalDate today = LocalDate.now();
+    long now = System.currentTimeMillis();
+    weeklyHours.values().removeIf(h -> h.expired(now));
+    blockedMasks.keySet().removeIf(k -> k.date().isBefore(today));
+    occupiedCounts.keySet().removeIf(k -> k.date().isBefore(today));
+  }
+
+  private long[][] hoursFor(Long venueId) {
+    long now = System.currentTimeMillis();
+    WeekHours cached = weeklyHours.get(venueId);
+    if (cached != null && !cached.expired(now)) {
+      return cached.masks();
+    }
+    return weeklyHours.compute(venueId, (id, v) -> {
+      if (v != null && !v.expired(now)) return v;
+      List<List<Long>> byDay = new ArrayList<>();
+      for (int i = 0; i < 7; i++) byDay.add(new ArrayList<>());
+      for (BusinessHour h : businessHourRepository.findByVenue_VenueId(id)) {
+        long window = openWindowMask(h.getOpenTime(), h.getCloseTime());
+        if (h.getDayOfWeek() != null && h.getDayOfWeek() >= 0 && h.getDayOfWeek() < 7 && window != 0) {
+          byDay.get(h.getDayOfWeek()).add(window);
+        }
+      }
+      long[][] masks = new long[7][];
+      for (int i = 0; i < 7; i++) {
+        masks[i] = byDay.get(i).stream().mapToLong(Long::longValue).toArray();
+      }
+      return new WeekHours(masks, now);
+    }).masks();
+  }
+
+  private long blockedMask(Long venueId, LocalDate date) {
+    long now = System.currentTimeMillis();
+    VenueDay key = new VenueDay(venueId, date);
+    DayMask cached = blockedMasks.get(key);
+    if (cached != null && !cached.expired(now)) {
+      return cached.mask();
+    }
+    return blockedMasks.compute(key, (k, v) -> {
+      if (v != null && !v.expired(now)) return v;
+      long mask = 0L;
+      for (AvailabilityBlock b : availabilityBlockRepository.findByVenue_VenueIdAndBlockDate(venueId, date)) {
+        mask |= timeRangeMask(b.getStartTime(), b.getEndTime());
+      }
+      return new DayMask(mask, now);
+    }).mask();
+  }
+
+  private short[] occupiedCounts(Long serviceId, LocalDate date) {
+    long now = System.currentTimeMillis();
+    ServiceDay key = new ServiceDay(serviceId, date);
+    DayCounts cached = occupiedCounts.get(key);
+    if (cached != null && !cached.expired(now)) {
+      return cached.counts();
+    }
+    return occupiedCounts.compute(key, (k, v) -> {
+      if (v != null && !v.expired(now)) return v;
+      LocalDateTime dayStart = date.atStartOfDay();
+      LocalDateTime dayEnd = dayStart.plusDays(1);
+      short[] counts = new short[SLOTS_PER_DAY];
+      for (Reservation r : reservationRepository.findByService_ServiceIdAndStatusInAndScheduledStartLessThanAndScheduledEndGreaterThan(
+        serviceId, ACTIVE_STATUSES, dayEnd, dayStart)) {
+        addCounts(counts, 0, dayBits(date, r.getScheduledStart(), r.getScheduledEnd()));
+      }
+      return new DayCounts(counts, now);
+    }).counts();
+  }
+
+  private void forEachDay(LocalDateTime start, LocalDateTime end, ObjLongConsumer<LocalDate> action) {
+    for (LocalDate d = start.toLocalDate(); d.atStartOfDay().isBefore(end); d = d.plusDays(1)) {
+      long bits = dayBits(d, start, end);
+      if (bits != 0) action.accept(d, bits);
+    }
+  }
+
+  /** date 하루 안에서 [start, end) 가 덮는 슬롯 마스크. */
+  public static long dayBits(LocalDate date, LocalDateTime start, LocalDateTime end) {
+    LocalDateTime dayStart = date.atStartOfDay();
+    LocalDateTime dayEnd = dayStart.plusDays(1);
+    LocalDateTime s = start.isBefore(dayStart) ? dayStart : start;
+    LocalDateTime e = end.isAfter(dayEnd) ? dayEnd : end;
+    if (!s.isBefore(e)) return 0L;
+    int from = slotOf(s.toLocalTime());
+    int to = e.equals(dayEnd) ? SLOTS_PER_DAY : slotCeil(e.toLocalTime());
+    return to > from ? rangeMask(from, to) : 0L;
+  }
+
+  /** counts[offset + slot] 에 bits 가 가리키는 슬롯마다 1 씩 더한다. */
+  public static void addCounts(short[] counts, int offset, long bits) {
+    while (bits != 0) {
+      int slot = Long.numberOfTrailingZeros(bits);
+      bits &= bits - 1;
+      counts[offset + slot]++;
+    }
+  }
+
+  /** counts[offset..offset+48) 에 extra 를 더한 새 배열. counts 가 null 이면 0 으로 본다. */
+  public static short[] plus(short[] counts, int offset, short[] extra) {
+    short[] sum = new short[SLOTS_PER_DAY];
+    for (int slot = 0; slot < SLOTS_PER_DAY; slot++) {
+      sum[slot] = (short) ((counts != null ? counts[offset + slot] : 0) + extra[slot]);
+    }
+    return sum;
+  }
+
+  /** 점유 수가 capacity 이상인 슬롯 마스크. */
+  public static long fullMask(short[] counts, int offset, int capacity) {
+    long full = 0L;
+    for (int slot = 0; slot < SLOTS_PER_DAY; slot++) {
+      if (counts[offset + slot] >= capacity) full |= 1L << slot;
+    }
+    return full;
+  }
+
+  /** 요일x슬롯 초과 허용치(extra[extraOffset + slot])만큼 capacity 를 늘려 본 fullMask. extra 가 null 이면 fullMask 와 같다. */
+  public static long fullMask(short[] counts, int offset, int capacity, byte[] extra, int extraOffset) {
+    if (extra == null) {
+      return fullMask(counts, offset, capacity);
+    }
+    long full = 0L;
+    for (int slot = 0; slot < SLOTS_PER_DAY; slot++) {
+      if (counts[offset + slot] >= capacity + extra[extraOffset + slot]) full |= 1L << slot;
+    }
+    return full;
+  }
+
+  /**
+   * 영업시간 [open, close) 안에 완전히 들어가는 슬롯 마스크. 여는 시각은 올리고 닫는 시각은 내린다
+   * (10:15~21:45 영업이면 10:30 슬롯부터 21:00 슬롯까지).
+   */
+  public static long openWindowMask(LocalTime open, LocalTime close) {
+    int fromSlot = slotCeil(open);
+    int toSlot = slotOf(close);
+    return toSlot > fromSlot ? rangeMask(fromSlot, toSlot) : 0L;
+  }
+
+  /** 같은 날 [from, to) 시각 구간에 걸치는 슬롯 마스크 (예약 불가 구간용, 바깥으로 넓힌다). */
+  public static long timeRangeMask(LocalTime from, LocalTime to) {
+    int fromSlot = slotOf(from);
+    int toSlot = slotCeil(to);
+    return toSlot > fromSlot ? rangeMask(fromSlot, toSlot) : 0L;
+  }
+
+  public static long rangeMask(int fromSlot, int toSlot) {
+    return ((1L << (toSlot - fromSlot)) - 1) << fromSlot;
+  }
+
+  public static int slotOf(LocalTime time) {
+    return (time.getHour() * 60 + time.getMinute()) / SLOT_MINUTES;
+  }
+
+  public static int dayOfWeek(LocalDate date) {
+    return date.getDayOfWeek().getValue() % 7; // Java Mon=1 -> 1; we need 0=Sun
+  }
+
+  private static int slotCeil(LocalTime time) {
+    int minutes = time.getHour() * 60 + time.getMinute() + (time.getSecond() > 0 ? 1 : 0);
+    return (minutes + SLOT_MINUTES - 1) / SLOT_MINUTES;
+  }
+
+  /** 같은 날 안에서 끝나는 경우 종료 슬롯(exclusive), 자정을 넘기면 -1. */
+  private static int endSlotOf(LocalDate date, LocalDateTime end) {
+    if (end.toLocalDate().equals(date)) {
+      return slotCeil(end.toLocalTime());
+    }
+    if (end.equals(date.plusDays(1).atStartOfDay())) {
+      return SLOTS_PER_DAY;
+    }
+    return -1;
+  }
+}
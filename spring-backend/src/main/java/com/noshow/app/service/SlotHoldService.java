@@ -0,0 +1,197 @@
+package com.noshow.app.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static com.noshow.app.service.SlotAvailabilityIndex.SLOTS_PER_DAY;
+import static com.noshow.app.service.SlotAvailabilityIndex.SLOT_MINUTES;
+
+/**
+ * 체크아웃 홀드. 결제 화면에 들어온 고객에게 TTL 동안 슬롯 한 자리를 메모리에서만 잡아 두고
+ * 보증금 결제가 성공할 때 비로소 예약 행을 만든다 (ReservationService.payHold).
+ * 홀드 수는 서비스별 30분 슬롯 카운터(ConcurrentHashMap + AtomicInteger)로 관리해서
+ * 예약 생성의 여유 확인이 락 없이 읽는다. 홀드 추가는 호출 측이 ServiceBookingLocks 안에서 여유를 확인한 뒤에 한다.
+ * 조회 경로(SlotAvailabilityIndex, AvailabilityService, FreeTableSearchService)도 heldCounts 를 점유 수에 더해서
+ * 홀드로 가득 찬 슬롯을 빈자리로 보여 주지 않는다. 캐시된 결과에 섞지 않고 읽을 때 더하므로 홀드가 풀리면 바로 다시 보인다.
+ * 노드 메모리에만 있으므로 다른 노드의 홀드는 보이지 않는다. 최종 판정은 결제 시 슬롯 원장의 조건부 증가가 한다.
+ * 결제 중인 홀드는 트랜잭션이 커밋될 때 지우고, 롤백되면 그대로 남겨 고객이 다시 결제할 수 있게 한다.
+ */
+@Service
+@Slf4j
+public class SlotHoldService {
+  private final Map<String, Hold> holds = new ConcurrentHashMap<>();
+  // serviceId -> slotStart -> 잡혀 있는 홀드 수
+  private final Map<Long, Map<LocalDateTime, AtomicInteger>> counts = new ConcurrentHashMap<>();
+  // 결제 트랜잭션이 진행 중인 홀드 (만료/해제/중복 결제 대상에서 뺀다)
+  private final Set<String> converting = ConcurrentHashMap.newKeySet();
+
+  private final Counter created;
+  private final Counter converted;
+  private final Counter expired;
+  private final Counter released;
+  private final Counter contended;
+
+  @Value("${app.checkout-hold.ttl-seconds:120}")
+  private long ttlSeconds;
+
+  public SlotHoldService(MeterRegistry registry) {
+    this.created = outcome(registry, "created");
+    this.converted = outcome(registry, "converted");
+    this.expired = outcome(registry, "expired");
+    this.released = outcome(registry, "released");
+    this.contended = outcome(registry, "contended");
+    Gauge.builder("reservation.holds.active", holds, Map::size)
+      .description("Checkout holds currently reserving a slot")
+      .register(registry);
+  }
+
+  /** 결제 시 그대로 쓰는 가격/할인 견적을 함께 들고 있다. */
+  public record Hold(String holdId, Long serviceId, String customerUserId, LocalDateTime start, LocalDateTime end,
+                     int partySize, BigDecimal totalPrice, double depositRate, Short gradeId, double discount,
+                     BigDecimal depositAmount, String currency, LocalDateTime expiresAt) {
+    boolean isExpired(LocalDateTime now) {
+      return !now.isBefore(expiresAt);
+    }
+  }
+
+  /** 같은 서비스의 booking lock 안에서 여유를 확인한 뒤 호출한다. */
+  Hold place(Long serviceId, String customerUserId, LocalDateTime start, LocalDateTime end, int partySize,
+             BigDecimal totalPrice, double depositRate, Short gradeId, double discount,
+             BigDecimal depositAmount, String currency) {
+    Hold hold = new Hold(UUID.randomUUID().toString(), serviceId, customerUserId, start, end, partySize, totalPrice,
+      depositRate, gradeId, discount, depositAmount, currency, LocalDateTime.now().plusSeconds(ttlSeconds));
+    adjust(hold, 1);
+    holds.put(hold.holdId(), hold);
+    created.increment();
+    return hold;
+  }
+
+  /** 만료되지 않은 홀드. 만료된 것은 여기서 바로 정리한다. */
+  public Hold find(String holdId) {
+    Hold hold = holdId != null ? holds.get(holdId) : null;
+    if (hold != null && hold.isExpired(LocalDateTime.now()) && !converting.contains(holdId)) {
+      if (remove(hold)) expired.increment();
+      return null;
+    }
+    return hold;
+  }
+
+  /**
+   * 결제 트랜잭션 안에서 호출한다. 홀드(슬롯 몫 포함)는 커밋될 때까지 그대로 두고, 커밋되면 지우고 롤백되면 되돌린다.
+   * 다른 요청이 이미 결제 중이거나 만료됐으면 false.
+   */
+  boolean claim(Hold hold) {
+    if (hold.isExpired(LocalDateTime.now()) || holds.get(hold.holdId()) != hold || !converting.add(hold.holdId())) {
+      return false;
+    }
+    TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+      @Override
+      public void afterCompletion(int status) {
+        converting.remove(hold.holdId());
+        if (status == STATUS_COMMITTED && remove(hold)) {
+          converted.increment();
+        }
+      }
+    });
+    return true;
+  }
+
+  /** 고객이 결제를 포기한 경우. 결제 중인 홀드는 놓지 않는다. */
+  public boolean release(Hold hold) {
+    if (!converting.contains(hold.holdId()) && remove(hold)) {
+      released.increment();
+      return true;
+    }
+    return false;
+  }
+
+  /** [start, end) 구간 슬롯 중 홀드가 가장 많이 잡힌 슬롯의 홀드 수. */
+  public int heldUnits(Long serviceId, LocalDateTime start, LocalDateTime end) {
+    Map<LocalDateTime, AtomicInteger> bySlot = counts.get(serviceId);
+    if (bySlot == null) {
+      return 0;
+    }
+    int max = 0;
+    for (LocalDateTime slot = SlotLedgerService.slotFloor(start); slot.isBefore(end); slot = slot.plusMinutes(SLOT_MINUTES)) {
+      AtomicInteger c = bySlot.get(slot);
+      if (c != null) max = Math.max(max, c.get());
+    }
+    return max;
+  }
+
+  /** date 하루의 슬롯별 홀드 수. 그날 잡힌 홀드가 없으면 null. */
+  public short[] heldCounts(Long serviceId, LocalDate date) {
+    Map<LocalDateTime, AtomicInteger> bySlot = counts.get(serviceId);
+    if (bySlot == null) {
+      return null;
+    }
+    short[] held = null;
+    for (Map.Entry<LocalDateTime, AtomicInteger> e : bySlot.entrySet()) {
+      int n = e.getValue().get();
+      if (n <= 0 || !e.getKey().toLocalDate().equals(date)) continue;
+      if (held == null) held = new short[SLOTS_PER_DAY];
+      held[SlotAvailabilityIndex.slotOf(e.getKey().toLocalTime())] = (short) n;
+    }
+    return held;
+  }
+
+  void recordContention() {
+    contended.increment();
+  }
+
+  @Scheduled(fixedDelayString = "${app.checkout-hold.sweep-ms:1000}")
+  public void expireHolds() {
+    LocalDateTime now = LocalDateTime.now();
+    int count = 0;
+    for (Hold hold : holds.values()) {
+      if (hold.isExpired(now) && !converting.contains(hold.holdId()) && remove(hold)) {
+        expired.increment();
+        count++;
+      }
+    }
+    // 지나간 빈 슬롯 카운터 정리 (홀드는 미래 슬롯에만 생기므로 다시 쓰이지 않는다)
+    LocalDateTime past = now.minusHours(1);
+    counts.values().forEach(bySlot -> bySlot.entrySet().removeIf(e -> e.getKey().isBefore(past) && e.getValue().get() == 0));
+    if (count > 0) {
+      log.debug("Expired {} checkout holds", count);
+    }
+  }
+
+  private boolean remove(Hold hold) {
+    if (!holds.remove(hold.holdId(), hold)) {
+      return false;
+    }
+    adjust(hold, -1);
+    return true;
+  }
+
+  private void adjust(Hold hold, int delta) {
+    Map<LocalDateTime, AtomicInteger> bySlot = counts.computeIfAbsent(hold.serviceId(), id -> new ConcurrentHashMap<>());
+    for (LocalDateTime slot = SlotLedgerService.slotFloor(hold.start()); slot.isBefore(hold.end()); slot = slot.plusMinutes(SLOT_MINUTES)) {
+      bySlot.computeIfAbsent(slot, s -> new AtomicInteger()).addAndGet(delta);
+    }
+  }
+
+  private static Counter outcome(MeterRegistry registry, String outcome) {
+    return Counter.builder("reservation.holds")
+      .description("Checkout hold lifecycle events")
+      .tag("outcome", outcome)
+      .register(registry);
+  }
+}
@@ -0,0 +1,100 @@
+package com.noshow.app.service;
+
+import com.noshow.app.domain.entity.Reservation;
+import com.noshow.app.domain.entity.VenueService;
+import com.noshow.app.domain.repository.ServiceSlotLedgerRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.HashSet;
+import java.util.Set;
+
+import static com.noshow.app.service.SlotAvailabilityIndex.SLOT_MINUTES;
+
+/**
+ * service_slot_ledger 기반 슬롯 점유 관리.
+ * 예약이 덮는 30분 슬롯마다 booked < capacity 인 경우에만 1 증가시키는 조건부 UPDATE 한 번으로
+ * 충돌을 판정하고, 활성 상태에서 벗어날 때(취소/만료/노쇼/완료) 1 감소시킨다.
+ * 원장 행이 없는 슬롯은 처음 예약될 때 현재 활성 예약 수로 채운다.
+ * 오버부킹 정책이 켜진 서비스는 슬롯별 허용치(OverbookingService)만큼 capacity 를 넘겨 받는다.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class SlotLedgerService {
+  private final ServiceSlotLedgerRepository ledgerRepository;
+  private final OverbookingService overbooking;
+
+  /**
+   * 슬롯을 하나씩 점유한다. 하나라도 가득 차 있으면 false (부분 증가분은 호출 측 트랜잭션 롤백으로 되돌린다).
+   * 같은 서비스에 대한 동시 시도는 호출 측이 서비스 행 락으로 직렬화한 상태여야 한다.
+   */
+  @Transactional(propagation = Propagation.MANDATORY)
+  public boolean tryReserve(VenueService service, LocalDateTime start, LocalDateTime end) {
+    return tryReserve(service, start, end, 0);
+  }
+
+  /** held 만큼의 자리는 체크아웃 홀드 몫으로 비워 둔 채 점유한다. */
+  @Transactional(propagation = Propagation.MANDATORY)
+  public boolean tryReserve(VenueService service, LocalDateTime start, LocalDateTime end, int held) {
+    int slots = seedMissing(service, start, end);
+    return ledgerRepository.incrementIfFree(service.getServiceId(), slotFloor(start), end, slotCapacity(service), held,
+      overbooking.allowance(service.getServiceId(), start, end)) == slots;
+  }
+
+  /** 점유하지 않고 held 외에 한 자리가 더 남아 있는지만 본다 (체크아웃 홀드 생성용). */
+  @Transactional(propagation = Propagation.MANDATORY)
+  public boolean hasRoom(VenueService service, LocalDateTime start, LocalDateTime end, int held) {
+    int slots = seedMissing(service, start, end);
+    return ledgerRepository.countFree(service.getServiceId(), slotFloor(start), end, slotCapacity(service), held,
+      overbooking.allowance(service.getServiceId(), start, end)) == slots;
+  }
+
+  /** 예약 상태 변경을 flush 한 뒤에 호출해야 동시에 진행 중인 seed 와 이중 계산되지 않는다. */
+  @Transactional(propagation = Propagation.MANDATORY)
+  public void release(Reservation reservation) {
+    if (reservation.getService() == null) {
+      return;
+    }
+    ledgerRepository.decrement(reservation.getService().getServiceId(),
+      slotFloor(reservation.getScheduledStart()), reservation.getScheduledEnd());
+  }
+
+  @Transactional
+  @Scheduled(fixedDelayString = "${app.slot-ledger-purge-ms:21600000}")
+  public void purgePastSlots() {
+    int deleted = ledgerRepository.deleteSlotsBefore(LocalDate.now().minusDays(1).atStartOfDay());
+    if (deleted > 0) {
+      log.info("Slot ledger purge: deleted={}", deleted);
+    }
+  }
+
+  /** 원장 행이 없는 슬롯을 채우고 구간의 슬롯 수를 돌려준다. */
+  private int seedMissing(VenueService service, LocalDateTime start, LocalDateTime end) {
+    LocalDateTime from = slotFloor(start);
+    int capacity = slotCapacity(service);
+    Set<LocalDateTime> existing = new HashSet<>(ledgerRepository.findSlotStarts(service.getServiceId(), from, end));
+    int slots = 0;
+    for (LocalDateTime slot = from; slot.isBefore(end); slot = slot.plusMinutes(SLOT_MINUTES)) {
+      slots++;
+      if (!existing.contains(slot)) {
+        ledgerRepository.seed(service.getServiceId(), slot, slot.plusMinutes(SLOT_MINUTES), capacity);
+      }
+    }
+    return slots;
+  }
+
+  public static int slotCapacity(VenueService service) {
+    return service.getSlotCapacity() != null ? Math.max(1, service.getSlotCapacity()) : 1;
+  }
+
+  static LocalDateTime slotFloor(LocalDateTime time) {
+    return time.withSecond(0).withNano(0).withMinute(time.getMinute() / SLOT_MINUTES * SLOT_MINUTES);
+  }
+}
@@ -1,7 +1,7 @@
 package com.noshow.app.service;
 
+import com.noshow.app.common.PageResult;
 import com.noshow.app.common.Pagination;
-import com.noshow.app.domain.entity.User;
 import com.noshow.app.domain.entity.Venue;
 import com.noshow.app.domain.entity.VenueService;
 import com.noshow.app.domain.entity.BusinessHour;
@@ -10,16 +10,18 @@ import com.noshow.app.domain.repository.VenueRepository;
 import com.noshow.app.domain.repository.VenueServiceRepository;
 import com.noshow.app.domain.repository.BusinessHourRepository;
 import com.noshow.app.domain.repository.AvailabilityBlockRepository;
+import com.noshow.app.domain.repository.UserRepository;
 import com.noshow.app.dto.CreateVenueRequest;
 import com.noshow.app.dto.CreateVenueServiceRequest;
 import com.noshow.app.dto.CreateBusinessHourRequest;
 import com.noshow.app.dto.CreateAvailabilityBlockRequest;
 import com.noshow.app.dto.VenueDto;
 import com.noshow.app.dto.VenueServiceDto;
+import com.noshow.app.security.AuthPrincipal;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
-import org.springframework.data.domain.Sort;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -29,6 +31,7 @@ import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.time.LocalTime;
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
 
 @Service
@@ -38,26 +41,37 @@ public class VenueAppService {
   private final VenueServiceRepository venueServiceRepository;
   private final BusinessHourRepository businessHourRepository;
   private final AvailabilityBlockRepository availabilityBlockRepository;
+  private final UserRepository userRepository;
+  private final ApplicationEventPublisher eventPublisher;
 
   @Transactional(readOnly = true)
-  public Page<Venue> listVenues(int page, int limit, String search) {
-    PageRequest pageable = PageRequest.of(Math.max(page - 1, 0), limit, Sort.by(Sort.Direction.DESC, "createdAt"));
-    if (search != null && !search.isBlank()) {
-      return venueRepository.findByVenueNameContainingIgnoreCaseAndIsActiveTrue(search, pageable);
-    }
-    return venueRepository.findByIsActiveTrue(pageable);
+  public PageResult<VenueDto> listVenues(int page, int limit, String search) {
+    // 정렬은 쿼리에 고정 (createdAt DESC). 엔티티 대신 목록용 컬럼만 읽고 서비스는 IN 한 번으로 붙인다.
+    PageRequest pageable = PageRequest.of(Math.max(page - 1, 0), limit);
+    String keyword = search != null && !search.isBlank() ? search : null;
+    Page<VenueRepository.VenueSummary> result = venueRepository.findActiveSummaries(keyword, pageable);
+    List<Long> venueIds = result.getContent().stream().map(VenueRepository.VenueSummary::getVenueId).toList();
+    Map<Long, List<VenueServiceDto>> servicesByVenue = venueIds.isEmpty() ? Map.of()
+      : venueServiceRepository.findSummariesByVenueIds(venueIds).stream()
+          .collect(Collectors.groupingBy(VenueServiceRepository.ServiceSummary::getVenueId,
+            Collectors.mapping(VenueServiceDto::fromSummary, Collectors.toList())));
+    List<VenueDto> data = result.getContent().stream()
+      .map(v -> VenueDto.fromSummary(v, servicesByVenue.getOrDefault(v.getVenueId(), List.of())))
+      .collect(Collectors.toList());
+    return new PageResult<>(data, toPagination(result));
   }
 
   @Transactional
-  public Venue createVenue(CreateVenueRequest request, User owner) {
+  public Venue createVenue(CreateVenueRequest request, AuthPrincipal owner) {
     Venue venue = Venue.builder()
-      .owner(owner)
+      .owner(userRepository.getReferenceById(owner.getUserId()))
       .venueName(request.getVenueName())
       .description(request.getDescription())
       .basePrice(request.getBasePrice() != null ? request.getBasePrice() : BigDecimal.ZERO)
       .defaultDepositRatePercent(request.getDefaultDepositRatePercent())
       .currency("KRW")
       .timezone("Asia/Seoul")
+      .noShowGraceMinutes(request.getNoShowGraceMinutes() != null ? request.getNoShowGraceMinutes() : 30)
       .addressLine1(request.getAddress())
       .addressLine2(request.getAddressDetail())
       .isActive(true)
@@ -66,13 +80,14 @@ public class VenueAppService {
   }
 
   @Transactional
-  public void deleteVenue(Long venueId, User owner) {
+  public void deleteVenue(Long venueId, AuthPrincipal owner) {
     Venue venue = venueRepository.findById(venueId)
       .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Venue not found"));
     if (!venue.getOwner().getUserId().equals(owner.getUserId())) {
       throw new ResponseStatusException(HttpStatus.FORBIDDEN, "Only owner can delete venue");
     }
     venueRepository.delete(venue);
+    eventPublisher.publishEvent(VenueScheduleChangedEvent.venue(venueId));
   }
 
   @Transactional(readOnly = true)
@@ -99,7 +114,7 @@ public class VenueAppService {
   }
 
   @Transactional
-  public VenueService addService(Long venueId, VenueServiceDto dto, User owner) {
+  public VenueService addService(Long venueId, VenueServiceDto dto, AuthPrincipal owner) {
     Venue venue = getVenue(venueId);
     if (!venue.getOwner().getUserId().equals(owner.getUserId())) {
       throw new ResponseStatusException(HttpStatus.FORBIDDEN, "Only owner can add services");
@@ -112,14 +127,17 @@ public class VenueAppService {
       .durationMinutes(dto.getDurationMinutes())
       .minPartySize(dto.getMinPartySize() != null ? dto.getMinPartySize() : 1)
       .maxPartySize(dto.getMaxPartySize() != null ? dto.getMaxPartySize() : 1)
+      .slotCapacity(dto.getSlotCapacity() != null ? dto.getSlotCapacity() : 1)
       .depositRatePercent(dto.getDepositRatePercent())
       .isActive(dto.getIsActive() != null ? dto.getIsActive() : true)
       .build();
-    return venueServiceRepository.save(service);
+    venueServiceRepository.save(service);
+    eventPublisher.publishEvent(VenueScheduleChangedEvent.service(venueId, service.getServiceId()));
+    return service;
   }
 
   @Transactional
-  public VenueService createService(CreateVenueServiceRequest req, User owner) {
+  public VenueService createService(CreateVenueServiceRequest req, AuthPrincipal owner) {
     Venue venue = getVenue(req.getVenueId());
     if (!venue.getOwner().getUserId().equals(owner.getUserId())) {
       throw new ResponseStatusException(HttpStatus.FORBIDDEN, "Only owner can add services");
@@ -132,14 +150,17 @@ public class VenueAppService {
       .durationMinutes(req.getDurationMinutes())
       .minPartySize(req.getMinPartySize())
       .maxPartySize(req.getMaxPartySize())
+      .slotCapacity(req.getSlotCapacity() != null ? req.getSlotCapacity() : 1)
       .depositRatePercent(req.getDepositRatePercent())
       .isActive(true)
       .build();
-    return venueServiceRepository.save(service);
+    venueServiceRepository.save(service);
+    eventPublisher.publishEvent(VenueScheduleChangedEvent.service(venue.getVenueId(), service.getServiceId()));
+    return service;
   }
 
   @Transactional
-  public VenueService updateService(Long serviceId, CreateVenueServiceRequest req, User owner) {
+  public VenueService updateService(Long serviceId, CreateVenueServiceRequest req, AuthPrincipal owner) {
     VenueService service = venueServiceRepository.findById(serviceId)
       .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Service not found"));
     if (!service.getVenue().getOwner().getUserId().equals(owner.getUserId())) {
@@ -151,22 +172,27 @@ public class VenueAppService {
     service.setDurationMinutes(req.getDurationMinutes());
     service.setMinPartySize(req.getMinPartySize());
     service.setMaxPartySize(req.getMaxPartySize());
+    if (req.getSlotCapacity() != null) {
+      service.setSlotCapacity(req.getSlotCapacity());
+    }
     service.setDepositRatePercent(req.getDepositRatePercent());
+    eventPublisher.publishEvent(VenueScheduleChangedEvent.service(service.getVenue().getVenueId(), serviceId));
     return venueServiceRepository.save(service);
   }
 
   @Transactional
-  public void deleteService(Long serviceId, User owner) {
+  public void deleteService(Long serviceId, AuthPrincipal owner) {
     VenueService service = venueServiceRepository.findById(serviceId)
       .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Service not found"));
     if (!service.getVenue().getOwner().getUserId().equals(owner.getUserId())) {
       throw new ResponseStatusException(HttpStatus.FORBIDDEN, "Only owner can delete services");
     }
     venueServiceRepository.delete(service);
+    eventPublisher.publishEvent(VenueScheduleChangedEvent.service(service.getVenue().getVenueId(), serviceId));
   }
 
   @Transactional
-  public BusinessHour addBusinessHour(Long venueId, CreateBusinessHourRequest req, User owner) {
+  public BusinessHour addBusinessHour(Long venueId, CreateBusinessHourRequest req, AuthPrincipal owner) {
     Venue venue = getVenue(venueId);
     if (!venue.getOwner().getUserId().equals(owner.getUserId())) {
       throw new ResponseStatusException(HttpStatus.FORBIDDEN, "Only owner can manage business hours");
@@ -192,11 +218,12 @@ public class VenueAppService {
       .openTime(open)
       .closeTime(close)
       .build();
+    eventPublisher.publishEvent(VenueScheduleChangedEvent.businessHours(venueId));
     return businessHourRepository.save(bh);
   }
 
   @Transactional
-  public AvailabilityBlock addAvailabilityBlock(Long venueId, CreateAvailabilityBlockRequest req, User owner) {
+  public AvailabilityBlock addAvailabilityBlock(Long venueId, CreateAvailabilityBlockRequest req, AuthPrincipal owner) {
     Venue venue = getVenue(venueId);
     if (!venue.getOwner().getUserId().equals(owner.getUserId())) {
       throw new ResponseStatusException(HttpStatus.FORBIDDEN, "Only owner can manage availability");
@@ -223,6 +250,7 @@ public class VenueAppService {
       .endTime(end)
       .reason(req.getReason())
       .build();
+    eventPublisher.publishEvent(VenueScheduleChangedEvent.block(venueId, block.getBlockDate()));
     return availabilityBlockRepository.save(block);
   }
 
@@ -233,32 +261,28 @@ public class VenueAppService {
   }
 
   @Transactional
-  public void deleteBusinessHour(Long businessHourId, User owner) {
+  public void deleteBusinessHour(Long businessHourId, AuthPrincipal owner) {
     BusinessHour bh = businessHourRepository.findById(businessHourId)
       .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Business hour not found"));
     if (!bh.getVenue().getOwner().getUserId().equals(owner.getUserId())) {
       throw new ResponseStatusException(HttpStatus.FORBIDDEN, "Only owner can delete business hours");
     }
     businessHourRepository.delete(bh);
+    eventPublisher.publishEvent(VenueScheduleChangedEvent.businessHours(bh.getVenue().getVenueId()));
   }
 
   @Transactional
-  public void deleteBlock(Long blockId, User owner) {
+  public void deleteBlock(Long blockId, AuthPrincipal owner) {
     AvailabilityBlock block = availabilityBlockRepository.findById(blockId)
       .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Block not found"));
     if (!block.getVenue().getOwner().getUserId().equals(owner.getUserId())) {
       throw new ResponseStatusException(HttpStatus.FORBIDDEN, "Only owner can delete blocks");
     }
     availabilityBlockRepository.delete(block);
+    eventPublisher.publishEvent(VenueScheduleChangedEvent.block(block.getVenue().getVenueId(), block.getBlockDate()));
   }
 
   public Pagination toPagination(Page<?> page) {
     return new Pagination(page.getNumber() + 1, page.getSize(), page.getTotalElements(), page.getTotalPages());
   }
-
-  public List<VenueDto> toVenueDtos(Page<Venue> page, boolean includeServices) {
-    return page.getContent().stream()
-      .map(v -> VenueDto.fromEntity(v, includeServices))
-      .collect(Collectors.toList());
-  }
 }
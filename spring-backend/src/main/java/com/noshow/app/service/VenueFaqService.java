@@ -1,12 +1,12 @@
 package com.noshow.app.service;
 
-import com.noshow.app.domain.entity.User;
 import com.noshow.app.domain.entity.Venue;
 import com.noshow.app.domain.entity.VenueFaq;
 import com.noshow.app.domain.repository.VenueFaqRepository;
 import com.noshow.app.domain.repository.VenueRepository;
 import com.noshow.app.dto.CreateFaqRequest;
 import com.noshow.app.dto.FaqDto;
+import com.noshow.app.security.AuthPrincipal;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
@@ -31,7 +31,7 @@ public class VenueFaqService {
   }
 
   @Transactional
-  public FaqDto create(CreateFaqRequest req, User owner) {
+  public FaqDto create(CreateFaqRequest req, AuthPrincipal owner) {
     Venue venue = venueRepository.findById(req.getVenueId())
       .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Venue not found"));
     ensureOwner(venue, owner);
@@ -47,7 +47,7 @@ public class VenueFaqService {
   }
 
   @Transactional
-  public FaqDto update(Long faqId, CreateFaqRequest req, User owner) {
+  public FaqDto update(Long faqId, CreateFaqRequest req, AuthPrincipal owner) {
     VenueFaq faq = venueFaqRepository.findById(faqId)
       .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "FAQ not found"));
     ensureOwner(faq.getVenue(), owner);
@@ -60,14 +60,14 @@ public class VenueFaqService {
   }
 
   @Transactional
-  public void delete(Long faqId, User owner) {
+  public void delete(Long faqId, AuthPrincipal owner) {
     VenueFaq faq = venueFaqRepository.findById(faqId)
       .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "FAQ not found"));
     ensureOwner(faq.getVenue(), owner);
     venueFaqRepository.delete(faq);
   }
 
-  private void ensureOwner(Venue venue, User owner) {
+  private void ensureOwner(Venue venue, AuthPrincipal owner) {
     if (venue == null || owner == null || !venue.getOwner().getUserId().equals(owner.getUserId())) {
       throw new ResponseStatusException(HttpStatus.FORBIDDEN, "Only owner can manage FAQ");
     }
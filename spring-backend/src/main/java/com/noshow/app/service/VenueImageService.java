@@ -1,11 +1,11 @@
 package com.noshow.app.service;
 
-import com.noshow.app.domain.entity.User;
 import com.noshow.app.domain.entity.Venue;
 import com.noshow.app.domain.entity.VenueImage;
 import com.noshow.app.domain.repository.VenueImageRepository;
 import com.noshow.app.domain.repository.VenueRepository;
 import com.noshow.app.dto.VenueImageDto;
+import com.noshow.app.security.AuthPrincipal;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
@@ -23,13 +23,13 @@ public class VenueImageService {
 
   @Transactional(readOnly = true)
   public List<VenueImageDto> listByVenue(Long venueId) {
-    return venueImageRepository.findByVenue_VenueIdOrderByCreatedAtDesc(venueId).stream()
-      .map(VenueImageDto::fromEntity)
+    return venueImageRepository.findSummariesByVenueId(venueId).stream()
+      .map(VenueImageDto::fromSummary)
       .collect(Collectors.toList());
   }
 
   @Transactional
-  public VenueImageDto upload(Long venueId, byte[] data, String mimeType, User owner) {
+  public VenueImageDto upload(Long venueId, byte[] data, String mimeType, AuthPrincipal owner) {
     Venue venue = venueRepository.findById(venueId)
       .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Venue not found"));
     ensureOwner(venue, owner);
@@ -46,7 +46,7 @@ public class VenueImageService {
   }
 
   @Transactional
-  public void delete(Long imageId, User owner) {
+  public void delete(Long imageId, AuthPrincipal owner) {
     VenueImage image = venueImageRepository.findById(imageId)
       .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Image not found"));
     ensureOwner(image.getVenue(), owner);
@@ -59,7 +59,7 @@ public class VenueImageService {
       .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Image not found"));
   }
 
-  private void ensureOwner(Venue venue, User owner) {
+  private void ensureOwner(Venue venue, AuthPrincipal owner) {
     if (venue == null || owner == null || !venue.getOwner().getUserId().equals(owner.getUserId())) {
       throw new ResponseStatusException(HttpStatus.FORBIDDEN, "Only owner can manage images");
     }
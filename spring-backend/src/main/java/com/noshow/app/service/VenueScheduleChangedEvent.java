@@ -0,0 +1,27 @@
+package com.noshow.app.service;
+
+import java.time.LocalDate;
+
+/**
+ * 사장이 영업시간/예약 불가/서비스/업장을 바꿨을 때 VenueAppService 가 발행한다.
+ * 슬롯 관련 캐시들은 커밋 이후 이 이벤트로 무효화한다.
+ */
+public record VenueScheduleChangedEvent(Kind kind, Long venueId, Long serviceId, LocalDate date) {
+  public enum Kind { BUSINESS_HOURS, BLOCK, SERVICE, VENUE }
+
+  public static VenueScheduleChangedEvent businessHours(Long venueId) {
+    return new VenueScheduleChangedEvent(Kind.BUSINESS_HOURS, venueId, null, null);
+  }
+
+  public static VenueScheduleChangedEvent block(Long venueId, LocalDate date) {
+    return new VenueScheduleChangedEvent(Kind.BLOCK, venueId, null, date);
+  }
+
+  public static VenueScheduleChangedEvent service(Long venueId, Long serviceId) {
+    return new VenueScheduleChangedEvent(Kind.SERVICE, venueId, serviceId, null);
+  }
+
+  public static VenueScheduleChangedEvent venue(Long venueId) {
+    return new VenueScheduleChangedEvent(Kind.VENUE, venueId, null, null);
+  }
+}
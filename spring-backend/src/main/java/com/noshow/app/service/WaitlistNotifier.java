@@ -0,0 +1,32 @@
+package com.noshow.app.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * 대기열 승격 알림. 아직 푸시/문자 채널이 없어서 기록만 남기고, 고객은 내 대기 목록(PROMOTED, reservation_id)으로 확인한다.
+ * 발송 채널이 생기면 여기서 보낸다.
+ */
+@Component
+@Slf4j
+public class WaitlistNotifier {
+  private final Counter notified;
+
+  public WaitlistNotifier(MeterRegistry registry) {
+    this.notified = Counter.builder("waitlist.promotion.notified")
+      .description("Customers notified of a waitlist promotion")
+      .register(registry);
+  }
+
+  @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+  public void onPromoted(WaitlistPromotedEvent event) {
+    log.info("Notify {}: waitlist entry {} promoted to reservation {} ({} at {}), pay deposit by {}",
+      event.customerUserId(), event.entryId(), event.reservationId(), event.serviceId(), event.scheduledStart(),
+      event.paymentDueAt());
+    notified.increment();
+  }
+}
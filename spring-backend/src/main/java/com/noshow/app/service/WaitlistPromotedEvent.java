@@ -0,0 +1,16 @@
+package com.noshow.app.service;
+
+import java.time.LocalDateTime;
+
+/**
+ * 대기열에서 DEPOSIT_PENDING 홀드로 승격된 경우. WaitlistService 가 승격 트랜잭션 안에서 발행하고
+ * 알림은 커밋 이후(AFTER_COMMIT) 리스너가 보낸다.
+ */
+public record WaitlistPromotedEvent(
+  Long entryId,
+  String customerUserId,
+  Long reservationId,
+  Long serviceId,
+  LocalDateTime scheduledStart,
+  LocalDateTime paymentDueAt
+) {}
@@ -0,0 +1,325 @@
+package com.noshow.app.service;
+
+import com.noshow.app.domain.entity.VenueService;
+import com.noshow.app.domain.entity.WaitlistEntry;
+import com.noshow.app.domain.repository.VenueServiceRepository;
+import com.noshow.app.domain.repository.WaitlistEntryRepository;
+import com.noshow.app.dto.CreateReservationRequest;
+import com.noshow.app.dto.JoinWaitlistRequest;
+import com.noshow.app.dto.ReservationDto;
+import com.noshow.app.dto.WaitlistEntryDto;
+import com.noshow.app.security.AuthPrincipal;
+import com.noshow.app.security.PrincipalCache;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.http.HttpStatus;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 예약 대기열.
+ * 가득 찬 (서비스, 시작 시각) 에 줄을 세우고, 취소/만료/노쇼 등으로 자리가 나면 (AFTER_COMMIT)
+ * 등급 priority → 등록 순으로 다음 사람에게 일반 예약과 같은 경로로 DEPOSIT_PENDING 홀드를 만들어 준다.
+ * 승격 홀드는 일반 예약보다 긴 결제 기한(app.waitlist.payment-window-minutes)을 받고, WaitlistPromotedEvent 로 고객에게 알린다.
+ * 기한이 지나면 만료되고, 그때 풀린 자리는 다시 다음 사람에게 간다.
+ * 대기열은 서비스별 시작 시각 맵으로 메모리에 들고 있다. 다른 노드에서 등록된 대기도 승격되도록
+ * 자리가 날 때마다 해당 구간의 WAITING 행을 DB 에서 다시 읽어 합친다.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class WaitlistService {
+  private static final Comparator<Waiting> ORDER = Comparator
+    .comparingInt(Waiting::gradePriority)
+    .thenComparing(Waiting::createdAt)
+    .thenComparingLong(Waiting::entryId);
+
+  private final WaitlistEntryRepository waitlistEntryRepository;
+  private final VenueServiceRepository venueServiceRepository;
+  private final PrincipalCache principalCache;
+  private final SlotAvailabilityIndex availabilityIndex;
+  private final ReservationService reservationService;
+  private final TransactionTemplate transactionTemplate;
+  private final ApplicationEventPublisher eventPublisher;
+
+  // 슬롯 인덱스가 같은 커밋 이벤트로 갱신될 시간을 조금 준다
+  @Value("${app.waitlist.promotion-delay-ms:200}")
+  private long promotionDelayMs;
+
+  // 승격 알림을 받고 결제하러 올 시간. 일반 결제 제한 시간(2분)보다 길게 준다
+  @Value("${app.waitlist.payment-window-minutes:15}")
+  private long paymentWindowMinutes;
+
+  private record Waiting(Long entryId, String customerUserId, int gradePriority, LocalDateTime createdAt,
+                         LocalDateTime slotEnd) {}
+
+  /** serviceId → slotStart → 대기자 (우선순위 순). */
+  private final Map<Long, NavigableMap<LocalDateTime, Set<Waiting>>> queues = new ConcurrentHashMap<>();
+  private final ScheduledExecutorService promoter = Executors.newSingleThreadScheduledExecutor(r -> {
+    Thread t = new Thread(r, "waitlist-promoter");
+    t.setDaemon(true);
+    return t;
+  });
+
+  private enum Attempt { PROMOTED, SLOT_FULL, DROPPED }
+
+  @Transactional
+  public WaitlistEntryDto join(JoinWaitlistRequest request, AuthPrincipal customer) {
+    VenueService service = venueServiceRepository.findById(request.getServiceId())
+      .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Service not found"));
+    LocalDateTime start = ReservationService.parseDateTime(request.getScheduledStart());
+    LocalDateTime end = start.plusMinutes(service.getDurationMinutes());
+    if (start.getMinute() % 30 != 0) {
+      throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "예약 시간은 30분 단위로만 가능합니다.");
+    }
+    if (!start.isAfter(LocalDateTime.now())) {
+      throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "지난 시간에는 대기할 수 없습니다.");
+    }
+    int minParty = service.getMinPartySize() != null ? service.getMinPartySize() : 1;
+    int maxParty = service.getMaxPartySize() != null ? service.getMaxPartySize() : minParty;
+    if (request.getPartySize() < minParty || request.getPartySize() > maxParty) {
+      throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "인원은 " + minParty + " ~ " + maxParty + "명만 가능합니다.");
+    }
+    // 홀드로만 찬 슬롯은 곧 풀릴 수 있고, 홀드 만료는 대기열 승격을 일으키지 않으므로 실제 예약 기준으로 본다
+    switch (availabilityIndex.check(service, start, end, false)) {
+      case OUTSIDE_HOURS -> throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "영업 시간 내에서만 예약 가능합니다.");
+      case BLOCKED -> throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "해당 시간은 예약이 불가합니다.");
+      case AVAILABLE -> throw new ResponseStatusException(HttpStatus.CONFLICT, "지금 바로 예약할 수 있는 시간입니다.");
+      case OCCUPIED -> { }
+    }
+    if (waitlistEntryRepository.existsByServiceIdAndSlotStartAndCustomerUserIdAndStatus(
+      service.getServiceId(), start, customer.getUserId(), WaitlistEntry.Status.WAITING)) {
+      throw new ResponseStatusException(HttpStatus.CONFLICT, "이미 대기 중인 시간입니다.");
+    }
+
+    WaitlistEntry entry = waitlistEntryRepository.save(WaitlistEntry.builder()
+      .serviceId(service.getServiceId())
+      .slotStart(start)
+      .slotEnd(end)
+      .customerUserId(customer.getUserId())
+      .partySize(request.getPartySize())
+      .gradePriority(customer.getGradePriority() != null ? customer.getGradePriority() : 100)
+      .createdAt(LocalDateTime.now().withNano(0))
+      .build());
+    Waiting waiting = toWaiting(entry);
+    afterCommit(() -> enqueue(entry.getServiceId(), entry.getSlotStart(), waiting));
+    return WaitlistEntryDto.fromEntity(entry, null);
+  }
+
+  @Transactional
+  public void leave(Long entryId, AuthPrincipal customer) {
+    WaitlistEntry entry = waitlistEntryRepository.findByIdForUpdate(entryId)
+      .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Waitlist entry not found"));
+    if (!entry.getCustomerUserId().equals(customer.getUserId())) {
+      throw new ResponseStatusException(HttpStatus.FORBIDDEN, "본인 대기만 취소할 수 있습니다.");
+    }
+    if (entry.getStatus() != WaitlistEntry.Status.WAITING) {
+      throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "대기 중인 항목만 취소할 수 있습니다.");
+    }
+    entry.setStatus(WaitlistEntry.Status.CANCELED);
+    entry.setClosedAt(LocalDateTime.now());
+    afterCommit(() -> dequeue(entry.getServiceId(), entry.getSlotStart(), entry.getEntryId()));
+  }
+
+  @Transactional(readOnly = true)
+  public List<WaitlistEntryDto> listMine(AuthPrincipal customer) {
+    return waitlistEntryRepository.findByCustomerUserIdOrderByCreatedAtDesc(customer.getUserId()).stream()
+      .map(e -> WaitlistEntryDto.fromEntity(e, e.getStatus() == WaitlistEntry.Status.WAITING ? position(e) : null))
+      .toList();
+  }
+
+  /** 슬롯이 풀리면 그 시간과 겹치는 대기열을 승격 스레드에 넘긴다. */
+  @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+  public void onReservationChanged(ReservationChangedEvent event) {
+    if (!event.releasesSlot() || event.serviceId() == null || event.scheduledStart() == null) {
+      return;
+    }
+    if (!event.scheduledEnd().isAfter(LocalDateTime.now())) {
+      return;
+    }
+    promoter.schedule(() -> promoteOverlapping(event.serviceId(), event.scheduledStart(), event.scheduledEnd()),
+      promotionDelayMs, TimeUnit.MILLISECONDS);
+  }
+
+  @EventListener(ApplicationReadyEvent.class)
+  public void loadQueues() {
+    List<WaitlistEntry> waiting = waitlistEntryRepository.findByStatusAndSlotStartAfter(
+      WaitlistEntry.Status.WAITING, LocalDateTime.now());
+    waiting.forEach(e -> enqueue(e.getServiceId(), e.getSlotStart(), toWaiting(e)));
+    if (!waiting.isEmpty()) {
+      log.info("Loaded {} waitlist entries", waiting.size());
+    }
+  }
+
+  @Scheduled(fixedDelayString = "${app.waitlist-cleanup-ms:300000}")
+  @Transactional
+  public void expirePast() {
+    LocalDateTime now = LocalDateTime.now();
+    int expired = waitlistEntryRepository.closePast(WaitlistEntry.Status.WAITING, WaitlistEntry.Status.EXPIRED, now);
+    for (Long serviceId : queues.keySet()) {
+      queues.computeIfPresent(serviceId, (id, m) -> {
+        m.headMap(now, true).clear();
+        return m.isEmpty() ? null : m;
+      });
+    }
+    if (expired > 0) {
+      log.info("Expired {} waitlist entries past their slot", expired);
+    }
+  }
+
+  @PreDestroy
+  void shutdown() {
+    promoter.shutdownNow();
+  }
+
+  private void promoteOverlapping(Long serviceId, LocalDateTime freedStart, LocalDateTime freedEnd) {
+    // 하루 넘게 걸리는 서비스는 없다고 보고 그 안에서 겹치는 시작 시각만 본다
+    LocalDateTime from = freedStart.minusDays(1);
+    // 다른 노드에서 등록된 대기를 합친다 (같은 항목은 ORDER 가 같아서 중복으로 들어가지 않는다)
+    waitlistEntryRepository.findWaitingInRange(serviceId, WaitlistEntry.Status.WAITING, from, freedEnd)
+      .forEach(e -> enqueue(serviceId, e.getSlotStart(), toWaiting(e)));
+    NavigableMap<LocalDateTime, Set<Waiting>> byStart = queues.get(serviceId);
+    if (byStart == null) {
+      return;
+    }
+    for (Map.Entry<LocalDateTime, Set<Waiting>> slot : byStart.subMap(from, false, freedEnd, false).entrySet()) {
+      for (Waiting w : slot.getValue()) {
+        if (!w.slotEnd().isAfter(freedStart)) {
+          continue;
+        }
+        Attempt attempt = attempt(w);
+        if (attempt == Attempt.SLOT_FULL) {
+          break; // 이 시작 시각은 아직 자리가 없다
+        }
+        slot.getValue().remove(w);
+      }
+      // 빈 줄 정리는 enqueue 와 같은 맵 락 안에서 비었는지 다시 보고 한다 (그 사이 들어온 대기를 지우지 않도록)
+      queues.computeIfPresent(serviceId, (id, m) -> {
+        m.computeIfPresent(slot.getKey(), (start, set) -> set.isEmpty() ? null : set);
+        return m.isEmpty() ? null : m;
+      });
+    }
+  }
+
+  private Attempt attempt(Waiting w) {
+    Attempt attempt;
+    try {
+      attempt = transactionTemplate.execute(status -> {
+        WaitlistEntry entry = waitlistEntryRepository.findByIdForUpdate(w.entryId()).orElse(null);
+        if (entry == null || entry.getStatus() != WaitlistEntry.Status.WAITING) {
+          return Attempt.DROPPED;
+        }
+        AuthPrincipal customer = principalCache.get(entry.getCustomerUserId())
+          .filter(AuthPrincipal::isActive)
+          .orElse(null);
+        if (customer == null) {
+          return Attempt.DROPPED;
+        }
+        CreateReservationRequest request = new CreateReservationRequest();
+        request.setServiceId(entry.getServiceId());
+        request.setScheduledStart(entry.getSlotStart().toString());
+        request.setPartySize(entry.getPartySize());
+        Duration window = Duration.ofMinutes(paymentWindowMinutes);
+        ReservationDto hold = reservationService.createReservation(request, customer, window);
+        LocalDateTime now = LocalDateTime.now();
+        entry.setStatus(WaitlistEntry.Status.PROMOTED);
+        entry.setReservationId(hold.getReservationId());
+        entry.setClosedAt(now);
+        eventPublisher.publishEvent(new WaitlistPromotedEvent(entry.getEntryId(), entry.getCustomerUserId(),
+          hold.getReservationId(), entry.getServiceId(), entry.getSlotStart(), now.plus(window).withNano(0)));
+        log.info("Waitlist entry {} promoted to reservation {}", entry.getEntryId(), hold.getReservationId());
+        return Attempt.PROMOTED;
+      });
+    } catch (ResponseStatusException e) {
+      if (e.getStatusCode() == HttpStatus.CONFLICT) {
+        return Attempt.SLOT_FULL;
+      }
+      // 더 이상 예약할 수 없는 대기 (영업시간 변경, 인원 조건 변경 등) 는 닫는다
+      close(w.entryId(), WaitlistEntry.Status.EXPIRED);
+      log.info("Waitlist entry {} dropped: {}", w.entryId(), e.getReason());
+      return Attempt.DROPPED;
+    } catch (RuntimeException e) {
+      log.warn("Waitlist promotion failed for entry {}", w.entryId(), e);
+      return Attempt.SLOT_FULL;
+    }
+    return attempt != null ? attempt : Attempt.DROPPED;
+  }
+
+  private void close(Long entryId, WaitlistEntry.Status status) {
+    transactionTemplate.executeWithoutResult(tx -> waitlistEntryRepository.findByIdForUpdate(entryId)
+      .filter(e -> e.getStatus() == WaitlistEntry.Status.WAITING)
+      .ifPresent(e -> {
+        e.setStatus(status);
+        e.setClosedAt(LocalDateTime.now());
+      }));
+  }
+
+  private Integer position(WaitlistEntry entry) {
+    NavigableMap<LocalDateTime, Set<Waiting>> byStart = queues.get(entry.getServiceId());
+    Set<Waiting> slot = byStart != null ? byStart.get(entry.getSlotStart()) : null;
+    if (slot == null) {
+      return null;
+    }
+    int position = 1;
+    for (Waiting w : slot) {
+      if (w.entryId().equals(entry.getEntryId())) return position;
+      position++;
+    }
+    return null;
+  }
+
+  private void enqueue(Long serviceId, LocalDateTime slotStart, Waiting waiting) {
+    queues.compute(serviceId, (id, m) -> {
+      NavigableMap<LocalDateTime, Set<Waiting>> byStart = m != null ? m : new ConcurrentSkipListMap<>();
+      byStart.computeIfAbsent(slotStart, s -> new ConcurrentSkipListSet<>(ORDER)).add(waiting);
+      return byStart;
+    });
+  }
+
+  private void dequeue(Long serviceId, LocalDateTime slotStart, Long entryId) {
+    NavigableMap<LocalDateTime, Set<Waiting>> byStart = queues.get(serviceId);
+    Set<Waiting> slot = byStart != null ? byStart.get(slotStart) : null;
+    if (slot != null) {
+      slot.removeIf(w -> w.entryId().equals(entryId));
+    }
+  }
+
+  private static Waiting toWaiting(WaitlistEntry e) {
+    return new Waiting(e.getEntryId(), e.getCustomerUserId(), e.getGradePriority(), e.getCreatedAt(), e.getSlotEnd());
+  }
+
+  private static void afterCommit(Runnable action) {
+    TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+      @Override
+      public void afterCommit() {
+        action.run();
+      }
+    });
+  }
+}
@@ -28,6 +28,10 @@ INSERT INTO system_settings (policy_key, policy_value) VALUES
   ('GRADE_AUTO_MIN_ELIGIBLE', '4')
 ON DUPLICATE KEY UPDATE policy_value = VALUES(policy_value);
 
+-- 노쇼 자동 판정 커서 (scheduled_end|reservation_id). 재시작해도 덮어쓰지 않는다
+INSERT IGNORE INTO system_settings (policy_key, policy_value) VALUES
+  ('NOSHOW_SWEEP_CURSOR', '1970-01-01T00:00|0');
+
 CREATE TABLE IF NOT EXISTS user_grades (
   grade_id                  SMALLINT UNSIGNED PRIMARY KEY AUTO_INCREMENT,
   grade_name                VARCHAR(30) NOT NULL UNIQUE,
@@ -82,11 +86,12 @@ CREATE TABLE IF NOT EXISTS users (
 ) ENGINE=InnoDB;
 
 CREATE TABLE IF NOT EXISTS user_grade_assignments (
+  assignment_id BIGINT UNSIGNED     PRIMARY KEY AUTO_INCREMENT,
   user_id      VARCHAR(30)          NOT NULL,
   grade_id     SMALLINT UNSIGNED    NOT NULL,
   assigned_at  DATETIME             NOT NULL DEFAULT CURRENT_TIMESTAMP,
   assigned_by  VARCHAR(30)          NULL,
-  PRIMARY KEY (user_id, assigned_at),
+  KEY ix_uga_user (user_id, assigned_at),
   CONSTRAINT fk_uga_user   FOREIGN KEY (user_id)   REFERENCES users(user_id),
   CONSTRAINT fk_uga_grade  FOREIGN KEY (grade_id)  REFERENCES user_grades(grade_id),
   CONSTRAINT fk_uga_admin  FOREIGN KEY (assigned_by) REFERENCES users(user_id)
@@ -113,6 +118,7 @@ CREATE TABLE IF NOT EXISTS venues (
   timezone                      VARCHAR(50) NOT NULL DEFAULT 'Asia/Seoul',
   address_line1                 VARCHAR(200) NULL,
   address_line2                 VARCHAR(200) NULL,
+  no_show_grace_minutes         SMALLINT UNSIGNED NOT NULL DEFAULT 30,
   is_active                     BOOLEAN NOT NULL DEFAULT TRUE,
   created_at                    DATETIME NOT NULL DEFAULT CURRENT_TIMESTAMP,
   updated_at                    DATETIME NOT NULL DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP,
@@ -131,6 +137,7 @@ CREATE TABLE IF NOT EXISTS venue_services (
   duration_minutes        SMALLINT UNSIGNED NOT NULL,
   min_party_size          INT UNSIGNED NOT NULL DEFAULT 1,
   capacity                INT UNSIGNED NOT NULL DEFAULT 1,
+  slot_capacity           SMALLINT UNSIGNED NOT NULL DEFAULT 1,
   deposit_rate_percent    DECIMAL(5,2) NULL,
   is_active               BOOLEAN NOT NULL DEFAULT TRUE,
   created_at              DATETIME NOT NULL DEFAULT CURRENT_TIMESTAMP,
@@ -186,6 +193,7 @@ CREATE TABLE IF NOT EXISTS reservations (
   scheduled_end                    DATETIME NOT NULL,
   status                           ENUM('DEPOSIT_PENDING','BOOKED','COMPLETED','CANCELED','NO_SHOW','DEPOSIT_FAILED') NOT NULL DEFAULT 'DEPOSIT_PENDING',
   booked_at                        DATETIME NOT NULL DEFAULT CURRENT_TIMESTAMP,
+  deposit_due_at                   DATETIME NULL,
   canceled_at                      DATETIME NULL,
   canceled_by_user_id              VARCHAR(30) NULL,
   cancel_reason                    VARCHAR(200) NULL,
@@ -198,9 +206,12 @@ CREATE TABLE IF NOT EXISTS reservations (
   currency                         CHAR(3) NOT NULL DEFAULT 'KRW',
   created_at                       DATETIME NOT NULL DEFAULT CURRENT_TIMESTAMP,
   updated_at                       DATETIME NOT NULL DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP,
-  UNIQUE KEY uq_exact_slot (service_id, scheduled_start, status),
+  KEY ix_resv_service_time (service_id, scheduled_start),
   KEY ix_resv_customer (customer_user_id, booked_at),
   KEY ix_resv_venue_time (venue_id, scheduled_start),
+  KEY ix_resv_venue_booked (venue_id, booked_at, reservation_id),
+  KEY ix_resv_start (scheduled_start),
+  KEY ix_resv_status_end (status, scheduled_end, reservation_id),
   CONSTRAINT ck_resv_times CHECK (scheduled_start < scheduled_end),
   CONSTRAINT ck_resv_deposit CHECK (applied_deposit_rate_percent BETWEEN 0 AND 100
                                     AND applied_grade_discount_percent BETWEEN 0 AND 100
@@ -212,6 +223,63 @@ CREATE TABLE IF NOT EXISTS reservations (
   CONSTRAINT fk_resv_grade    FOREIGN KEY (applied_grade_id) REFERENCES user_grades(grade_id)
 ) ENGINE=InnoDB;
 
+-- 서비스 x 30분 슬롯 별 점유 수. 예약 시 booked < capacity 조건부 증가, 취소/만료/노쇼 시 감소
+CREATE TABLE IF NOT EXISTS service_slot_ledger (
+  service_id   BIGINT UNSIGNED NOT NULL,
+  slot_start   DATETIME NOT NULL,
+  booked       SMALLINT UNSIGNED NOT NULL DEFAULT 0,
+  capacity     SMALLINT UNSIGNED NOT NULL DEFAULT 1,
+  updated_at   DATETIME NOT NULL DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP,
+  PRIMARY KEY (service_id, slot_start),
+  CONSTRAINT fk_ledger_service FOREIGN KEY (service_id) REFERENCES venue_services(service_id)
+    ON UPDATE RESTRICT ON DELETE CASCADE
+) ENGINE=InnoDB;
+
+-- 서비스별 초과 예약(오버부킹) 정책. 행이 없거나 enabled = 0 이면 slot_capacity 까지만 받는다
+CREATE TABLE IF NOT EXISTS service_overbooking_policies (
+  service_id   BIGINT UNSIGNED PRIMARY KEY,
+  enabled      TINYINT(1) NOT NULL DEFAULT 0,
+  max_extra    SMALLINT UNSIGNED NOT NULL DEFAULT 1,
+  target_risk  DOUBLE NOT NULL DEFAULT 0.05,
+  updated_at   DATETIME NOT NULL DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP,
+  CONSTRAINT fk_overbook_service FOREIGN KEY (service_id) REFERENCES venue_services(service_id)
+    ON UPDATE RESTRICT ON DELETE CASCADE
+) ENGINE=InnoDB;
+
+-- 야간 배치가 계산한 요일x30분 슬롯(0~335, 0 = 일요일 00:00) 별 허용 초과 수. 0 인 슬롯은 행을 두지 않는다
+CREATE TABLE IF NOT EXISTS service_overbooking_allowances (
+  service_id    BIGINT UNSIGNED NOT NULL,
+  slot_of_week  SMALLINT UNSIGNED NOT NULL,
+  allowance     TINYINT UNSIGNED NOT NULL,
+  show_rate     DOUBLE NOT NULL,
+  samples       INT UNSIGNED NOT NULL,
+  computed_at   DATETIME NOT NULL DEFAULT CURRENT_TIMESTAMP,
+  PRIMARY KEY (service_id, slot_of_week),
+  CONSTRAINT fk_overbook_allow_service FOREIGN KEY (service_id) REFERENCES venue_services(service_id)
+    ON UPDATE RESTRICT ON DELETE CASCADE
+) ENGINE=InnoDB;
+
+-- 대기열: 가득 찬 (서비스, 시작 시각) 에 줄을 서고, 자리가 나면 우선순위(등급 priority, 등록 순) 대로 DEPOSIT_PENDING 홀드로 승격
+CREATE TABLE IF NOT EXISTS waitlist_entries (
+  entry_id          BIGINT UNSIGNED PRIMARY KEY AUTO_INCREMENT,
+  service_id        BIGINT UNSIGNED NOT NULL,
+  slot_start        DATETIME NOT NULL,
+  slot_end          DATETIME NOT NULL,
+  customer_user_id  VARCHAR(30) NOT NULL,
+  party_size        SMALLINT UNSIGNED NOT NULL DEFAULT 1,
+  grade_priority    SMALLINT UNSIGNED NOT NULL DEFAULT 100,
+  status            ENUM('WAITING','PROMOTED','CANCELED','EXPIRED') NOT NULL DEFAULT 'WAITING',
+  reservation_id    BIGINT UNSIGNED NULL,
+  created_at        DATETIME NOT NULL DEFAULT CURRENT_TIMESTAMP,
+  closed_at         DATETIME NULL,
+  KEY ix_wait_status_slot (status, slot_start),
+  KEY ix_wait_customer (customer_user_id, created_at),
+  CONSTRAINT fk_wait_service FOREIGN KEY (service_id) REFERENCES venue_services(service_id)
+    ON UPDATE RESTRICT ON DELETE CASCADE,
+  CONSTRAINT fk_wait_customer FOREIGN KEY (customer_user_id) REFERENCES users(user_id),
+  CONSTRAINT fk_wait_resv FOREIGN KEY (reservation_id) REFERENCES reservations(reservation_id)
+) ENGINE=InnoDB;
+
 CREATE TABLE IF NOT EXISTS payments (
   payment_id         BIGINT UNSIGNED PRIMARY KEY AUTO_INCREMENT,
   reservation_id     BIGINT UNSIGNED NOT NULL,
@@ -235,6 +303,37 @@ CREATE TABLE IF NOT EXISTS payments (
   CONSTRAINT fk_pay_rel   FOREIGN KEY (related_payment_id) REFERENCES payments(payment_id)
 ) ENGINE=InnoDB;
 
+-- 예약 생성/보증금 결제 재시도용 Idempotency-Key. 처리 중에는 response_body 가 NULL (트랜잭션과 함께 커밋)
+CREATE TABLE IF NOT EXISTS idempotency_keys (
+  key_id         VARCHAR(200) PRIMARY KEY,
+  user_id        VARCHAR(30) NOT NULL,
+  request_hash   CHAR(64) NOT NULL,
+  response_body  MEDIUMTEXT NULL,
+  created_at     DATETIME NOT NULL DEFAULT CURRENT_TIMESTAMP,
+  expires_at     DATETIME NOT NULL,
+  KEY ix_idem_expires (expires_at)
+) ENGINE=InnoDB;
+
+-- 로그아웃한 토큰(jti). 토큰 만료 시각(expires_at, epoch seconds)이 지나면 TokenService 가 지운다
+CREATE TABLE IF NOT EXISTS revoked_tokens (
+  jti         VARCHAR(64) PRIMARY KEY,
+  expires_at  BIGINT NOT NULL,
+  revoked_at  DATETIME(3) NOT NULL DEFAULT CURRENT_TIMESTAMP(3),
+  KEY ix_revoked_at (revoked_at),
+  KEY ix_revoked_expires (expires_at)
+) ENGINE=InnoDB;
+
+-- 노쇼 위험도 감쇠 누적치 스냅샷 (NoShowRiskScorer). scope: ALL / HOUR(요일x시간 0~167) / VENUE / USER
+CREATE TABLE IF NOT EXISTS noshow_risk_stats (
+  scope      ENUM('ALL','HOUR','VENUE','USER') NOT NULL,
+  scope_key  VARCHAR(30) NOT NULL,
+  no_show    DOUBLE NOT NULL DEFAULT 0,
+  shown      DOUBLE NOT NULL DEFAULT 0,
+  as_of_ms   BIGINT NOT NULL,
+  updated_at DATETIME NOT NULL DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP,
+  PRIMARY KEY (scope, scope_key)
+) ENGINE=InnoDB;
+
 -- 5) Reviews
 CREATE TABLE IF NOT EXISTS reviews (
   review_id        BIGINT UNSIGNED PRIMARY KEY AUTO_INCREMENT,
@@ -268,6 +367,26 @@ CREATE TABLE IF NOT EXISTS venue_faq (
   CONSTRAINT fk_faq_venue FOREIGN KEY (venue_id) REFERENCES venues(venue_id) ON DELETE CASCADE
 ) ENGINE=InnoDB;
 
+-- 기존 DB 업그레이드. 위 CREATE TABLE IF NOT EXISTS 는 이미 있는 테이블을 바꾸지 않으므로 변경분을 ALTER 로 따로 적용한다.
+-- 이미 적용된 DB 에서는 중복 컬럼/인덱스 오류로 실패하고 continue-on-error 로 넘어간다 (MySQL 은 ADD COLUMN IF NOT EXISTS 미지원)
+ALTER TABLE venues ADD COLUMN no_show_grace_minutes SMALLINT UNSIGNED NOT NULL DEFAULT 30;
+ALTER TABLE venue_services ADD COLUMN slot_capacity SMALLINT UNSIGNED NOT NULL DEFAULT 1 AFTER capacity;
+-- fk_resv_service 가 쓸 인덱스를 먼저 만든 뒤 uq_exact_slot 을 지운다 (정원 2 이상 슬롯의 두 번째 예약이 막히지 않도록)
+ALTER TABLE reservations ADD KEY ix_resv_service_time (service_id, scheduled_start);
+ALTER TABLE reservations DROP INDEX uq_exact_slot;
+ALTER TABLE reservations ADD KEY ix_resv_venue_booked (venue_id, booked_at, reservation_id);
+ALTER TABLE reservations ADD KEY ix_resv_start (scheduled_start);
+ALTER TABLE reservations ADD KEY ix_resv_status_end (status, scheduled_end, reservation_id);
+ALTER TABLE reservations ADD COLUMN deposit_due_at DATETIME NULL AFTER booked_at;
+-- 같은 초에 두 번 바뀐 등급 이력이 덮어써지지 않도록 대리 키로 바꾼다
+ALTER TABLE user_grade_assignments
+  ADD KEY ix_uga_user (user_id, assigned_at),
+  DROP PRIMARY KEY,
+  ADD COLUMN assignment_id BIGINT UNSIGNED NOT NULL AUTO_INCREMENT PRIMARY KEY FIRST;
+-- 예약 상태 전이 때 등급을 다시 계산하던 트리거. 이제 GradeEngine 이 하므로 남아 있으면 두 번 센다
+DROP TRIGGER IF EXISTS ai_reservations_refresh_grade;
+DROP TRIGGER IF EXISTS au_reservations_refresh_grade;
+
 -- 7) 관리자 뷰
 CREATE OR REPLACE VIEW v_admin_overview AS
 SELECT
@@ -300,7 +419,7 @@ LEFT JOIN roles r ON r.role_id = ur.role_id
 GROUP BY g.grade_id, g.grade_name
 ORDER BY users_in_grade DESC;
 
--- 8) 프로시저 : 등급 자동 재산정
+-- 8) 프로시저 : 등급 전체 재집계 (평소 산정은 GradeEngine 이 담당)
 -- initial로 자동 생성 X 직접 실행해야함
 DELIMITER $$
 
@@ -391,7 +510,7 @@ BEGIN
   CLOSE cur;
 END$$
 
--- 9) 트리거 : 기본등급/스냅샷/리뷰/등급재산정
+-- 9) 트리거 : 기본등급/스냅샷/리뷰
 
 CREATE TRIGGER bi_users_set_default_grade
 BEFORE INSERT ON users
@@ -469,24 +588,8 @@ BEGIN
   SET NEW.venue_id = v_venue;
 END$$
 
-CREATE TRIGGER ai_reservations_refresh_grade
-AFTER INSERT ON reservations
-FOR EACH ROW
-BEGIN
-  IF NEW.status IN ('COMPLETED','NO_SHOW') THEN
-    CALL sp_recalc_user_grade(NEW.customer_user_id);
-  END IF;
-END$$
-
-CREATE TRIGGER au_reservations_refresh_grade
-AFTER UPDATE ON reservations
-FOR EACH ROW
-BEGIN
-  IF OLD.status <> NEW.status
-     AND (OLD.status IN ('COMPLETED','NO_SHOW') OR NEW.status IN ('COMPLETED','NO_SHOW')) THEN
-    CALL sp_recalc_user_grade(NEW.customer_user_id);
-  END IF;
-END$$
+-- 완료/노쇼 전이에 따른 카운터/등급 갱신은 애플리케이션(GradeEngine)이 증감분으로 처리한다.
+-- (ai_/au_reservations_refresh_grade 트리거 제거. sp_recalc_* 는 전체 재집계용으로만 남김)
 
 -- Venue 삭제 시: 완료되지 않은 예약이 있으면 차단, 완료만 있으면 삭제 허용
 CREATE TRIGGER bd_venues_block_if_active_reservations
@@ -0,0 +1,138 @@
+package com.noshow.app.service;
+
+import com.noshow.app.domain.entity.Payment;
+import com.noshow.app.domain.entity.Reservation;
+import com.noshow.app.domain.entity.Review;
+import com.noshow.app.domain.entity.User;
+import com.noshow.app.domain.entity.UserGrade;
+import com.noshow.app.domain.entity.Venue;
+import com.noshow.app.domain.entity.VenueService;
+import com.noshow.app.dto.ReservationDto;
+import com.noshow.app.security.AuthPrincipal;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 내 예약 목록 한 페이지의 쿼리 수가 페이지 크기와 무관하게 일정한지 (예약/장소/서비스/결제/리뷰 여부의 N+1 회귀 방지).
+ * H2 에 엔티티 매핑으로 테이블을 만들고 Hibernate Statistics 로 실행된 SQL 수를 센다.
+ */
+@DataJpaTest(properties = {
+  "spring.sql.init.mode=never",
+  "spring.jpa.hibernate.ddl-auto=create-drop",
+  "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+  "spring.jpa.properties.hibernate.generate_statistics=true"
+})
+@Import(ReservationService.class)
+class ReservationListQueryCountTest {
+  private static final int ROWS = 12;
+
+  @Autowired
+  private ReservationService reservationService;
+  @Autowired
+  private TestEntityManager em;
+
+  @MockBean
+  private SlotAvailabilityIndex availabilityIndex;
+  @MockBean
+  private ServiceBookingLocks bookingLocks;
+  @MockBean
+  private SlotLedgerService slotLedger;
+  @MockBean
+  private SlotHoldService slotHolds;
+  @MockBean
+  private NoShowRiskScorer riskScorer;
+
+  private AuthPrincipal customer;
+
+  @BeforeEach
+  void seed() {
+    UserGrade grade = em.persist(UserGrade.builder()
+      .gradeName("BASIC").depositDiscountPercent(0.0).priority(100).isDefault(true).requireNoShowZero(false)
+      .build());
+    User owner = em.persist(user("owner1", grade));
+    User guest = em.persist(user("guest1", grade));
+    LocalDateTime base = LocalDateTime.now().plusDays(1).withHour(10).withMinute(0).withSecond(0).withNano(0);
+    for (int i = 0; i < ROWS; i++) {
+      // 행마다 다른 장소/서비스를 써서 지연 로딩이 남아 있으면 쿼리 수가 페이지 크기만큼 늘게 한다
+      Venue venue = em.persist(Venue.builder()
+        .owner(owner).venueName("venue-" + i).basePrice(BigDecimal.TEN).defaultDepositRatePercent(10.0)
+        .currency("KRW").timezone("Asia/Seoul").isActive(true)
+        .build());
+      VenueService service = em.persist(VenueService.builder()
+        .venue(venue).serviceName("service-" + i).price(BigDecimal.TEN).durationMinutes(60)
+        .minPartySize(1).maxPartySize(4).isActive(true)
+        .build());
+      Reservation reservation = em.persist(Reservation.builder()
+        .customer(guest).venue(venue).service(service).partySize(2)
+        .scheduledStart(base.plusDays(i)).scheduledEnd(base.plusDays(i).plusHours(1))
+        .status(Reservation.Status.COMPLETED)
+        .totalPriceAtBooking(BigDecimal.TEN).appliedDepositRatePercent(10.0).appliedGrade(grade)
+        .appliedGradeDiscountPercent(0.0).depositAmount(BigDecimal.ONE).currency("KRW")
+        .build());
+      em.persist(Payment.builder()
+        .reservation(reservation).payer(guest).paymentType(Payment.PaymentType.DEPOSIT).method("CARD")
+        .amount(BigDecimal.ONE).currency("KRW").status(Payment.Status.CAPTURED).paidAt(base)
+        .build());
+      if (i % 2 == 0) {
+        em.persist(Review.builder()
+          .reservation(reservation).venue(venue).user(guest).rating(5).content("good")
+          .build());
+      }
+    }
+    em.flush();
+    em.clear();
+    customer = new AuthPrincipal(guest.getUserId(), guest.getUsername(), Set.of("customer"), grade.getGradeId(),
+      grade.getGradeName(), 100, 0.0, true);
+  }
+
+  @Test
+  void myReservationsPageRunsFixedNumberOfQueries() {
+    long small = countQueries(2);
+    long large = countQueries(ROWS);
+
+    assertThat(large).isEqualTo(small);
+  }
+
+  @Test
+  void myReservationsPageLoadsRelationsAndReviewFlags() {
+    ReservationService.ReservationsPage page = reservationService.listMyReservations(customer, 1, ROWS, null);
+
+    assertThat(page.data()).hasSize(ROWS);
+    assertThat(page.data()).allSatisfy(dto -> {
+      assertThat(dto.getVenue()).isNotNull();
+      assertThat(dto.getService()).isNotNull();
+      assertThat(dto.getPayments()).hasSize(1);
+    });
+    assertThat(page.data().stream().filter(ReservationDto::getHasReview)).hasSize(ROWS / 2);
+  }
+
+  private static User user(String id, UserGrade grade) {
+    return User.builder()
+      .userId(id).username(id).realName(id).loginType(User.LoginType.LOCAL).grade(grade)
+      .noShowCount(0).successCount(0).isActive(true)
+      .build();
+  }
+
+  private long countQueries(int pageSize) {
+    em.clear();
+    Statistics stats = em.getEntityManager().getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+    stats.clear();
+    ReservationService.ReservationsPage page = reservationService.listMyReservations(customer, 1, pageSize, null);
+    // DTO 변환이 끝난 뒤에 센다 (지연 로딩까지 포함)
+    assertThat(page.data()).hasSize(pageSize);
+    return stats.getPrepareStatementCount();
+  }
+}